@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Replays recorded GitHub webhook payloads against a running instance, signed like GitHub signs them.
+#
+#   GITHUB_WEBHOOK_SECRET=... scripts/replay-webhooks.sh src/test/resources/webhooks/*.json
+#
+# The event type is taken from the file name (code_scanning_alert.<action>.json) unless EVENT is set.
+set -euo pipefail
+
+URL="${URL:-http://localhost:8080/api/webhooks/github}"
+: "${GITHUB_WEBHOOK_SECRET:?set GITHUB_WEBHOOK_SECRET to the secret the application is configured with}"
+
+for payload in "$@"; do
+  event="${EVENT:-$(basename "$payload" | cut -d. -f1)}"
+  signature="sha256=$(openssl dgst -sha256 -hmac "$GITHUB_WEBHOOK_SECRET" -hex < "$payload" | sed 's/^.*= //')"
+  status=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$URL" \
+    -H "Content-Type: application/json" \
+    -H "X-GitHub-Event: $event" \
+    -H "X-GitHub-Delivery: replay-$(date +%s%N)" \
+    -H "X-Hub-Signature-256: $signature" \
+    --data-binary "@$payload")
+  echo "$status $event $payload"
+done
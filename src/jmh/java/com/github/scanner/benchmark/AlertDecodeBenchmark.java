@@ -0,0 +1,82 @@
+package com.github.scanner.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.scanner.client.FlyweightPool;
+import com.github.scanner.client.TimedJsonDecoder;
+import com.github.scanner.config.WebClientConfig;
+import com.github.scanner.model.CodeScanningAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one page of GitHub alerts into {@link CodeScanningAlert} and its rules, tools, instances,
+ * locations and {@code LocalDateTime} fields, with the mapper the GitHub client uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertDecodeBenchmark {
+    
+    private static final ResolvableType ALERT_TYPE = ResolvableType.forClass(CodeScanningAlert.class);
+    
+    @Param({"1", "30", "100"})
+    public int alerts;
+    
+    /** Mirrors {@code github.api.flyweight.enabled}. */
+    @Param({"true", "false"})
+    public boolean flyweight;
+    
+    private byte[] payload;
+    
+    private ObjectReader reader;
+    
+    private TimedJsonDecoder decoder;
+    
+    @Setup
+    public void setUp() {
+        payload = AlertPayloads.page(alerts);
+        ObjectMapper objectMapper = WebClientConfig.gitHubObjectMapper(
+                flyweight ? new FlyweightPool(new SimpleMeterRegistry()) : null);
+        reader = objectMapper.readerForListOf(CodeScanningAlert.class);
+        decoder = new TimedJsonDecoder(new SimpleMeterRegistry(), objectMapper);
+    }
+    
+    /**
+     * The page read from one byte array: the cost of Jackson alone.
+     */
+    @Benchmark
+    public List<CodeScanningAlert> objectMapper() throws IOException {
+        return reader.readValue(payload);
+    }
+    
+    /**
+     * The page decoded alert by alert from network-sized buffers, as {@code bodyToFlux} and
+     * {@code toEntityList} do.
+     */
+    @Benchmark
+    public List<Object> webClientDecoder() {
+        return decoder.decode(AlertPayloads.buffers(payload), ALERT_TYPE, MediaType.APPLICATION_JSON, null)
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.scanner.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.scanner.config.WebClientConfig;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.projection.FieldProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one page of alerts the way the controllers answer, with the {@code spring.jackson}
+ * settings from {@code application.yml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertEncodeBenchmark {
+    
+    private static final String TRIAGE_FIELDS = "number,state,rule.security_severity_level,most_recent_instance.location.path";
+    
+    @Param({"1", "30", "100"})
+    public int alerts;
+    
+    private List<CodeScanningAlert> page;
+    
+    private ObjectWriter pageWriter;
+    
+    private ObjectWriter alertWriter;
+    
+    private FieldProjection projection;
+    
+    @Setup
+    public void setUp() throws IOException {
+        page = WebClientConfig.gitHubObjectMapper(null)
+                .readerForListOf(CodeScanningAlert.class)
+                .readValue(AlertPayloads.page(alerts));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pageWriter = objectMapper.writerFor(new TypeReference<List<CodeScanningAlert>>() {
+        });
+        alertWriter = objectMapper.writerFor(CodeScanningAlert.class);
+        projection = FieldProjection.parse(TRIAGE_FIELDS);
+    }
+    
+    /**
+     * A JSON array response.
+     */
+    @Benchmark
+    public byte[] json() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+    
+    /**
+     * A JSON array response narrowed with {@code ?fields=}.
+     */
+    @Benchmark
+    public byte[] projectedJson() throws IOException {
+        return pageWriter.writeValueAsBytes(projection.apply(page));
+    }
+    
+    /**
+     * An {@code application/x-ndjson} response, written one alert at a time.
+     */
+    @Benchmark
+    public void ndjson(Blackhole blackhole) throws IOException {
+        for (CodeScanningAlert alert : page) {
+            blackhole.consume(alertWriter.writeValueAsBytes(alert));
+        }
+    }
+}
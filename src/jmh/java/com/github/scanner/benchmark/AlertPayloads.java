@@ -0,0 +1,84 @@
+package com.github.scanner.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * GitHub alert list responses of a given size, built from the recorded organization page in
+ * {@code payloads/org-alerts.json}.
+ * <p>
+ * The recorded alerts are repeated in order with fresh numbers, URLs and line numbers, so a page of 100
+ * has GitHub's shape and its mix of rules, states and repositories: few distinct rules, tools and
+ * repositories shared by many alerts.
+ */
+final class AlertPayloads {
+    
+    /** Roughly what one socket read hands the decoder. */
+    static final int CHUNK_SIZE = 8192;
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private AlertPayloads() {
+    }
+    
+    /**
+     * A compact JSON array of {@code size} alerts, as GitHub returns for one page.
+     */
+    static byte[] page(int size) {
+        ArrayNode recorded = (ArrayNode) read("payloads/org-alerts.json");
+        ArrayNode page = MAPPER.createArrayNode();
+        for (int i = 0; i < size; i++) {
+            ObjectNode alert = (ObjectNode) recorded.get(i % recorded.size()).deepCopy();
+            long number = alert.get("number").asLong();
+            long renumbered = i + 1;
+            alert.put("number", renumbered);
+            for (String url : new String[]{"url", "html_url", "instances_url"}) {
+                alert.put(url, alert.get(url).asText().replace("/" + number, "/" + renumbered));
+            }
+            ObjectNode location = (ObjectNode) alert.path("most_recent_instance").path("location");
+            int line = location.get("start_line").asInt() + i;
+            location.put("start_line", line);
+            location.put("end_line", line);
+            page.add(alert);
+        }
+        try {
+            return MAPPER.writeValueAsBytes(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * The payload split into {@link #CHUNK_SIZE} buffers, as the WebClient hands a response body to its decoder.
+     */
+    static Flux<DataBuffer> buffers(byte[] payload) {
+        int chunks = (payload.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return Flux.range(0, chunks)
+                .map(chunk -> {
+                    int offset = chunk * CHUNK_SIZE;
+                    int length = Math.min(CHUNK_SIZE, payload.length - offset);
+                    return DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(payload, offset, length));
+                });
+    }
+    
+    private static JsonNode read(String resource) {
+        try (InputStream in = AlertPayloads.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark payload " + resource);
+            }
+            return MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.model.CodeScanningAlert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of turning an {@link AlertFilterRequest} into GitHub query parameters, the
+ * coalescing key and the request URI, as {@code getAlertsForRepository} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryParamsBenchmark {
+    
+    /** {@code defaults}: only the controller defaults; {@code all}: every filter set. */
+    @Param({"defaults", "all"})
+    public String filter;
+    
+    private AlertFilterRequest filterRequest;
+    
+    private DefaultUriBuilderFactory uriBuilderFactory;
+    
+    @Setup
+    public void setUp() {
+        // bound like the controllers bind query parameters, so the field defaults apply
+        filterRequest = new AlertFilterRequest();
+        if ("all".equals(filter)) {
+            filterRequest.setState(CodeScanningAlert.AlertState.OPEN);
+            filterRequest.setRef("refs/heads/main");
+            filterRequest.setToolName("CodeQL");
+            filterRequest.setSeverity("high");
+            filterRequest.setPerPage(100);
+            filterRequest.setPage(3);
+        }
+        uriBuilderFactory = new DefaultUriBuilderFactory("https://api.github.com");
+    }
+    
+    @Benchmark
+    public MultiValueMap<String, String> buildQueryParams() {
+        return CodeScanningServiceImpl.buildQueryParams(filterRequest);
+    }
+    
+    @Benchmark
+    public String coalescingKey() {
+        return "GET /repos/octo-org/payments/code-scanning/alerts?" + CodeScanningServiceImpl.buildQueryParams(filterRequest);
+    }
+    
+    @Benchmark
+    public URI requestUri() {
+        return uriBuilderFactory.builder()
+                .path("/repos/{owner}/{repo}/code-scanning/alerts")
+                .queryParams(CodeScanningServiceImpl.buildQueryParams(filterRequest))
+                .build("octo-org", "payments");
+    }
+}
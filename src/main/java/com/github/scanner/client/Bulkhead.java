@@ -0,0 +1,118 @@
+package com.github.scanner.client;
+
+import com.github.scanner.exception.UpstreamUnavailableException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking limit on the number of GitHub calls in flight for one class of work.
+ * <p>
+ * Callers wait in FIFO order for a {@link Permit} without holding a thread, and fail with
+ * {@link UpstreamUnavailableException} when none frees up within the allowed wait.
+ */
+public class Bulkhead {
+    
+    private final String name;
+    
+    private final int maxConcurrent;
+    
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    
+    private int inUse;
+    
+    public Bulkhead(String name, int maxConcurrent) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+    
+    public Mono<Permit> acquire(Duration maxWait) {
+        return Mono.<Permit>create(sink -> {
+                    Waiter waiter = new Waiter(sink);
+                    synchronized (this) {
+                        if (inUse < maxConcurrent) {
+                            inUse++;
+                            waiter.grant(new Permit());
+                            return;
+                        }
+                        waiters.addLast(waiter);
+                    }
+                    sink.onCancel(() -> {
+                        if (waiter.done.compareAndSet(false, true)) {
+                            synchronized (this) {
+                                waiters.remove(waiter);
+                            }
+                        }
+                    });
+                })
+                .timeout(maxWait, Mono.error(() -> new UpstreamUnavailableException(
+                        "Too many concurrent GitHub requests in the '" + name + "' bulkhead")))
+                // a permit granted just as the wait timed out is dropped by the operators; hand it back
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+    
+    public synchronized int getInUse() {
+        return inUse;
+    }
+    
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+    
+    private void release() {
+        Waiter waiter;
+        synchronized (this) {
+            do {
+                waiter = waiters.pollFirst();
+            } while (waiter != null && !waiter.done.compareAndSet(false, true));
+            if (waiter == null) {
+                inUse--;
+                return;
+            }
+        }
+        // the slot passes straight to the next waiter
+        waiter.sink.success(new Permit());
+    }
+    
+    /**
+     * One slot in the bulkhead; releasing it more than once has no effect.
+     */
+    public class Permit {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                Bulkhead.this.release();
+            }
+        }
+    }
+    
+    private static class Waiter {
+        
+        private final MonoSink<Permit> sink;
+        
+        private final AtomicBoolean done = new AtomicBoolean();
+        
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+        
+        void grant(Permit permit) {
+            done.set(true);
+            sink.success(permit);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.ResilienceProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Splits GitHub calls into two bulkheads so organization- and enterprise-wide sweeps cannot take every
+ * connection away from interactive single-repository and single-alert lookups.
+ * <p>
+ * Requests under {@code /orgs} and {@code /enterprises}, and requests subscribed with a context marked by
+ * {@link #asSweep}, go to the {@code sweep} bulkhead; everything else goes to {@code interactive}. A slot
+ * is held until the response body has been read or released, since the connection stays busy until then
+ * on HTTP/1.1, and is given back exactly once, also when the call fails or is cancelled.
+ */
+@Component
+public class BulkheadFilter implements ExchangeFilterFunction {
+    
+    private static final String SWEEP_KEY = BulkheadFilter.class.getName() + ".sweep";
+    
+    private final Bulkhead sweep;
+    
+    private final Bulkhead interactive;
+    
+    private final Duration maxWait;
+    
+    public BulkheadFilter(ResilienceProperties properties) {
+        ResilienceProperties.Bulkhead settings = properties.getBulkhead();
+        this.sweep = new Bulkhead("sweep", settings.getSweepMaxConcurrent());
+        this.interactive = new Bulkhead("interactive", settings.getInteractiveMaxConcurrent());
+        this.maxWait = settings.getMaxWait();
+    }
+    
+    /**
+     * Marks every GitHub request of the call subscribed with this context as part of a sweep.
+     */
+    public static Context asSweep(Context context) {
+        return context.put(SWEEP_KEY, Boolean.TRUE);
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Bulkhead bulkhead = context.getOrDefault(SWEEP_KEY, Boolean.FALSE) || isSweep(request.url().getPath())
+                    ? sweep
+                    : interactive;
+            return bulkhead.acquire(maxWait).flatMap(permit -> next.exchange(request)
+                    .map(response -> response.mutate()
+                            .body(body -> body.doFinally(signal -> permit.release()))
+                            .build())
+                    .doOnError(e -> permit.release())
+                    .doOnCancel(permit::release));
+        });
+    }
+    
+    public List<Bulkhead> getBulkheads() {
+        return List.of(sweep, interactive);
+    }
+    
+    static boolean isSweep(String path) {
+        return path.contains("/orgs/") || path.contains("/enterprises/");
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.ResilienceProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker for one GitHub route.
+ * <p>
+ * While {@link State#CLOSED} the outcomes of the last {@code window-size} calls are kept; once at least
+ * {@code minimum-calls} have been recorded and either the failure rate or the slow-call rate reaches its
+ * threshold, the breaker opens and rejects calls for {@code open-duration}. It then lets
+ * {@code half-open-calls} trial calls through: if they all succeed in time it closes again, and the
+ * first failed or slow trial opens it for another period.
+ */
+public class CircuitBreaker {
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private final ResilienceProperties.CircuitBreaker settings;
+    
+    private final boolean[] failed;
+    
+    private final boolean[] slow;
+    
+    private State state = State.CLOSED;
+    
+    private int recorded;
+    
+    private int next;
+    
+    private Instant openedAt;
+    
+    private int trialsStarted;
+    
+    private int trialsSucceeded;
+    
+    public CircuitBreaker(ResilienceProperties.CircuitBreaker settings) {
+        this.settings = settings;
+        this.failed = new boolean[Math.max(1, settings.getWindowSize())];
+        this.slow = new boolean[failed.length];
+    }
+    
+    /**
+     * Returns whether a call may be sent now; every permitted call must be followed by {@link #record}
+     * or, when it is abandoned without an outcome, {@link #release}.
+     */
+    public synchronized boolean tryAcquire(Instant now) {
+        if (state == State.OPEN && !now.isBefore(openedAt.plus(settings.getOpenDuration()))) {
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= settings.getHalfOpenCalls()) {
+                return false;
+            }
+            trialsStarted++;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+    
+    public synchronized void record(boolean failure, Duration duration, Instant now) {
+        boolean slowCall = duration.compareTo(settings.getSlowCallDuration()) >= 0;
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure || slowCall) {
+                    open(now);
+                } else if (++trialsSucceeded >= settings.getHalfOpenCalls()) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                failed[next] = failure;
+                slow[next] = slowCall;
+                next = (next + 1) % failed.length;
+                recorded = Math.min(recorded + 1, failed.length);
+                if (recorded >= settings.getMinimumCalls()
+                        && (rate(failed) >= settings.getFailureRateThreshold()
+                        || rate(slow) >= settings.getSlowCallRateThreshold())) {
+                    open(now);
+                }
+            }
+            case OPEN -> {
+                // a call permitted before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+    
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized double getFailureRate() {
+        return rate(failed);
+    }
+    
+    public synchronized double getSlowCallRate() {
+        return rate(slow);
+    }
+    
+    public synchronized int getRecordedCalls() {
+        return recorded;
+    }
+    
+    private double rate(boolean[] outcomes) {
+        if (recorded == 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (outcomes[i]) {
+                count++;
+            }
+        }
+        return 100.0 * count / recorded;
+    }
+    
+    private void open(Instant now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+    
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+    }
+}
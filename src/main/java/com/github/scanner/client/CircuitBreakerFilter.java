@@ -0,0 +1,116 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.ResilienceProperties;
+import com.github.scanner.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards each GitHub route (method and {@link UpstreamMetricsFilter#routeTemplate route template}) with
+ * its own {@link CircuitBreaker}.
+ * <p>
+ * 5xx and 429 responses, I/O errors and timeouts count as failures, and calls slower than the configured
+ * slow-call duration count as slow. While a route's breaker is open its calls fail immediately with
+ * {@link UpstreamUnavailableException}, which {@link ConditionalRequestCache} answers from its cached
+ * copy when it has one. The filter sits inside the rate limiter so pacing delays are not counted as slow calls.
+ */
+@Slf4j
+@Component
+public class CircuitBreakerFilter implements ExchangeFilterFunction {
+    
+    private final ResilienceProperties.CircuitBreaker settings;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    
+    private final Counter rejected;
+    
+    public CircuitBreakerFilter(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getCircuitBreaker();
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("github.api.circuit.rejected")
+                .description("GitHub requests rejected by an open circuit breaker")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!settings.isEnabled()) {
+            return next.exchange(request);
+        }
+        
+        String route = request.method().name() + " " + UpstreamMetricsFilter.routeTemplate(request.url().getPath());
+        CircuitBreaker breaker = breakers.computeIfAbsent(route, this::newBreaker);
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire(Instant.now())) {
+                rejected.increment();
+                return Mono.error(new UpstreamUnavailableException("GitHub circuit breaker is open for " + route));
+            }
+            
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (settled.compareAndSet(false, true)) {
+                            record(breaker, route, isFailure(response.statusCode().value()), start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            record(breaker, route, true, start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            breaker.release();
+                        }
+                    });
+        });
+    }
+    
+    /**
+     * Snapshot of every breaker created so far, keyed by route.
+     */
+    public Map<String, CircuitBreaker> getBreakers() {
+        return new TreeMap<>(breakers);
+    }
+    
+    static boolean isFailure(int status) {
+        return status >= 500 || status == 429;
+    }
+    
+    private void record(CircuitBreaker breaker, String route, boolean failure, long start) {
+        CircuitBreaker.State before = breaker.getState();
+        breaker.record(failure, Duration.ofNanos(System.nanoTime() - start), Instant.now());
+        CircuitBreaker.State after = breaker.getState();
+        if (before != after) {
+            log.warn("GitHub circuit breaker for {} moved from {} to {} (failure rate {}%, slow-call rate {}%)",
+                    route, before, after, breaker.getFailureRate(), breaker.getSlowCallRate());
+        }
+    }
+    
+    private CircuitBreaker newBreaker(String route) {
+        CircuitBreaker breaker = new CircuitBreaker(settings);
+        Gauge.builder("github.api.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("GitHub circuit breaker state per route (0 closed, 1 open, 2 half-open)")
+                .tag("route", route)
+                .register(meterRegistry);
+        return breaker;
+    }
+}
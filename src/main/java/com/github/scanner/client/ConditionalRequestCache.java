@@ -0,0 +1,299 @@
+package com.github.scanner.client;
+
+import com.github.scanner.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.support.ClientResponseWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Conditional request cache for GitHub GET calls.
+ * <p>
+ * Successful responses carrying an {@code ETag} or {@code Last-Modified} validator are kept per
+ * credential and request URI (path and query); the body is copied as it streams through to the caller.
+ * The next call for the same credential and URI sends {@code If-None-Match} / {@code If-Modified-Since};
+ * a {@code 304 Not Modified} is answered from the cached body and hands its rate-limit reservation back,
+ * since GitHub does not count it. Bodies decoded from a cached response are kept with it, so repeated
+ * {@code 304}s are not decoded again; like flyweights, they are shared and must be treated as read-only.
+ * <p>
+ * While GitHub is treated as unavailable (an open circuit or a full bulkhead, see
+ * {@link UpstreamUnavailableException}) a cached body is served as is, marked with a {@code Warning: 110}
+ * header. The filter runs inside {@link RateLimitFilter}, which picks the credential.
+ */
+@Slf4j
+@Component
+public class ConditionalRequestCache implements ExchangeFilterFunction {
+
+    private static final String RATE_LIMIT_HEADER_PREFIX = "x-ratelimit";
+
+    private final boolean enabled;
+
+    private final long maxBodySize;
+
+    private final Map<String, CachedResponse> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter stale;
+
+    private final Counter fallbacks;
+
+    public ConditionalRequestCache(MeterRegistry meterRegistry,
+                                   @Value("${github.api.cache.enabled:true}") boolean enabled,
+                                   @Value("${github.api.cache.max-entries:1000}") int maxEntries,
+                                   @Value("${github.api.cache.max-body-size:10MB}") DataSize maxBodySize) {
+        this.enabled = enabled;
+        this.maxBodySize = maxBodySize.toBytes();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        this.stale = cacheCounter(meterRegistry, "stale");
+        this.fallbacks = cacheCounter(meterRegistry, "fallback");
+        Gauge.builder("github.api.cache.size", entries, Map::size)
+                .description("Number of GitHub responses held for conditional requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled || request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        CredentialPool.Lease lease = RateLimitFilter.leaseOf(request);
+        String key = lease != null ? lease.credential().name() + " " + request.url() : request.url().toString();
+        CachedResponse cached = entries.get(key);
+        ClientRequest outgoing = cached == null ? request : ClientRequest.from(request)
+                .headers(headers -> cached.applyValidators(headers))
+                .build();
+
+        return next.exchange(outgoing).flatMap(response -> {
+            if (cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("Serving {} from conditional request cache", key);
+                hits.increment();
+                if (lease != null) {
+                    lease.release();
+                }
+                return Mono.just(cached.toResponse(response));
+            }
+            (cached == null ? misses : stale).increment();
+            return Mono.just(store(key, response));
+        }).onErrorResume(UpstreamUnavailableException.class, e -> {
+            if (cached == null) {
+                return Mono.error(e);
+            }
+            log.debug("Serving stale {} from conditional request cache: {}", key, e.getMessage());
+            fallbacks.increment();
+            if (lease != null) {
+                lease.release();
+            }
+            return Mono.just(cached.toStaleResponse());
+        });
+    }
+
+    private ClientResponse store(String key, ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (!response.statusCode().is2xxSuccessful()
+                || (headers.getETag() == null && headers.getFirst(HttpHeaders.LAST_MODIFIED) == null)) {
+            entries.remove(key);
+            return response;
+        }
+
+        // The body is copied as it streams to the caller, and only cached once the caller has read all of it.
+        BodyCopy copy = new BodyCopy(maxBodySize);
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(copy::append)
+                        .doOnComplete(() -> {
+                            byte[] content = copy.content();
+                            if (content != null) {
+                                entries.put(key, new CachedResponse(copyOf(headers), content, response.strategies()));
+                            } else {
+                                entries.remove(key);
+                            }
+                        }))
+                .build();
+    }
+
+    private static HttpHeaders copyOf(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.addAll(headers);
+        return copy;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("github.api.cache.requests")
+                .description("GitHub GET requests by conditional cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] content, ExchangeStrategies strategies,
+                                  Map<Decoded, List<?>> decoded) {
+
+        private record Decoded(Class<?> type, boolean single) {
+        }
+
+        CachedResponse(HttpHeaders headers, byte[] content, ExchangeStrategies strategies) {
+            this(headers, content, strategies, new ConcurrentHashMap<>());
+        }
+
+        void applyValidators(HttpHeaders outgoing) {
+            String etag = headers.getETag();
+            if (etag != null) {
+                outgoing.setIfNoneMatch(etag);
+            }
+            String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                outgoing.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+        Flux<DataBuffer> body() {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content)));
+        }
+
+        /**
+         * Values of {@code type} decoded from the body, decoding it with {@code decoder} the first time.
+         */
+        @SuppressWarnings("unchecked")
+        <T> Flux<T> decoded(Class<? extends T> type, boolean single, Supplier<Flux<? extends T>> decoder) {
+            Decoded key = new Decoded(type, single);
+            List<?> values = decoded.get(key);
+            if (values != null) {
+                return Flux.fromIterable((List<T>) values);
+            }
+            return decoder.get()
+                    .collectList()
+                    .doOnNext(list -> decoded.put(key, List.copyOf(list)))
+                    .flatMapIterable(list -> list);
+        }
+
+        ClientResponse toResponse(ClientResponse notModified) {
+            return new DecodedOnceResponse(notModified.mutate()
+                    .statusCode(HttpStatus.OK)
+                    .headers(outgoing -> {
+                        HttpHeaders fresh = copyOf(outgoing);
+                        outgoing.clear();
+                        outgoing.addAll(headers);
+                        fresh.forEach((name, values) -> {
+                            if (name.toLowerCase().startsWith(RATE_LIMIT_HEADER_PREFIX)) {
+                                outgoing.put(name, values);
+                            }
+                        });
+                    })
+                    .body(body())
+                    .build(), this);
+        }
+
+        ClientResponse toStaleResponse() {
+            // The rate-limit headers are left out: they describe a window that has since moved on.
+            return new DecodedOnceResponse(ClientResponse.create(HttpStatus.OK, strategies)
+                    .headers(outgoing -> {
+                        headers.forEach((name, values) -> {
+                            if (!name.toLowerCase().startsWith(RATE_LIMIT_HEADER_PREFIX)) {
+                                outgoing.put(name, values);
+                            }
+                        });
+                        outgoing.set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+                    })
+                    .body(body())
+                    .build(), this);
+        }
+    }
+
+    /**
+     * The bytes of a response body as it streams through, up to {@code maxSize}.
+     */
+    private static final class BodyCopy {
+
+        private final long maxSize;
+
+        private ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        BodyCopy(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        void append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (content == null || content.size() + (long) length > maxSize) {
+                content = null;
+                return;
+            }
+            byte[] bytes = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+            content.writeBytes(bytes);
+        }
+
+        /**
+         * The whole body, or {@code null} if it was larger than {@code maxSize}.
+         */
+        byte[] content() {
+            return content != null ? content.toByteArray() : null;
+        }
+    }
+
+    /**
+     * A response answered from the cache, whose decoded body is taken from, or kept with, the cached entry.
+     */
+    private static class DecodedOnceResponse extends ClientResponseWrapper {
+
+        private final CachedResponse cached;
+
+        DecodedOnceResponse(ClientResponse delegate, CachedResponse cached) {
+            super(delegate);
+            this.cached = cached;
+        }
+
+        @Override
+        public <T> Mono<T> bodyToMono(Class<? extends T> elementClass) {
+            return cached.<T>decoded(elementClass, true, () -> super.bodyToMono(elementClass).flux()).next();
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(Class<? extends T> elementClass) {
+            return cached.decoded(elementClass, false, () -> super.bodyToFlux(elementClass));
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<List<T>>> toEntityList(Class<T> elementClass) {
+            return bodyToFlux(elementClass)
+                    .collectList()
+                    .map(list -> new ResponseEntity<>(list, headers().asHttpHeaders(), statusCode()));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.scanner.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The GitHub tokens requests can be sent with, each tracked against its own {@link RateLimitBudget}.
+ * <p>
+ * Every request leases the credential that can send soonest, preferring the one with the most budget
+ * left; tokens that are exhausted or blocked by a secondary limit are passed over until their window
+ * resets. With no token configured a single anonymous credential is used.
+ */
+@Slf4j
+@Component
+public class CredentialPool {
+    
+    public record Lease(Credential credential, RateLimitBudget.Reservation reservation) {
+        
+        public Duration delay() {
+            return reservation.delay();
+        }
+        
+        /**
+         * Hands the reserved request back to the credential's budget, see {@link RateLimitBudget#release}.
+         */
+        public void release() {
+            credential.budget().release(reservation);
+        }
+    }
+    
+    /**
+     * @param token bearer token, or {@code null} for unauthenticated requests
+     */
+    public record Credential(String name, String token, RateLimitBudget budget) {
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+    
+    private final List<Credential> credentials = new ArrayList<>();
+    
+    public CredentialPool(MeterRegistry meterRegistry,
+                          @Value("${github.api.token:}") String token,
+                          @Value("${github.api.tokens:}") List<String> tokens,
+                          @Value("${github.api.rate-limit.reserve:50}") int reserve,
+                          @Value("${github.api.rate-limit.pace-below:500}") int paceBelow) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (token != null && !token.isBlank()) {
+            distinct.add(token.trim());
+        }
+        tokens.stream().filter(t -> !t.isBlank()).map(String::trim).forEach(distinct::add);
+        if (distinct.isEmpty()) {
+            distinct.add(null);
+        }
+        
+        for (String value : distinct) {
+            Credential credential = new Credential(
+                    value != null ? "token-" + (credentials.size() + 1) : "anonymous", value, new RateLimitBudget(reserve, paceBelow));
+            credentials.add(credential);
+            Gauge.builder("github.api.ratelimit.remaining", credential.budget(), RateLimitBudget::getRemaining)
+                    .description("Requests left in the current GitHub rate-limit window")
+                    .tag("credential", credential.name())
+                    .register(meterRegistry);
+            Gauge.builder("github.api.ratelimit.limit", credential.budget(), RateLimitBudget::getLimit)
+                    .description("Size of the current GitHub rate-limit window")
+                    .tag("credential", credential.name())
+                    .register(meterRegistry);
+        }
+        log.info("Configured {} GitHub credential(s)", credentials.size());
+    }
+    
+    /**
+     * Picks the credential for the next request and reserves a slot in its budget.
+     */
+    public Lease acquire(Instant now) {
+        return acquire(now, ChronoUnit.FOREVER.getDuration());
+    }
+    
+    /**
+     * Picks the credential for the next request and reserves a slot in its budget, unless the request
+     * would have to wait longer than {@code maxWait}.
+     */
+    public synchronized Lease acquire(Instant now, Duration maxWait) {
+        Credential best = credentials.stream()
+                .min(Comparator.<Credential, Instant>comparing(c -> c.budget().availableAt(now))
+                        .thenComparing(c -> c.budget().headroom(now), Comparator.reverseOrder()))
+                .orElseThrow();
+        return new Lease(best, best.budget().reserve(now, maxWait));
+    }
+    
+    public List<Credential> getCredentials() {
+        return List.copyOf(credentials);
+    }
+}
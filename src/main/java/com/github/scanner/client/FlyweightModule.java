@@ -0,0 +1,89 @@
+package com.github.scanner.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.scanner.model.Classification;
+import com.github.scanner.model.Rule;
+import com.github.scanner.model.Tool;
+import com.github.scanner.model.User;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Jackson module that passes every decoded {@link Rule}, {@link Tool}, {@link User} and
+ * {@link Classification} through the {@link FlyweightPool}, keyed by {@code rule.id},
+ * {@code tool.guid} (or name and version), {@code user.id} and, for classifications, category and description.
+ */
+public class FlyweightModule extends SimpleModule {
+    
+    private static final Map<Class<?>, Function<Object, Object>> IDENTITY_KEYS = Map.of(
+            Rule.class, rule -> ((Rule) rule).getId(),
+            Tool.class, tool -> toolKey((Tool) tool),
+            User.class, user -> ((User) user).getId(),
+            Classification.class, classification -> classificationKey((Classification) classification));
+    
+    public FlyweightModule(FlyweightPool pool) {
+        super("github-flyweights");
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                          JsonDeserializer<?> deserializer) {
+                Class<?> type = beanDesc.getBeanClass();
+                Function<Object, Object> identityKey = IDENTITY_KEYS.get(type);
+                return identityKey != null ? new InterningDeserializer(deserializer, type, identityKey, pool) : deserializer;
+            }
+        });
+    }
+    
+    private static Object toolKey(Tool tool) {
+        if (tool.getGuid() != null) {
+            return tool.getGuid();
+        }
+        return tool.getName() != null ? tool.getName() + "@" + tool.getVersion() : null;
+    }
+    
+    /**
+     * A string rather than the classification itself, which the pool's strong key would keep from ever
+     * being collected.
+     */
+    private static Object classificationKey(Classification classification) {
+        return classification.getCategory() + "|" + classification.getDescription();
+    }
+    
+    private static class InterningDeserializer extends DelegatingDeserializer {
+        
+        private final Class<?> type;
+        
+        private final Function<Object, Object> identityKey;
+        
+        private final FlyweightPool pool;
+        
+        InterningDeserializer(JsonDeserializer<?> delegate, Class<?> type, Function<Object, Object> identityKey,
+                              FlyweightPool pool) {
+            super(delegate);
+            this.type = type;
+            this.identityKey = identityKey;
+            this.pool = pool;
+        }
+        
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new InterningDeserializer(newDelegatee, type, identityKey, pool);
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Object value = super.deserialize(p, ctxt);
+            return value != null ? pool.intern((Class<Object>) type, identityKey.apply(value), value) : null;
+        }
+    }
+}
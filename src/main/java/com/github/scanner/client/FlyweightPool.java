@@ -0,0 +1,101 @@
+package com.github.scanner.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of value objects that repeat across many alerts (rules, tools, users).
+ * <p>
+ * {@link #intern} returns the instance already held for the same type and identity key when it is equal
+ * to the candidate, so thousands of alerts of one rule share a single {@code Rule} and its descriptions.
+ * A candidate whose content differs (e.g. an updated rule description) replaces the held instance.
+ * Instances are held weakly and disappear once no cached or in-flight alert refers to them. Shared
+ * instances must be treated as read-only.
+ */
+@Component
+public class FlyweightPool {
+    
+    private record Key(Class<?> type, Object id) {
+    }
+    
+    private record Counters(Counter shared, Counter created) {
+    }
+    
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    
+    private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+    
+    private final MeterRegistry meterRegistry;
+    
+    public FlyweightPool(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("github.api.flyweight.size", entries, Map::size)
+                .description("Distinct rules, tools, users and classifications shared across decoded alerts")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Returns the held instance for {@code type} and {@code id} if it equals {@code candidate}, otherwise holds
+     * and returns the candidate. The {@code id} is held strongly, so it must not refer to the candidate.
+     */
+    public <T> T intern(Class<T> type, Object id, T candidate) {
+        if (id == null || candidate == null) {
+            return candidate;
+        }
+        expungeCollected();
+        
+        Key key = new Key(type, id);
+        Entry entry = entries.get(key);
+        Object existing = entry != null ? entry.get() : null;
+        if (existing != null && existing.equals(candidate)) {
+            counters(type).shared().increment();
+            return type.cast(existing);
+        }
+        entries.put(key, new Entry(key, candidate, collected));
+        counters(type).created().increment();
+        return candidate;
+    }
+    
+    public int size() {
+        expungeCollected();
+        return entries.size();
+    }
+    
+    private void expungeCollected() {
+        Entry entry;
+        while ((entry = (Entry) collected.poll()) != null) {
+            entries.remove(entry.key, entry);
+        }
+    }
+    
+    private Counters counters(Class<?> type) {
+        return counters.computeIfAbsent(type, t -> new Counters(counter(t, "shared"), counter(t, "new")));
+    }
+    
+    private Counter counter(Class<?> type, String result) {
+        return Counter.builder("github.api.flyweight.requests")
+                .description("Decoded value objects replaced by a shared instance (shared) or kept (new)")
+                .tags("type", type.getSimpleName(), "result", result)
+                .register(meterRegistry);
+    }
+    
+    private static final class Entry extends WeakReference<Object> {
+        
+        private final Key key;
+        
+        Entry(Key key, Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = Objects.requireNonNull(key);
+        }
+    }
+}
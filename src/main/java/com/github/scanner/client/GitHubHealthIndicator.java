@@ -0,0 +1,57 @@
+package com.github.scanner.client;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the GitHub circuit breakers and bulkheads under {@code /actuator/health} as the {@code gitHub}
+ * component. The status is {@code DEGRADED} while any route's breaker is open or half-open: requests on
+ * other routes and cached responses are still served, so the application itself is not down.
+ */
+@Component
+public class GitHubHealthIndicator implements HealthIndicator {
+    
+    public static final Status DEGRADED = new Status("DEGRADED", "Some GitHub routes are failing fast");
+    
+    private final CircuitBreakerFilter circuitBreakerFilter;
+    
+    private final BulkheadFilter bulkheadFilter;
+    
+    public GitHubHealthIndicator(CircuitBreakerFilter circuitBreakerFilter, BulkheadFilter bulkheadFilter) {
+        this.circuitBreakerFilter = circuitBreakerFilter;
+        this.bulkheadFilter = bulkheadFilter;
+    }
+    
+    @Override
+    public Health health() {
+        boolean degraded = false;
+        Map<String, Object> breakers = new LinkedHashMap<>();
+        for (Map.Entry<String, CircuitBreaker> entry : circuitBreakerFilter.getBreakers().entrySet()) {
+            CircuitBreaker breaker = entry.getValue();
+            degraded |= breaker.getState() != CircuitBreaker.State.CLOSED;
+            breakers.put(entry.getKey(), Map.of(
+                    "state", breaker.getState(),
+                    "failureRate", breaker.getFailureRate(),
+                    "slowCallRate", breaker.getSlowCallRate(),
+                    "calls", breaker.getRecordedCalls()));
+        }
+        
+        Map<String, Object> bulkheads = new LinkedHashMap<>();
+        for (Bulkhead bulkhead : bulkheadFilter.getBulkheads()) {
+            bulkheads.put(bulkhead.getName(), Map.of(
+                    "inUse", bulkhead.getInUse(),
+                    "maxConcurrent", bulkhead.getMaxConcurrent(),
+                    "waiting", bulkhead.getWaiting()));
+        }
+        
+        return Health.status(degraded ? DEGRADED : Status.UP)
+                .withDetail("circuitBreakers", breakers)
+                .withDetail("bulkheads", bulkheads)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.scanner.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses GitHub's RFC 8288 {@code Link} pagination header.
+ */
+public final class LinkHeader {
+    
+    private static final Pattern LINK = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"([^\"]*)\"");
+    
+    private LinkHeader() {
+    }
+    
+    public static Optional<URI> next(HttpHeaders headers) {
+        return relation(headers, "next");
+    }
+    
+    public static Optional<URI> relation(HttpHeaders headers, String rel) {
+        for (String value : headers.getOrEmpty(HttpHeaders.LINK)) {
+            Matcher matcher = LINK.matcher(value);
+            while (matcher.find()) {
+                if (rel.equals(matcher.group(2))) {
+                    return Optional.of(URI.create(matcher.group(1)));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
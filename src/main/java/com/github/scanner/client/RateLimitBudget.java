@@ -0,0 +1,196 @@
+package com.github.scanner.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Live view of one GitHub rate-limit window, fed from the {@code X-RateLimit-*} and
+ * {@code Retry-After} headers of every response.
+ * <p>
+ * Callers reserve a slot before each request. While plenty of budget is left the slot is
+ * immediate; below {@code paceBelow} the remaining requests are spread evenly over the time left in
+ * the window, and at {@code reserve} or after a secondary-limit response the caller is held until
+ * the window resets.
+ */
+public class RateLimitBudget {
+    
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+    
+    /**
+     * One request reserved against the budget.
+     *
+     * @param delay   how long the caller should wait before sending it
+     * @param slot    when it may be sent
+     * @param counted whether it was taken off the remaining requests
+     */
+    public record Reservation(Duration delay, Instant slot, boolean counted) {
+        
+        static Reservation uncounted(Instant now, Duration delay) {
+            return new Reservation(delay, now.plus(delay), false);
+        }
+    }
+    
+    private final int reserve;
+    
+    private final int paceBelow;
+    
+    private long limit = -1;
+    
+    private long remaining = -1;
+    
+    private Instant resetAt = Instant.EPOCH;
+    
+    private Instant blockedUntil = Instant.EPOCH;
+    
+    private Instant nextSlot = Instant.EPOCH;
+    
+    private Instant lastSlot = Instant.EPOCH;
+    
+    public RateLimitBudget(int reserve, int paceBelow) {
+        this.reserve = reserve;
+        this.paceBelow = paceBelow;
+    }
+    
+    /**
+     * Reserves one request against the budget and returns how long the caller should wait before sending it.
+     */
+    public Duration reserve(Instant now) {
+        return reserve(now, ChronoUnit.FOREVER.getDuration()).delay();
+    }
+    
+    /**
+     * Reserves one request against the budget. When the caller would have to wait longer than
+     * {@code maxWait} nothing is counted, since the request will not be sent.
+     */
+    public synchronized Reservation reserve(Instant now, Duration maxWait) {
+        if (now.isBefore(blockedUntil)) {
+            return Reservation.uncounted(now, Duration.between(now, blockedUntil));
+        }
+        if (remaining < 0 || !now.isBefore(resetAt)) {
+            // Unknown budget or a fresh window: send immediately and learn from the response.
+            return Reservation.uncounted(now, Duration.ZERO);
+        }
+        if (remaining <= reserve) {
+            return Reservation.uncounted(now, Duration.between(now, resetAt));
+        }
+        
+        Duration interval = remaining < paceBelow
+                ? Duration.between(now, resetAt).dividedBy(remaining - reserve)
+                : Duration.ZERO;
+        Instant slot = nextSlot.isAfter(now) ? nextSlot : now;
+        Duration wait = Duration.between(now, slot);
+        if (wait.compareTo(maxWait) > 0) {
+            return Reservation.uncounted(now, wait);
+        }
+        nextSlot = slot.plus(interval);
+        lastSlot = slot;
+        remaining--;
+        return new Reservation(wait, slot, true);
+    }
+    
+    /**
+     * Hands back a reservation whose request was not sent after all, or that GitHub did not count (a
+     * {@code 304 Not Modified}). Its pacing slot is handed back too unless a later request already holds
+     * the next one.
+     */
+    public synchronized void release(Reservation reservation) {
+        if (!reservation.counted()) {
+            return;
+        }
+        if (remaining >= 0 && reservation.slot().isBefore(resetAt)) {
+            remaining++;
+        }
+        if (reservation.slot().equals(lastSlot)) {
+            nextSlot = lastSlot;
+            lastSlot = Instant.EPOCH;
+        }
+    }
+    
+    /**
+     * Returns when a request can next be sent without waiting for the window to reset or a block to lift.
+     */
+    public synchronized Instant availableAt(Instant now) {
+        if (now.isBefore(blockedUntil)) {
+            return blockedUntil;
+        }
+        if (remaining >= 0 && now.isBefore(resetAt) && remaining <= reserve) {
+            return resetAt;
+        }
+        return now;
+    }
+    
+    /**
+     * Requests left in the current window above the reserve, or {@link Long#MAX_VALUE} while the budget is unknown.
+     */
+    public synchronized long headroom(Instant now) {
+        if (remaining < 0 || !now.isBefore(resetAt)) {
+            return Long.MAX_VALUE;
+        }
+        return remaining - reserve;
+    }
+    
+    public synchronized void update(HttpHeaders headers, int status, Instant now) {
+        Long reportedLimit = parseLong(headers.getFirst(LIMIT_HEADER));
+        Long reportedRemaining = parseLong(headers.getFirst(REMAINING_HEADER));
+        Long reportedReset = parseLong(headers.getFirst(RESET_HEADER));
+        
+        if (reportedLimit != null) {
+            limit = reportedLimit;
+        }
+        if (reportedRemaining != null && reportedReset != null) {
+            // GitHub's count is authoritative: it corrects requests reserved here but never sent or never counted.
+            remaining = reportedRemaining;
+            resetAt = Instant.ofEpochSecond(reportedReset);
+        }
+        
+        if (status == HttpStatus.FORBIDDEN.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+            if (retryAfter != null) {
+                block(now.plusSeconds(retryAfter));
+            } else if (reportedRemaining != null && reportedRemaining == 0) {
+                block(resetAt);
+            }
+        }
+    }
+    
+    public synchronized long getLimit() {
+        return limit;
+    }
+    
+    public synchronized long getRemaining() {
+        return remaining;
+    }
+    
+    public synchronized Instant getResetAt() {
+        return resetAt;
+    }
+    
+    public synchronized Instant getBlockedUntil() {
+        return blockedUntil;
+    }
+    
+    private void block(Instant until) {
+        if (until.isAfter(blockedUntil)) {
+            blockedUntil = until;
+        }
+    }
+    
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
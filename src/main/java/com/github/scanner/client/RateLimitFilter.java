@@ -0,0 +1,105 @@
+package com.github.scanner.client;
+
+import com.github.scanner.exception.GitHubApiException;
+import com.github.scanner.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Paces outgoing GitHub requests against the live {@link RateLimitBudget} so callers are held back
+ * before the primary or secondary rate limit is hit, instead of after GitHub answers 403/429.
+ * Each request is authenticated with the credential leased from the {@link CredentialPool}, and the
+ * response headers are credited to that credential's budget. Requests that are rejected, or that are
+ * cancelled or turned away by a bulkhead or open circuit before they are sent, hand their reservation
+ * back; the lease travels with the request (see {@link #leaseOf}) so the {@link ConditionalRequestCache}
+ * can do the same for {@code 304 Not Modified} answers.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements ExchangeFilterFunction {
+    
+    static final String LEASE_ATTRIBUTE = RateLimitFilter.class.getName() + ".lease";
+    
+    private final CredentialPool credentialPool;
+    
+    private final Duration maxWait;
+    
+    private final Clock clock;
+    
+    private final Counter delayedRequests;
+    
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           CredentialPool credentialPool,
+                           @Value("${github.api.rate-limit.max-wait:60s}") Duration maxWait) {
+        this.credentialPool = credentialPool;
+        this.maxWait = maxWait;
+        this.clock = Clock.systemUTC();
+        this.delayedRequests = Counter.builder("github.api.ratelimit.delayed")
+                .description("GitHub requests held back to stay within the rate limit")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            CredentialPool.Lease lease = credentialPool.acquire(clock.instant(), maxWait);
+            RateLimitBudget budget = lease.credential().budget();
+            Duration delay = lease.delay();
+            if (delay.compareTo(maxWait) > 0) {
+                return Mono.error(new GitHubApiException(
+                        "GitHub rate limit exhausted until " + clock.instant().plus(delay)));
+            }
+            
+            AtomicBoolean sent = new AtomicBoolean();
+            Mono<ClientResponse> exchange = Mono.defer(() -> {
+                sent.set(true);
+                return next.exchange(authenticate(request, lease));
+            }).doOnNext(response -> budget.update(
+                    response.headers().asHttpHeaders(), response.statusCode().value(), clock.instant())
+            ).doOnError(UpstreamUnavailableException.class, e -> lease.release());
+            
+            if (!delay.isZero() && !delay.isNegative()) {
+                log.debug("Delaying {} {} by {} ms to stay within the GitHub rate limit of {}",
+                        request.method(), request.url().getPath(), delay.toMillis(), lease.credential().name());
+                delayedRequests.increment();
+                exchange = Mono.delay(delay).then(exchange);
+            }
+            return exchange.doOnCancel(() -> {
+                if (!sent.get()) {
+                    lease.release();
+                }
+            });
+        });
+    }
+    
+    /**
+     * The credential lease a request passed on by this filter is sent with, or {@code null}.
+     */
+    public static CredentialPool.Lease leaseOf(ClientRequest request) {
+        return (CredentialPool.Lease) request.attribute(LEASE_ATTRIBUTE).orElse(null);
+    }
+    
+    private static ClientRequest authenticate(ClientRequest request, CredentialPool.Lease lease) {
+        String token = lease.credential().token();
+        return ClientRequest.from(request)
+                .attribute(LEASE_ATTRIBUTE, lease)
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.setBearerAuth(token);
+                    }
+                })
+                .build();
+    }
+}
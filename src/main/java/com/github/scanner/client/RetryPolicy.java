@@ -0,0 +1,147 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.RetryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decides whether and when a failed GitHub call is retried.
+ * <p>
+ * Only transient failures are retried: 5xx gateway errors, 429 and secondary-limit 403 responses, and
+ * I/O errors. A non-idempotent call is retried only when GitHub refused it before acting on it (429, or 403
+ * with {@code Retry-After}) or when the connection could not be opened, since a 5xx or a broken connection
+ * may come after the request was already applied. The wait is GitHub's {@code Retry-After} (or the rate-limit reset) when
+ * given, otherwise a full-jitter exponential backoff, and a call gives up with its last error once the
+ * next wait would exceed its time budget.
+ */
+@Slf4j
+@Component
+public class RetryPolicy {
+    
+    private static final Set<Integer> SERVER_ERROR_STATUSES = Set.of(
+            HttpStatus.INTERNAL_SERVER_ERROR.value(),
+            HttpStatus.BAD_GATEWAY.value(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            HttpStatus.GATEWAY_TIMEOUT.value());
+    
+    private final RetryProperties properties;
+    
+    private final int defaultMaxRetries;
+    
+    public RetryPolicy(RetryProperties properties,
+                       @Value("${github.api.max-retry-attempts:3}") int defaultMaxRetries) {
+        this.properties = properties;
+        this.defaultMaxRetries = defaultMaxRetries;
+    }
+    
+    /**
+     * Returns the retry spec for one call on {@code route}, a key under {@code github.api.retry.routes}.
+     */
+    public Retry forRoute(String route, boolean idempotent) {
+        RetryProperties.Route overrides = properties.getRoutes().getOrDefault(route, new RetryProperties.Route());
+        int maxRetries = firstNonNull(overrides.getMaxRetries(), properties.getMaxRetries(), defaultMaxRetries);
+        Duration firstBackoff = firstNonNull(overrides.getFirstBackoff(), properties.getFirstBackoff());
+        Duration maxBackoff = firstNonNull(overrides.getMaxBackoff(), properties.getMaxBackoff());
+        Duration timeout = firstNonNull(overrides.getTimeout(), properties.getTimeout());
+        
+        return Retry.from(signals -> {
+            long startedAt = System.nanoTime();
+            return signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                long retry = signal.totalRetries();
+                if (retry >= maxRetries || !isRetryable(failure, idempotent)) {
+                    return Mono.error(failure);
+                }
+                
+                Duration delay = retryAfter(failure);
+                if (delay == null) {
+                    delay = fullJitter(firstBackoff, maxBackoff, retry);
+                }
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+                if (elapsed.plus(delay).compareTo(timeout) > 0) {
+                    log.debug("Not retrying {} after {}: next attempt would exceed the {} budget", route, failure.toString(), timeout);
+                    return Mono.error(failure);
+                }
+                
+                log.debug("Retrying {} in {} ms (retry {} of {}) after {}", route, delay.toMillis(), retry + 1, maxRetries, failure.toString());
+                return Mono.delay(delay);
+            });
+        });
+    }
+    
+    static boolean isRetryable(Throwable failure, boolean idempotent) {
+        if (failure instanceof WebClientResponseException e) {
+            int status = e.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || status == HttpStatus.FORBIDDEN.value() && retryAfter(e) != null
+                    || idempotent && SERVER_ERROR_STATUSES.contains(status);
+        }
+        if (failure instanceof WebClientRequestException e) {
+            return idempotent || e.getCause() instanceof ConnectException;
+        }
+        return idempotent && failure instanceof TimeoutException;
+    }
+    
+    /**
+     * The wait GitHub asked for: {@code Retry-After}, or the rate-limit reset when no requests are left.
+     */
+    static Duration retryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException e)) {
+            return null;
+        }
+        HttpHeaders headers = e.getHeaders();
+        Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfter != null) {
+            return Duration.ofSeconds(Math.max(0, retryAfter));
+        }
+        Long reset = parseLong(headers.getFirst(RateLimitBudget.RESET_HEADER));
+        if ("0".equals(headers.getFirst(RateLimitBudget.REMAINING_HEADER)) && reset != null) {
+            Duration untilReset = Duration.between(Instant.now(), Instant.ofEpochSecond(reset));
+            return untilReset.isNegative() ? Duration.ZERO : untilReset;
+        }
+        return null;
+    }
+    
+    private static Duration fullJitter(Duration firstBackoff, Duration maxBackoff, long retry) {
+        long ceiling = firstBackoff.toMillis() << Math.min(retry, 20);
+        if (ceiling <= 0 || ceiling > maxBackoff.toMillis()) {
+            ceiling = maxBackoff.toMillis();
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+    
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
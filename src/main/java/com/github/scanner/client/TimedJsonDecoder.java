@@ -0,0 +1,131 @@
+package com.github.scanner.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.util.MimeType;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON decoder that records how long Jackson spends turning GitHub response bodies into objects, as
+ * {@code github.api.decode} tagged by target type.
+ * <p>
+ * For streamed ({@code bodyToFlux}) decoding only the time between a buffer arriving, or the previous
+ * element being handed on, and the next element being emitted is counted, so neither network waits nor
+ * the time downstream subscribers spend on each element end up in the measurement.
+ */
+public class TimedJsonDecoder extends Jackson2JsonDecoder {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public TimedJsonDecoder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public TimedJsonDecoder(MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType,
+                               Map<String, Object> hints) {
+        DecodeClock clock = new DecodeClock();
+        Flux<DataBuffer> buffers = Flux.from(input).doOnNext(buffer -> clock.resume());
+        return super.decode(buffers, elementType, mimeType, hints)
+                .transform(Operators.lift((scannable, actual) -> clock.around(actual)))
+                .doFinally(signal -> timer(elementType).record(clock.elapsedNanos, TimeUnit.NANOSECONDS));
+    }
+    
+    @Override
+    public Object decode(DataBuffer dataBuffer, ResolvableType targetType, MimeType mimeType,
+                         Map<String, Object> hints) throws DecodingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return super.decode(dataBuffer, targetType, mimeType, hints);
+        } finally {
+            sample.stop(timer(targetType));
+        }
+    }
+    
+    private Timer timer(ResolvableType type) {
+        return Timer.builder("github.api.decode")
+                .description("Time spent decoding GitHub JSON responses")
+                .tag("type", typeName(type))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private static String typeName(ResolvableType type) {
+        // java.util.List<com.github.scanner.model.CodeScanningAlert> -> List<CodeScanningAlert>
+        return type.toString().replaceAll("[\\w$]+\\.", "");
+    }
+    
+    /**
+     * Accumulates decoder time for one stream; signals of a single stream never overlap.
+     */
+    private static class DecodeClock {
+        
+        private long resumedAt = -1;
+        
+        private long elapsedNanos;
+        
+        void resume() {
+            resumedAt = System.nanoTime();
+        }
+        
+        void pause() {
+            if (resumedAt >= 0) {
+                elapsedNanos += System.nanoTime() - resumedAt;
+                resumedAt = -1;
+            }
+        }
+        
+        /**
+         * Stops the clock while {@code actual} handles each element.
+         */
+        <T> CoreSubscriber<T> around(CoreSubscriber<? super T> actual) {
+            return new CoreSubscriber<>() {
+                
+                @Override
+                public Context currentContext() {
+                    return actual.currentContext();
+                }
+                
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    actual.onSubscribe(subscription);
+                }
+                
+                @Override
+                public void onNext(T element) {
+                    pause();
+                    actual.onNext(element);
+                    resume();
+                }
+                
+                @Override
+                public void onError(Throwable error) {
+                    actual.onError(error);
+                }
+                
+                @Override
+                public void onComplete() {
+                    actual.onComplete();
+                }
+            };
+        }
+    }
+}
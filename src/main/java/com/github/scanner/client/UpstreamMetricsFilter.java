@@ -0,0 +1,124 @@
+package com.github.scanner.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every request sent to GitHub, tagged by route template, HTTP status and attempt number.
+ * <p>
+ * {@code github.api.requests} times the exchange up to the response headers (GitHub's latency);
+ * {@code github.api.response.body} times the body from the headers until it has been fully read, and
+ * {@code github.api.response.size} records its size in bytes. Decoding is timed by {@link TimedJsonDecoder}. Callers that retry count
+ * attempts by writing {@link #countAttempts} into the subscriber context outside their retry operator.
+ */
+@Component
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+    
+    private static final String ATTEMPT_KEY = UpstreamMetricsFilter.class.getName() + ".attempt";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public UpstreamMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Starts a fresh attempt counter for the call subscribed with this context.
+     */
+    public static Context countAttempts(Context context) {
+        return context.put(ATTEMPT_KEY, new AtomicInteger());
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            AtomicInteger attempts = context.getOrDefault(ATTEMPT_KEY, null);
+            String attempt = String.valueOf(attempts != null ? attempts.incrementAndGet() : 1);
+            String method = request.method().name();
+            String route = routeTemplate(request.url().getPath());
+            long start = System.nanoTime();
+            
+            return next.exchange(request)
+                    .doOnError(e -> requestTimer(method, route, "IO_ERROR", attempt)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .map(response -> {
+                        requestTimer(method, route, String.valueOf(response.statusCode().value()), attempt)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return instrumentBody(response, method, route);
+                    });
+        });
+    }
+    
+    /**
+     * Replaces the owner, repository, organization, enterprise and resource-id segments of a GitHub API
+     * path with placeholders, e.g. {@code /repos/{owner}/{repo}/code-scanning/alerts/{alert_number}}.
+     */
+    public static String routeTemplate(String path) {
+        String[] segments = path.split("/", -1);
+        for (int i = 1; i < segments.length; i++) {
+            switch (segments[i - 1]) {
+                case "repos" -> {
+                    segments[i] = "{owner}";
+                    if (i + 1 < segments.length) {
+                        segments[++i] = "{repo}";
+                    }
+                }
+                case "orgs" -> segments[i] = "{org}";
+                case "enterprises" -> segments[i] = "{enterprise}";
+                case "alerts" -> segments[i] = "{alert_number}";
+                case "analyses" -> segments[i] = "{analysis_id}";
+                case "sarifs" -> segments[i] = "{sarif_id}";
+                default -> {
+                    if (!segments[i].isEmpty() && segments[i].chars().allMatch(Character::isDigit)) {
+                        segments[i] = "{id}";
+                    }
+                }
+            }
+        }
+        return String.join("/", segments);
+    }
+    
+    private ClientResponse instrumentBody(ClientResponse response, String method, String route) {
+        long headersReceived = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                        .doFinally(signal -> {
+                            DistributionSummary.builder("github.api.response.size")
+                                    .description("Size of GitHub response bodies")
+                                    .baseUnit("bytes")
+                                    .tags("method", method, "route", route)
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry)
+                                    .record(bytes.get());
+                            Timer.builder("github.api.response.body")
+                                    .description("Time from GitHub response headers until the body has been read")
+                                    .tags("method", method, "route", route)
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry)
+                                    .record(System.nanoTime() - headersReceived, TimeUnit.NANOSECONDS);
+                        }))
+                .build();
+    }
+    
+    private Timer requestTimer(String method, String route, String status, String attempt) {
+        return Timer.builder("github.api.requests")
+                .description("Latency of GitHub API requests up to the response headers")
+                .tags("method", method, "route", route, "status", status, "attempt", attempt)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.scanner.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Transport settings of the GitHub client under {@code github.api.http}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "github.api.http")
+public class HttpClientProperties {
+    
+    /**
+     * Protocols offered to GitHub. With {@code H2} and {@code HTTP11} HTTP/2 is negotiated over TLS (ALPN)
+     * and requests are multiplexed over a few connections; plain {@code http://} base URLs use HTTP/1.1.
+     */
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.H2, HttpProtocol.HTTP11);
+    
+    /** Ask for gzip-compressed responses ({@code Accept-Encoding: gzip}); bodies are inflated as they stream in. */
+    private boolean compression = true;
+    
+    private Pool pool = new Pool();
+    
+    @Data
+    public static class Pool {
+        
+        /**
+         * Connections kept to GitHub; with HTTP/2 each carries many concurrent requests. Should cover the
+         * sweep and interactive bulkheads together, so requests they admit do not queue here on HTTP/1.1.
+         */
+        private int maxConnections = 50;
+        
+        /** Requests waiting for a connection (HTTP/1.1) or stream (HTTP/2) before failing; -1 for no limit. */
+        private int pendingAcquireMaxCount = 100;
+        
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        
+        private Duration maxIdleTime = Duration.ofSeconds(20);
+        
+        private Duration maxLifeTime = Duration.ofSeconds(60);
+        
+        private Duration evictInBackground = Duration.ofSeconds(120);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.scanner.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.projection.FieldProjectionEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyRouteProvider;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Server setup for the {@code reactive} profile, which runs the controllers on Reactor Netty instead of
+ * Tomcat.
+ * <p>
+ * Tomcat stays on the classpath for the default servlet mode, and Spring Boot prefers it for reactive
+ * applications too, so the Netty factory is declared here. Netty's event loops are shared with the
+ * GitHub client, so a request waiting on GitHub holds no thread.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig implements WebFluxConfigurer {
+    
+    private final ObjectMapper objectMapper;
+    
+    public ReactiveServerConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers,
+                                                                       ObjectProvider<NettyRouteProvider> routes) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        routes.orderedStream().forEach(factory::addRouteProviders);
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+    
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new FieldProjectionEncoder(objectMapper));
+    }
+}
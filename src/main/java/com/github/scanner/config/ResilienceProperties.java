@@ -0,0 +1,62 @@
+package com.github.scanner.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead settings for GitHub calls under {@code github.api.resilience}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "github.api.resilience")
+public class ResilienceProperties {
+    
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    
+    private Bulkhead bulkhead = new Bulkhead();
+    
+    @Data
+    public static class CircuitBreaker {
+        
+        private boolean enabled = true;
+        
+        /** Outcomes of the most recent calls per route that the rates are computed over. */
+        private int windowSize = 20;
+        
+        /** Calls needed in the window before the breaker may open. */
+        private int minimumCalls = 10;
+        
+        /** Percentage of failed calls (5xx, 429, I/O errors) that opens the breaker. */
+        private int failureRateThreshold = 50;
+        
+        /** Percentage of calls slower than {@link #slowCallDuration} that opens the breaker. */
+        private int slowCallRateThreshold = 80;
+        
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        
+        /** How long an open breaker rejects calls before letting trial calls through. */
+        private Duration openDuration = Duration.ofSeconds(30);
+        
+        /** Trial calls that must succeed in the half-open state to close the breaker again. */
+        private int halfOpenCalls = 3;
+    }
+    
+    @Data
+    public static class Bulkhead {
+        
+        /**
+         * Concurrent organization/enterprise-wide and multi-page requests. Together with
+         * {@link #interactiveMaxConcurrent} this should not exceed {@code github.api.http.pool.max-connections}.
+         */
+        private int sweepMaxConcurrent = 20;
+        
+        /** Concurrent single-repository and single-alert requests. */
+        private int interactiveMaxConcurrent = 30;
+        
+        /** How long a request waits for a free slot before failing with 503. */
+        private Duration maxWait = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.scanner.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retry settings for GitHub calls under {@code github.api.retry}. Every setting can be overridden per
+ * route under {@code github.api.retry.routes.<route>}, e.g. {@code routes.list-alerts.max-retries: 5}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "github.api.retry")
+public class RetryProperties {
+    
+    /** Retries after the first attempt; defaults to {@code github.api.max-retry-attempts}. */
+    private Integer maxRetries;
+    
+    /** Upper bound of the jittered delay before the first retry; doubles on every further retry. */
+    private Duration firstBackoff = Duration.ofSeconds(1);
+    
+    private Duration maxBackoff = Duration.ofSeconds(20);
+    
+    /** Total time a call may spend on attempts and backoff before the last error is returned. */
+    private Duration timeout = Duration.ofSeconds(60);
+    
+    private Map<String, Route> routes = new HashMap<>();
+    
+    @Data
+    public static class Route {
+        
+        private Integer maxRetries;
+        
+        private Duration firstBackoff;
+        
+        private Duration maxBackoff;
+        
+        private Duration timeout;
+    }
+}
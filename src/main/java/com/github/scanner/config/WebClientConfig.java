@@ -1,13 +1,26 @@
 package com.github.scanner.config;
 
+import com.github.scanner.client.BulkheadFilter;
+import com.github.scanner.client.CircuitBreakerFilter;
+import com.github.scanner.client.ConditionalRequestCache;
+import com.github.scanner.client.FlyweightModule;
+import com.github.scanner.client.FlyweightPool;
+import com.github.scanner.client.RateLimitFilter;
+import com.github.scanner.client.TimedJsonDecoder;
+import com.github.scanner.client.UpstreamMetricsFilter;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 import java.time.Duration;
@@ -18,43 +31,76 @@ public class WebClientConfig {
     @Value("${github.api.base-url}")
     private String githubApiBaseUrl;
     
-    @Value("${github.api.token}")
-    private String githubToken;
-    
     @Value("${github.api.timeout}")
     private int timeout;
     
+    @Value("${github.api.flyweight.enabled:true}")
+    private boolean flyweightEnabled;
+    
     @Bean
-    public WebClient githubWebClient() {
+    public WebClient githubWebClient(MeterRegistry meterRegistry,
+                                     ConditionalRequestCache conditionalRequestCache,
+                                     BulkheadFilter bulkheadFilter,
+                                     RateLimitFilter rateLimitFilter,
+                                     CircuitBreakerFilter circuitBreakerFilter,
+                                     UpstreamMetricsFilter upstreamMetricsFilter,
+                                     FlyweightPool flyweightPool,
+                                     HttpClientProperties httpProperties) {
+        HttpClientProperties.Pool pool = httpProperties.getPool();
         ConnectionProvider connectionProvider = ConnectionProvider.builder("github-connection-pool")
-                .maxConnections(50)
-                .maxIdleTime(Duration.ofSeconds(20))
-                .maxLifeTime(Duration.ofSeconds(60))
-                .pendingAcquireTimeout(Duration.ofSeconds(60))
-                .evictInBackground(Duration.ofSeconds(120))
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(true)
                 .build();
         
+        // HTTP/2 is negotiated per connection via ALPN; compressed responses are inflated while streaming.
         HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(httpProperties.getProtocols().toArray(HttpProtocol[]::new))
+                .compress(httpProperties.isCompression())
                 .responseTimeout(Duration.ofSeconds(timeout));
         
+        ObjectMapper objectMapper = gitHubObjectMapper(flyweightEnabled ? flyweightPool : null);
+        
         ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(configurer -> configurer
-                        .defaultCodecs()
-                        .maxInMemorySize(10 * 1024 * 1024))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024);
+                    configurer.defaultCodecs().jackson2JsonDecoder(new TimedJsonDecoder(meterRegistry, objectMapper));
+                })
                 .build();
         
-        WebClient.Builder builder = WebClient.builder()
+        return WebClient.builder()
                 .baseUrl(githubApiBaseUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(strategies)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.USER_AGENT, "GitHub-Code-Scanner/1.0");
-        
-        if (githubToken != null && !githubToken.isEmpty()) {
-            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + githubToken);
+                .defaultHeader(HttpHeaders.USER_AGENT, "GitHub-Code-Scanner/1.0")
+                // The cache sits inside credential selection so validators are kept per token, and outside the
+                // bulkhead and breaker so it can answer while they turn requests away.
+                .filter(rateLimitFilter)
+                .filter(conditionalRequestCache)
+                .filter(bulkheadFilter)
+                .filter(circuitBreakerFilter)
+                .filter(upstreamMetricsFilter)
+                .build();
+    }
+    
+    /**
+     * The mapper GitHub responses are decoded with. GitHub sends lowercase states ("open", "dismissed");
+     * with a {@code flyweightPool}, decoded rules, tools and users are shared across alerts instead of
+     * copied into each one.
+     */
+    public static ObjectMapper gitHubObjectMapper(FlyweightPool flyweightPool) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .build();
+        if (flyweightPool != null) {
+            objectMapper.registerModule(new FlyweightModule(flyweightPool));
         }
-        
-        return builder.build();
+        return objectMapper;
     }
 }
\ No newline at end of file
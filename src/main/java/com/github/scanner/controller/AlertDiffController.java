@@ -0,0 +1,35 @@
+package com.github.scanner.controller;
+
+import com.github.scanner.dto.AlertDiffEntry;
+import com.github.scanner.dto.AlertDiffRequest;
+import com.github.scanner.service.AlertDiffService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+@Slf4j
+@RestController
+@RequestMapping("/repos/{owner}/{repo}/code-scanning")
+@RequiredArgsConstructor
+@Validated
+public class AlertDiffController {
+    
+    private final AlertDiffService alertDiffService;
+    
+    @GetMapping(value = "/alerts/diff", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<AlertDiffEntry> diffAlerts(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @ModelAttribute @Valid AlertDiffRequest diffRequest) {
+        
+        log.info("Diffing alerts for repository: {}/{}", owner, repo);
+        
+        return alertDiffService.diff(owner, repo, diffRequest);
+    }
+}
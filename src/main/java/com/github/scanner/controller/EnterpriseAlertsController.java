@@ -1,13 +1,18 @@
 package com.github.scanner.controller;
 
 import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.AlertSummary;
 import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.projection.FieldProjection;
+import com.github.scanner.service.AlertSummaryService;
 import com.github.scanner.service.CodeScanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
@@ -23,6 +28,8 @@ public class EnterpriseAlertsController {
     
     private final CodeScanningService codeScanningService;
     
+    private final AlertSummaryService alertSummaryService;
+    
     @GetMapping("/alerts")
     public Mono<ResponseEntity<List<CodeScanningAlert>>> getEnterpriseAlerts(
             @PathVariable @NotBlank String enterprise,
@@ -35,4 +42,26 @@ public class EnterpriseAlertsController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.noContent().build());
     }
+    
+    @GetMapping("/alerts/summary")
+    public Mono<ResponseEntity<AlertSummary>> getEnterpriseAlertSummary(
+            @PathVariable @NotBlank String enterprise,
+            @ModelAttribute @Valid AlertFilterRequest filterRequest) {
+        
+        log.info("Fetching alert summary for enterprise: {}", enterprise);
+        
+        return alertSummaryService.getEnterpriseSummary(enterprise, filterRequest)
+                .map(ResponseEntity::ok);
+    }
+    
+    @GetMapping(value = "/alerts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CodeScanningAlert> streamEnterpriseAlerts(
+            @PathVariable @NotBlank String enterprise,
+            @ModelAttribute @Valid AlertFilterRequest filterRequest) {
+        
+        log.info("Streaming alerts for enterprise: {}", enterprise);
+        
+        return codeScanningService.getAlertsForEnterprise(enterprise, filterRequest)
+                .map(FieldProjection.parse(filterRequest.getFields())::apply);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package com.github.scanner.controller;
 
 import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.AlertSummary;
 import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.projection.FieldProjection;
+import com.github.scanner.service.AlertMirrorService;
+import com.github.scanner.service.AlertSummaryService;
 import com.github.scanner.service.CodeScanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
@@ -23,6 +29,10 @@ public class OrganizationAlertsController {
     
     private final CodeScanningService codeScanningService;
     
+    private final AlertMirrorService alertMirrorService;
+    
+    private final AlertSummaryService alertSummaryService;
+    
     @GetMapping("/alerts")
     public Mono<ResponseEntity<List<CodeScanningAlert>>> getOrganizationAlerts(
             @PathVariable @NotBlank String org,
@@ -30,9 +40,37 @@ public class OrganizationAlertsController {
         
         log.info("Fetching alerts for organization: {}", org);
         
-        return codeScanningService.getAlertsForOrganization(org, filterRequest)
+        return alerts(org, filterRequest)
                 .collectList()
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.noContent().build());
     }
+    
+    @GetMapping("/alerts/summary")
+    public Mono<ResponseEntity<AlertSummary>> getOrganizationAlertSummary(
+            @PathVariable @NotBlank String org,
+            @ModelAttribute @Valid AlertFilterRequest filterRequest) {
+        
+        log.info("Fetching alert summary for organization: {}", org);
+        
+        return alertSummaryService.getOrganizationSummary(org, filterRequest)
+                .map(ResponseEntity::ok);
+    }
+    
+    @GetMapping(value = "/alerts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CodeScanningAlert> streamOrganizationAlerts(
+            @PathVariable @NotBlank String org,
+            @ModelAttribute @Valid AlertFilterRequest filterRequest) {
+        
+        log.info("Streaming alerts for organization: {}", org);
+        
+        return alerts(org, filterRequest)
+                .map(FieldProjection.parse(filterRequest.getFields())::apply);
+    }
+    
+    private Flux<CodeScanningAlert> alerts(String org, AlertFilterRequest filterRequest) {
+        return filterRequest.isMirrorSource()
+                ? alertMirrorService.getAlertsForOrganization(org, filterRequest)
+                : codeScanningService.getAlertsForOrganization(org, filterRequest);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.github.scanner.controller;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.sarif.SarifSummary;
+import com.github.scanner.service.SarifStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotBlank;
+import java.util.List;
+
+/**
+ * Raw SARIF endpoints for the Netty server, which hands request bodies over as they arrive.
+ * {@link SarifStreamController} serves the same endpoints on the servlet server.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/repos/{owner}/{repo}/code-scanning")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSarifStreamController {
+    
+    private final SarifStreamService sarifStreamService;
+    
+    @PostMapping(value = "/sarifs", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<String>> uploadSarifStream(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestParam @NotBlank String commitSha,
+            @RequestParam @NotBlank String ref,
+            @RequestParam(required = false) String checkoutUri,
+            @RequestParam(required = false) String startedAt,
+            @RequestParam(required = false) String toolName,
+            @RequestBody Flux<DataBuffer> sarif) {
+        
+        log.info("Streaming SARIF upload for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.upload(owner, repo,
+                        SarifStreamController.metadata(commitSha, ref, checkoutUri, startedAt, toolName), sarif)
+                .map(sarifId -> ResponseEntity.status(HttpStatus.ACCEPTED).body(sarifId));
+    }
+    
+    @PostMapping(value = "/sarifs/split", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<List<SarifPartUpload>>> uploadSarifSplit(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestParam @NotBlank String commitSha,
+            @RequestParam @NotBlank String ref,
+            @RequestParam(required = false) String checkoutUri,
+            @RequestParam(required = false) String startedAt,
+            @RequestParam(required = false) String toolName,
+            @RequestBody Flux<DataBuffer> sarif) {
+        
+        log.info("Split SARIF upload for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.uploadSplit(owner, repo,
+                        SarifStreamController.metadata(commitSha, ref, checkoutUri, startedAt, toolName), sarif)
+                .collectList()
+                .map(parts -> ResponseEntity.status(HttpStatus.ACCEPTED).body(parts));
+    }
+    
+    @PostMapping(value = "/sarifs/dry-run", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<SarifSummary>> dryRunSarif(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestBody Flux<DataBuffer> sarif) {
+        
+        log.info("Validating SARIF for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.summarize(owner, repo, sarif)
+                .map(ResponseEntity::ok);
+    }
+}
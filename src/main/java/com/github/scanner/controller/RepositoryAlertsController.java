@@ -1,13 +1,19 @@
 package com.github.scanner.controller;
 
 import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.BulkUpdateAlertsRequest;
+import com.github.scanner.dto.BulkUpdateResult;
 import com.github.scanner.dto.UpdateAlertRequest;
 import com.github.scanner.model.CodeScanningAlert;
 import com.github.scanner.model.Instance;
+import com.github.scanner.projection.FieldProjection;
+import com.github.scanner.service.AlertBulkUpdateService;
+import com.github.scanner.service.AlertMirrorService;
 import com.github.scanner.service.CodeScanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +34,10 @@ public class RepositoryAlertsController {
     
     private final CodeScanningService codeScanningService;
     
+    private final AlertMirrorService alertMirrorService;
+    
+    private final AlertBulkUpdateService alertBulkUpdateService;
+    
     @GetMapping("/alerts")
     public Mono<ResponseEntity<List<CodeScanningAlert>>> getAlerts(
             @PathVariable @NotBlank String owner,
@@ -36,12 +46,24 @@ public class RepositoryAlertsController {
         
         log.info("Fetching alerts for repository: {}/{}", owner, repo);
         
-        return codeScanningService.getAlertsForRepository(owner, repo, filterRequest)
+        return alerts(owner, repo, filterRequest)
                 .collectList()
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.noContent().build());
     }
     
+    @GetMapping(value = "/alerts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CodeScanningAlert> streamAlerts(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @ModelAttribute @Valid AlertFilterRequest filterRequest) {
+        
+        log.info("Streaming alerts for repository: {}/{}", owner, repo);
+        
+        return alerts(owner, repo, filterRequest)
+                .map(FieldProjection.parse(filterRequest.getFields())::apply);
+    }
+    
     @GetMapping("/alerts/{alertNumber}")
     public Mono<ResponseEntity<CodeScanningAlert>> getAlert(
             @PathVariable @NotBlank String owner,
@@ -69,6 +91,17 @@ public class RepositoryAlertsController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
     
+    @PatchMapping(value = "/alerts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BulkUpdateResult> updateAlerts(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestBody @Valid BulkUpdateAlertsRequest bulkRequest) {
+        
+        log.info("Bulk updating alerts for repository: {}/{}", owner, repo);
+        
+        return alertBulkUpdateService.updateAlerts(owner, repo, bulkRequest);
+    }
+    
     @GetMapping("/alerts/{alertNumber}/instances")
     public Mono<ResponseEntity<List<Instance>>> getAlertInstances(
             @PathVariable @NotBlank String owner,
@@ -82,4 +115,21 @@ public class RepositoryAlertsController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.noContent().build());
     }
+    
+    @GetMapping(value = "/alerts/{alertNumber}/instances", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Instance> streamAlertInstances(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @PathVariable @NotNull Long alertNumber) {
+        
+        log.info("Streaming instances for alert {} in repository: {}/{}", alertNumber, owner, repo);
+        
+        return codeScanningService.getAlertInstances(owner, repo, alertNumber);
+    }
+    
+    private Flux<CodeScanningAlert> alerts(String owner, String repo, AlertFilterRequest filterRequest) {
+        return filterRequest.isMirrorSource()
+                ? alertMirrorService.getAlertsForRepository(owner, repo, filterRequest)
+                : codeScanningService.getAlertsForRepository(owner, repo, filterRequest);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.github.scanner.controller;
+
+import com.github.scanner.dto.RepositoryAlertResult;
+import com.github.scanner.dto.RepositorySetAlertsRequest;
+import com.github.scanner.service.RepositorySetAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import javax.validation.Valid;
+
+@Slf4j
+@RestController
+@RequestMapping("/code-scanning")
+@RequiredArgsConstructor
+@Validated
+public class RepositorySetAlertsController {
+    
+    private final RepositorySetAlertService repositorySetAlertService;
+    
+    @PostMapping(value = "/alerts", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<RepositoryAlertResult> getAlertsForRepositories(
+            @RequestBody @Valid RepositorySetAlertsRequest setRequest) {
+        
+        log.info("Fetching alerts for {} repositories", setRequest.getRepositories().size());
+        
+        return repositorySetAlertService.getAlertsForRepositories(setRequest);
+    }
+}
@@ -1,17 +1,24 @@
 package com.github.scanner.controller;
 
+import com.github.scanner.dto.SarifProcessingStatus;
 import com.github.scanner.dto.UploadSarifRequest;
 import com.github.scanner.service.CodeScanningService;
+import com.github.scanner.service.SarifUploadTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import java.time.Duration;
 
 @Slf4j
 @RestController
@@ -20,8 +27,12 @@ import javax.validation.constraints.NotBlank;
 @Validated
 public class SarifController {
     
+    static final String SARIF_MEDIA_TYPE = "application/sarif+json";
+    
     private final CodeScanningService codeScanningService;
     
+    private final SarifUploadTracker sarifUploadTracker;
+    
     @PostMapping("/sarifs")
     public Mono<ResponseEntity<String>> uploadSarifResults(
             @PathVariable @NotBlank String owner,
@@ -46,4 +57,31 @@ public class SarifController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
+    
+    @GetMapping("/sarifs/{sarifId}/status")
+    public Mono<ResponseEntity<SarifProcessingStatus>> getSarifStatus(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @PathVariable @NotBlank String sarifId,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(120) int waitSeconds) {
+        
+        log.info("Fetching processing status of SARIF {} for repository: {}/{}", sarifId, owner, repo);
+        
+        if (waitSeconds == 0) {
+            return Mono.just(ResponseEntity.ok(sarifUploadTracker.track(owner, repo, sarifId)));
+        }
+        return sarifUploadTracker.awaitCompletion(owner, repo, sarifId, Duration.ofSeconds(waitSeconds))
+                .map(ResponseEntity::ok);
+    }
+    
+    @GetMapping(value = "/sarifs/{sarifId}/status", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<SarifProcessingStatus> watchSarifStatus(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @PathVariable @NotBlank String sarifId) {
+        
+        log.info("Watching processing status of SARIF {} for repository: {}/{}", sarifId, owner, repo);
+        
+        return sarifUploadTracker.watch(owner, repo, sarifId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.github.scanner.controller;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.sarif.SarifSummary;
+import com.github.scanner.sarif.SarifUploadBody;
+import com.github.scanner.service.SarifStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.constraints.NotBlank;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Raw SARIF endpoints for the servlet server, which reads request bodies through a blocking {@link InputStream}.
+ * {@link ReactiveSarifStreamController} serves the same endpoints on Netty.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/repos/{owner}/{repo}/code-scanning")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SarifStreamController {
+    
+    private final SarifStreamService sarifStreamService;
+    
+    @PostMapping(value = "/sarifs", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<String>> uploadSarifStream(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestParam @NotBlank String commitSha,
+            @RequestParam @NotBlank String ref,
+            @RequestParam(required = false) String checkoutUri,
+            @RequestParam(required = false) String startedAt,
+            @RequestParam(required = false) String toolName,
+            InputStream sarif) {
+        
+        log.info("Streaming SARIF upload for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.upload(owner, repo, metadata(commitSha, ref, checkoutUri, startedAt, toolName), read(sarif))
+                .map(sarifId -> ResponseEntity.status(HttpStatus.ACCEPTED).body(sarifId));
+    }
+    
+    @PostMapping(value = "/sarifs/split", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<List<SarifPartUpload>>> uploadSarifSplit(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            @RequestParam @NotBlank String commitSha,
+            @RequestParam @NotBlank String ref,
+            @RequestParam(required = false) String checkoutUri,
+            @RequestParam(required = false) String startedAt,
+            @RequestParam(required = false) String toolName,
+            InputStream sarif) {
+        
+        log.info("Split SARIF upload for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.uploadSplit(owner, repo, metadata(commitSha, ref, checkoutUri, startedAt, toolName), read(sarif))
+                .collectList()
+                .map(parts -> ResponseEntity.status(HttpStatus.ACCEPTED).body(parts));
+    }
+    
+    @PostMapping(value = "/sarifs/dry-run", consumes = {SarifController.SARIF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<SarifSummary>> dryRunSarif(
+            @PathVariable @NotBlank String owner,
+            @PathVariable @NotBlank String repo,
+            InputStream sarif) {
+        
+        log.info("Validating SARIF for repository: {}/{}", owner, repo);
+        
+        return sarifStreamService.summarize(owner, repo, read(sarif))
+                .map(ResponseEntity::ok);
+    }
+    
+    static UploadSarifRequest metadata(String commitSha, String ref, String checkoutUri, String startedAt, String toolName) {
+        return UploadSarifRequest.builder()
+                .commitSha(commitSha)
+                .ref(ref)
+                .checkoutUri(checkoutUri)
+                .startedAt(startedAt)
+                .toolName(toolName)
+                .build();
+    }
+    
+    private static Flux<DataBuffer> read(InputStream sarif) {
+        return DataBufferUtils.readInputStream(() -> sarif, DefaultDataBufferFactory.sharedInstance, SarifUploadBody.DEFAULT_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
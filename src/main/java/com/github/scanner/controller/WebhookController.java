@@ -0,0 +1,30 @@
+package com.github.scanner.controller;
+
+import com.github.scanner.service.WebhookIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequestMapping("/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+    
+    private final WebhookIngestionService webhookIngestionService;
+    
+    @PostMapping("/github")
+    public Mono<ResponseEntity<Void>> receiveGitHubWebhook(
+            @RequestHeader("X-GitHub-Event") String event,
+            @RequestHeader(value = "X-GitHub-Delivery", required = false) String deliveryId,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] payload) {
+        
+        log.debug("Received {} webhook delivery {}", event, deliveryId);
+        
+        boolean queued = webhookIngestionService.ingest(event, signature, payload);
+        return Mono.just(queued ? ResponseEntity.accepted().build() : ResponseEntity.ok().build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.scanner.dto;
+
+import com.github.scanner.model.CodeScanningAlert;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertDiffEntry {
+    
+    private Change change;
+    
+    /** The head alert for {@code NEW} and {@code PERSISTING}, the base alert for {@code FIXED}. */
+    private CodeScanningAlert alert;
+    
+    public enum Change {
+        NEW, FIXED, PERSISTING
+    }
+}
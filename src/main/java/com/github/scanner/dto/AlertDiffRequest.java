@@ -0,0 +1,46 @@
+package com.github.scanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.github.scanner.model.CodeScanningAlert.AlertState;
+import javax.validation.constraints.AssertTrue;
+
+/**
+ * The two sides of an alert diff, each given either as a ref or as an analysis id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertDiffRequest {
+    
+    /** Base ref, e.g. {@code refs/heads/main}. */
+    private String base;
+    
+    /** Head ref, e.g. {@code refs/pull/42/merge}. */
+    private String head;
+    
+    /** Base analysis, instead of {@link #base}: compares alerts on its ref reported by its tool. */
+    private Long baseAnalysisId;
+    
+    /** Head analysis, instead of {@link #head}. */
+    private Long headAnalysisId;
+    
+    private String toolName;
+    
+    /** Alert state compared on both sides; open alerts unless set. */
+    @Builder.Default
+    private AlertState state = AlertState.OPEN;
+    
+    @AssertTrue(message = "exactly one of base or baseAnalysisId is required")
+    public boolean isBaseSpecified() {
+        return (base != null && !base.isBlank()) != (baseAnalysisId != null);
+    }
+    
+    @AssertTrue(message = "exactly one of head or headAnalysisId is required")
+    public boolean isHeadSpecified() {
+        return (head != null && !head.isBlank()) != (headAnalysisId != null);
+    }
+}
@@ -9,7 +9,7 @@ import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AlertFilterRequest {
@@ -34,4 +34,33 @@ public class AlertFilterRequest {
     private String sort = "created";
     
     private String direction = "desc";
+    
+    /**
+     * Follow GitHub's {@code Link: rel="next"} headers and return every page starting at {@link #page}.
+     */
+    private Boolean allPages;
+    
+    /**
+     * Where to answer from: {@code github} (default, live) or {@code mirror} (local alert mirror).
+     */
+    private String source;
+    
+    /** Mirror-only filter on {@code rule.id}. */
+    private String ruleId;
+    
+    /** Mirror-only filter on the repository full name ({@code owner/repo}). */
+    private String repository;
+    
+    /** Mirror-only filter on the most recent instance's {@code location.path}. */
+    private String path;
+    
+    /**
+     * Comma-separated JSON properties to return, e.g. {@code number,state,rule.severity}; see
+     * {@link com.github.scanner.projection.FieldProjection}.
+     */
+    private String fields;
+    
+    public boolean isMirrorSource() {
+        return "mirror".equalsIgnoreCase(source);
+    }
 }
\ No newline at end of file
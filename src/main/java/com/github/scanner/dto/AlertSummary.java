@@ -0,0 +1,32 @@
+package com.github.scanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertSummary {
+    
+    private String scope;
+    
+    private Long total;
+    
+    private Map<String, Long> byState;
+    
+    private Map<String, Long> bySeverity;
+    
+    private Map<String, Long> byRule;
+    
+    private Map<String, Long> byTool;
+    
+    private Map<String, Long> byRepository;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.github.scanner.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateAlertsRequest {
+    
+    private List<Long> alertNumbers;
+    
+    @Valid
+    private AlertFilterRequest filter;
+    
+    @NotNull
+    @Valid
+    private UpdateAlertRequest update;
+    
+    @Min(1)
+    @Max(20)
+    private Integer concurrency;
+    
+    @JsonIgnore
+    @AssertTrue(message = "either alertNumbers or filter must be provided")
+    public boolean isTargetSpecified() {
+        return (alertNumbers != null && !alertNumbers.isEmpty()) || filter != null;
+    }
+}
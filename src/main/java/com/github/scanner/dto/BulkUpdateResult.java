@@ -0,0 +1,38 @@
+package com.github.scanner.dto;
+
+import com.github.scanner.model.CodeScanningAlert;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+    
+    private Long alertNumber;
+    
+    private Boolean success;
+    
+    private CodeScanningAlert alert;
+    
+    private String error;
+    
+    public static BulkUpdateResult success(Long alertNumber, CodeScanningAlert alert) {
+        return BulkUpdateResult.builder()
+                .alertNumber(alertNumber)
+                .success(true)
+                .alert(alert)
+                .build();
+    }
+    
+    public static BulkUpdateResult failure(Long alertNumber, String error) {
+        return BulkUpdateResult.builder()
+                .alertNumber(alertNumber)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.scanner.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Repository;
+import com.github.scanner.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of a GitHub {@code code_scanning_alert} webhook delivery.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeScanningAlertWebhook {
+    
+    /** {@code created}, {@code reopened}, {@code closed_by_user}, {@code fixed}, {@code appeared_in_branch}, ... */
+    private String action;
+    
+    private CodeScanningAlert alert;
+    
+    private String ref;
+    
+    @JsonProperty("commit_oid")
+    private String commitOid;
+    
+    private Repository repository;
+    
+    private User sender;
+}
@@ -0,0 +1,38 @@
+package com.github.scanner.dto;
+
+import com.github.scanner.model.CodeScanningAlert;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryAlertResult {
+    
+    private String repository;
+    
+    private Boolean success;
+    
+    private CodeScanningAlert alert;
+    
+    private String error;
+    
+    public static RepositoryAlertResult alert(String repository, CodeScanningAlert alert) {
+        return RepositoryAlertResult.builder()
+                .repository(repository)
+                .success(true)
+                .alert(alert)
+                .build();
+    }
+    
+    public static RepositoryAlertResult failure(String repository, String error) {
+        return RepositoryAlertResult.builder()
+                .repository(repository)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.scanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositorySetAlertsRequest {
+    
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Pattern(regexp = "[\\w.-]+/[\\w.-]+", message = "must be in owner/repo form") String> repositories;
+    
+    @Valid
+    private AlertFilterRequest filter;
+    
+    @Min(1)
+    @Max(50)
+    private Integer concurrency;
+}
@@ -0,0 +1,35 @@
+package com.github.scanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One upload of a split SARIF file. Its processing can be followed with
+ * {@code GET /repos/{owner}/{repo}/code-scanning/sarifs/{sarifId}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SarifPartUpload {
+    
+    /** Index of the run in the original file. */
+    private Integer run;
+    
+    /** 1-based part of that run. */
+    private Integer part;
+    
+    private String category;
+    
+    private Long results;
+    
+    private Boolean success;
+    
+    private String sarifId;
+    
+    private String url;
+    
+    private String error;
+}
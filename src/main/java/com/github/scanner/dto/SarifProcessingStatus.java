@@ -0,0 +1,44 @@
+package com.github.scanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Processing state of an uploaded SARIF file, as last reported by GitHub.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SarifProcessingStatus {
+    
+    private String repository;
+    
+    private String sarifId;
+    
+    /** GitHub's {@code processing_status}: {@code pending}, {@code complete} or {@code failed}. */
+    private String processingStatus;
+    
+    private String analysesUrl;
+    
+    private List<String> errors;
+    
+    /** Times GitHub has been asked for this upload. */
+    private Integer checks;
+    
+    /** Error of the last check, if it failed; the upload stays pending and is checked again later. */
+    private String lastError;
+    
+    private LocalDateTime submittedAt;
+    
+    private LocalDateTime updatedAt;
+    
+    public boolean isDone() {
+        return "complete".equals(processingStatus) || "failed".equals(processingStatus);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.scanner.event;
+
+import com.github.scanner.model.CodeScanningAlert;
+import lombok.Getter;
+
+/**
+ * Published whenever an alert is read from or written to GitHub, so local views of alert data can be
+ * kept current without fetching it again.
+ */
+@Getter
+public class AlertObservedEvent {
+    
+    /** Owning organization (or user) login, if known. */
+    private final String organization;
+    
+    /** Enterprise slug, when the alert was read through the enterprise endpoint. */
+    private final String enterprise;
+    
+    /** Repository full name ({@code owner/repo}), if known. */
+    private final String repository;
+    
+    private final CodeScanningAlert alert;
+    
+    public AlertObservedEvent(String organization, String enterprise, String repository, CodeScanningAlert alert) {
+        if (repository == null && alert.getRepository() != null) {
+            repository = alert.getRepository().getFullName();
+        }
+        if (organization == null && repository != null && repository.indexOf('/') > 0) {
+            organization = repository.substring(0, repository.indexOf('/'));
+        }
+        this.organization = organization;
+        this.enterprise = enterprise;
+        this.repository = repository;
+        this.alert = alert;
+    }
+    
+    /**
+     * Identifies the alert across scopes: {@code owner/repo#number}, or its API URL when the repository is unknown.
+     */
+    public String getAlertKey() {
+        return repository != null ? repository + "#" + alert.getNumber() : alert.getUrl();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.scanner.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Published when GitHub has accepted a SARIF upload, so its processing can be followed.
+ */
+@Getter
+public class SarifUploadedEvent {
+    
+    private static final ObjectMapper RESPONSE_MAPPER = new ObjectMapper();
+    
+    private final String owner;
+    
+    private final String repo;
+    
+    private final String sarifId;
+    
+    public SarifUploadedEvent(String owner, String repo, String sarifId) {
+        this.owner = owner;
+        this.repo = repo;
+        this.sarifId = sarifId;
+    }
+    
+    /**
+     * The {@code id} of GitHub's upload response ({@code {"id": ..., "url": ...}}), or {@code null} if it has none.
+     */
+    public static String sarifIdOf(String response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            JsonNode id = RESPONSE_MAPPER.readTree(response).path("id");
+            return id.isTextual() ? id.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.scanner.exception;
+
+public class AlertMirrorUnavailableException extends RuntimeException {
+    
+    public AlertMirrorUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.scanner.exception;
+
+public class InvalidSarifException extends RuntimeException {
+    
+    public InvalidSarifException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.scanner.exception;
+
+/**
+ * Thrown when a client asks about a SARIF upload while the tracker already follows as many as it may.
+ */
+public class SarifTrackerFullException extends RuntimeException {
+    
+    public SarifTrackerFullException(String message) {
+        super(message);
+    }
+}
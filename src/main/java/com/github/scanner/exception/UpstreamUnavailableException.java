@@ -0,0 +1,11 @@
+package com.github.scanner.exception;
+
+/**
+ * Thrown without calling GitHub when a circuit breaker is open or a bulkhead has no capacity left.
+ */
+public class UpstreamUnavailableException extends GitHubApiException {
+    
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
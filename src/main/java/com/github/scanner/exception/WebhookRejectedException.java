@@ -0,0 +1,18 @@
+package com.github.scanner.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * A webhook delivery that was not accepted, with the status GitHub should see for it.
+ */
+@Getter
+public class WebhookRejectedException extends RuntimeException {
+    
+    private final HttpStatus status;
+    
+    public WebhookRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.scanner.mirror;
+
+import com.github.scanner.model.CodeScanningAlert;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Running group-by counts of code scanning alerts for one organization or enterprise.
+ * <p>
+ * Each alert contributes one {@link Bucket} (its state, severity, rule, tool and repository). Re-observing
+ * an alert moves its contribution from the old bucket to the new one, so counts stay exact as alerts are
+ * fetched and updated, and summaries aggregate over the distinct buckets rather than over every alert.
+ */
+public class AlertCounts {
+    
+    public enum Dimension {
+        STATE, SEVERITY, RULE, TOOL, REPOSITORY
+    }
+    
+    public record Bucket(String state, String severity, String rule, String tool, String repository) {
+        
+        public String get(Dimension dimension) {
+            return switch (dimension) {
+                case STATE -> state;
+                case SEVERITY -> severity;
+                case RULE -> rule;
+                case TOOL -> tool;
+                case REPOSITORY -> repository;
+            };
+        }
+    }
+    
+    private static final String UNKNOWN = "unknown";
+    
+    private final Map<String, Bucket> contributions = new HashMap<>();
+    
+    private final Map<Bucket, Long> buckets = new HashMap<>();
+    
+    public synchronized void record(String alertKey, String repository, CodeScanningAlert alert) {
+        Bucket bucket = bucketOf(repository, alert);
+        Bucket previous = contributions.put(alertKey, bucket);
+        if (bucket.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            buckets.computeIfPresent(previous, (b, count) -> count > 1 ? count - 1 : null);
+        }
+        buckets.merge(bucket, 1L, Long::sum);
+    }
+    
+    public synchronized boolean contains(String alertKey) {
+        return contributions.containsKey(alertKey);
+    }
+    
+    /**
+     * Counts alerts in buckets accepted by {@code filter}, grouped separately by every dimension.
+     */
+    public synchronized Map<Dimension, Map<String, Long>> groupBy(Predicate<Bucket> filter) {
+        Map<Dimension, Map<String, Long>> groups = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            groups.put(dimension, new TreeMap<>());
+        }
+        buckets.forEach((bucket, count) -> {
+            if (filter.test(bucket)) {
+                groups.forEach((dimension, counts) -> counts.merge(bucket.get(dimension), count, Long::sum));
+            }
+        });
+        return groups;
+    }
+    
+    static Bucket bucketOf(String repository, CodeScanningAlert alert) {
+        String severity = null;
+        String rule = null;
+        if (alert.getRule() != null) {
+            severity = alert.getRule().getSecuritySeverityLevel() != null
+                    ? alert.getRule().getSecuritySeverityLevel()
+                    : alert.getRule().getSeverity();
+            rule = alert.getRule().getId();
+        }
+        return new Bucket(
+                alert.getState() != null ? alert.getState().name().toLowerCase(Locale.ROOT) : UNKNOWN,
+                severity != null ? severity : UNKNOWN,
+                rule != null ? rule : UNKNOWN,
+                alert.getTool() != null && alert.getTool().getName() != null ? alert.getTool().getName() : UNKNOWN,
+                repository != null ? repository : UNKNOWN);
+    }
+}
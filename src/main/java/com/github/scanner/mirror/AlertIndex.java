@@ -0,0 +1,166 @@
+package com.github.scanner.mirror;
+
+import com.github.scanner.model.CodeScanningAlert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory store of code scanning alerts with secondary indexes on the fields alert queries filter by.
+ * <p>
+ * Every alert is held once, keyed by repository and alert number; each {@link Dimension} maps a
+ * normalized value to the keys carrying it. Queries intersect the index postings starting from the
+ * smallest one, so lookups cost in proportion to the matches rather than the size of the mirror.
+ */
+public class AlertIndex {
+    
+    public enum Dimension {
+        STATE, RULE, SEVERITY, REPOSITORY, TOOL, TOOL_GUID, PATH, REF
+    }
+    
+    private final Map<String, CodeScanningAlert> alerts = new HashMap<>();
+    
+    private final Map<Dimension, Map<String, Set<String>>> postings = new EnumMap<>(Dimension.class);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    public AlertIndex() {
+        for (Dimension dimension : Dimension.values()) {
+            postings.put(dimension, new HashMap<>());
+        }
+    }
+    
+    public static String keyOf(CodeScanningAlert alert) {
+        String repository = alert.getRepository() != null ? alert.getRepository().getFullName() : null;
+        return repository != null ? repository + "#" + alert.getNumber() : alert.getUrl();
+    }
+    
+    /**
+     * Adds or replaces an alert. A copy older than the one held (by {@code updated_at}) is ignored, so
+     * out-of-order deliveries cannot roll an alert back.
+     */
+    public void upsert(CodeScanningAlert alert) {
+        String key = keyOf(alert);
+        if (key == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            CodeScanningAlert previous = alerts.get(key);
+            if (previous != null && previous.getUpdatedAt() != null && alert.getUpdatedAt() != null
+                    && previous.getUpdatedAt().isAfter(alert.getUpdatedAt())) {
+                return;
+            }
+            alerts.put(key, alert);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            for (Dimension dimension : Dimension.values()) {
+                String value = valueOf(alert, dimension);
+                if (value != null) {
+                    postings.get(dimension).computeIfAbsent(value, v -> new HashSet<>()).add(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void upsertAll(Collection<CodeScanningAlert> batch) {
+        batch.forEach(this::upsert);
+    }
+    
+    /**
+     * Returns the alerts matching every given criterion; values are compared case-insensitively.
+     */
+    public List<CodeScanningAlert> query(Map<Dimension, String> criteria) {
+        lock.readLock().lock();
+        try {
+            if (criteria.isEmpty()) {
+                return new ArrayList<>(alerts.values());
+            }
+            
+            List<Set<String>> matches = new ArrayList<>();
+            for (Map.Entry<Dimension, String> criterion : criteria.entrySet()) {
+                Set<String> keys = postings.get(criterion.getKey()).get(normalize(criterion.getValue()));
+                if (keys == null) {
+                    return List.of();
+                }
+                matches.add(keys);
+            }
+            matches.sort(Comparator.comparingInt(Set::size));
+            
+            List<CodeScanningAlert> result = new ArrayList<>();
+            for (String key : matches.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < matches.size() && inAll; i++) {
+                    inAll = matches.get(i).contains(key);
+                }
+                if (inAll) {
+                    result.add(alerts.get(key));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return alerts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void unindex(String key, CodeScanningAlert alert) {
+        for (Dimension dimension : Dimension.values()) {
+            String value = valueOf(alert, dimension);
+            if (value == null) {
+                continue;
+            }
+            Map<String, Set<String>> byValue = postings.get(dimension);
+            Set<String> keys = byValue.get(value);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    byValue.remove(value);
+                }
+            }
+        }
+    }
+    
+    static String valueOf(CodeScanningAlert alert, Dimension dimension) {
+        return normalize(switch (dimension) {
+            case STATE -> alert.getState() != null ? alert.getState().name() : null;
+            case RULE -> alert.getRule() != null ? alert.getRule().getId() : null;
+            case SEVERITY -> alert.getRule() == null ? null
+                    : alert.getRule().getSecuritySeverityLevel() != null
+                    ? alert.getRule().getSecuritySeverityLevel()
+                    : alert.getRule().getSeverity();
+            case REPOSITORY -> alert.getRepository() != null ? alert.getRepository().getFullName() : null;
+            case TOOL -> alert.getTool() != null ? alert.getTool().getName() : null;
+            case TOOL_GUID -> alert.getTool() != null ? alert.getTool().getGuid() : null;
+            case PATH -> alert.getMostRecentInstance() != null && alert.getMostRecentInstance().getLocation() != null
+                    ? alert.getMostRecentInstance().getLocation().getPath()
+                    : null;
+            case REF -> alert.getMostRecentInstance() != null ? alert.getMostRecentInstance().getRef() : null;
+        });
+    }
+    
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -53,6 +53,8 @@ public class CodeScanningAlert {
     @JsonProperty("instances_url")
     private String instancesUrl;
     
+    private Repository repository;
+    
     public enum AlertState {
         OPEN, CLOSED, DISMISSED, FIXED
     }
@@ -5,6 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.io.IOException;
 import java.util.List;
 
 @Data
@@ -27,9 +33,25 @@ public class Instance {
     @JsonProperty("commit_sha")
     private String commitSha;
     
+    @JsonDeserialize(using = MessageDeserializer.class)
     private String message;
     
     private Location location;
     
     private List<Classification> classifications;
-}
\ No newline at end of file
+    
+    /**
+     * GitHub sends the message as {@code {"text": "..."}}; a plain string is accepted as well.
+     */
+    public static class MessageDeserializer extends JsonDeserializer<String> {
+        
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode message = parser.readValueAsTree();
+            if (message == null || message.isNull()) {
+                return null;
+            }
+            return message.isValueNode() ? message.asText() : message.path("text").asText(null);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.scanner.projection;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sparse fieldset parsed from a {@code fields} request parameter, e.g.
+ * {@code number,state,rule.security_severity_level,most_recent_instance.location.path}.
+ * <p>
+ * Names are JSON property names, and dotted names select properties of nested objects; naming an object
+ * without a sub-property keeps all of it. Collections are projected element by element. {@link #apply}
+ * returns a copy with every other property left null, which the {@code non_null} inclusion drops from
+ * the response, so unrequested nested objects are not serialized at all.
+ */
+public final class FieldProjection {
+    
+    private static final FieldProjection ALL = new FieldProjection(Map.of());
+    
+    /** Resolves JSON property names and accessors only; never used to read or write JSON. */
+    private static final ObjectMapper INTROSPECTION_MAPPER = new ObjectMapper();
+    
+    private static final Map<Class<?>, BeanLayout> LAYOUTS = new ConcurrentHashMap<>();
+    
+    private final Map<String, FieldProjection> fields;
+    
+    private FieldProjection(Map<String, FieldProjection> fields) {
+        this.fields = fields;
+    }
+    
+    /**
+     * Parses a comma-separated field list; {@code null} or blank selects every field.
+     */
+    public static FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Map<String, FieldProjection> root = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                add(root, field.trim().split("\\."), 0);
+            }
+        }
+        return root.isEmpty() ? ALL : new FieldProjection(root);
+    }
+    
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T apply(T value) {
+        return isAll() ? value : (T) project(value);
+    }
+    
+    private Object project(Object value) {
+        if (value == null || isAll()) {
+            return value;
+        }
+        if (value instanceof Collection<?> items) {
+            List<Object> projected = new ArrayList<>(items.size());
+            items.forEach(item -> projected.add(project(item)));
+            return projected;
+        }
+        if (value instanceof Map<?, ?> entries) {
+            Map<Object, Object> projected = new LinkedHashMap<>();
+            entries.forEach((key, item) -> {
+                FieldProjection child = fields.get(String.valueOf(key));
+                if (child != null) {
+                    projected.put(key, child.project(item));
+                }
+            });
+            return projected;
+        }
+        if (BeanUtils.isSimpleValueType(value.getClass())) {
+            return value;
+        }
+        return LAYOUTS.computeIfAbsent(value.getClass(), BeanLayout::of).copy(value, this);
+    }
+    
+    private static void add(Map<String, FieldProjection> level, String[] path, int index) {
+        String name = path[index].trim();
+        if (name.isEmpty()) {
+            return;
+        }
+        FieldProjection existing = level.get(name);
+        if (index == path.length - 1) {
+            // naming the object itself keeps all of it, whatever sub-properties were listed
+            level.put(name, ALL);
+            return;
+        }
+        if (existing == ALL) {
+            return;
+        }
+        FieldProjection child = existing != null ? existing : new FieldProjection(new LinkedHashMap<>());
+        level.put(name, child);
+        add(child.fields, path, index + 1);
+    }
+    
+    private record Property(String name, AnnotatedMember accessor, AnnotatedMember mutator) {
+    }
+    
+    private record BeanLayout(BeanDescription description, List<Property> properties) {
+        
+        static BeanLayout of(Class<?> type) {
+            BeanDescription description = INTROSPECTION_MAPPER.getSerializationConfig()
+                    .introspect(INTROSPECTION_MAPPER.constructType(type));
+            List<Property> properties = new ArrayList<>();
+            for (BeanPropertyDefinition definition : description.findProperties()) {
+                AnnotatedMember mutator = definition.hasSetter() ? definition.getSetter() : definition.getField();
+                if (definition.getAccessor() != null && mutator != null) {
+                    mutator.fixAccess(true);
+                    properties.add(new Property(definition.getName(), definition.getAccessor(), mutator));
+                }
+            }
+            return new BeanLayout(description, properties);
+        }
+        
+        Object copy(Object source, FieldProjection projection) {
+            Object target = description.instantiateBean(true);
+            if (target == null) {
+                return source;
+            }
+            for (Property property : properties) {
+                FieldProjection child = projection.fields.get(property.name());
+                if (child != null) {
+                    property.mutator().setValue(target, child.project(property.accessor().getValue(source)));
+                }
+            }
+            return target;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.scanner.projection;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} request parameter to JSON response bodies of the API controllers.
+ * <p>
+ * Streaming ({@code application/x-ndjson}, {@code text/event-stream}) responses bypass body advice,
+ * so those endpoints project each element themselves.
+ */
+@RestControllerAdvice(basePackages = "com.github.scanner.controller")
+public class FieldProjectionAdvice implements ResponseBodyAdvice<Object> {
+    
+    public static final String FIELDS_PARAMETER = "fields";
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        return FieldProjection.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER)).apply(body);
+    }
+}
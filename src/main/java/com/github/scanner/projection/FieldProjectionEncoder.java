@@ -0,0 +1,60 @@
+package com.github.scanner.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The reactive server's counterpart of {@link FieldProjectionAdvice}: applies the {@code fields} request
+ * parameter to single JSON response bodies. Error responses are left whole, as the servlet advice only
+ * covers controller methods and not exception handlers.
+ * <p>
+ * WebFlux has no body advice, so the parameter travels to {@link #encodeValue} as an encoding hint.
+ * Streamed elements are projected by the controllers themselves, as on the servlet server.
+ */
+public class FieldProjectionEncoder extends Jackson2JsonEncoder {
+    
+    private static final String PROJECTION_HINT = FieldProjectionEncoder.class.getName() + ".projection";
+    
+    public FieldProjectionEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+    
+    @Override
+    public Map<String, Object> getEncodeHints(ResolvableType actualType, ResolvableType elementType, MediaType mediaType,
+                                              ServerHttpRequest request, ServerHttpResponse response) {
+        Map<String, Object> hints = super.getEncodeHints(actualType, elementType, mediaType, request, response);
+        FieldProjection projection = FieldProjection.parse(request.getQueryParams().getFirst(FieldProjectionAdvice.FIELDS_PARAMETER));
+        HttpStatusCode status = response.getStatusCode();
+        if (projection.isAll() || isStreaming(mediaType) || status != null && status.isError()) {
+            return hints;
+        }
+        Map<String, Object> projected = new HashMap<>(hints);
+        projected.put(PROJECTION_HINT, projection);
+        return projected;
+    }
+    
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        if (hints != null && hints.get(PROJECTION_HINT) instanceof FieldProjection projection) {
+            value = projection.apply(value);
+        }
+        return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+    }
+    
+    private boolean isStreaming(MediaType mediaType) {
+        return mediaType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mediaType)
+                || getStreamingMediaTypes().stream().anyMatch(streaming -> streaming.isCompatibleWith(mediaType)));
+    }
+}
@@ -0,0 +1,276 @@
+package com.github.scanner.sarif;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.scanner.exception.InvalidSarifException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Validates the structure of a SARIF 2.1.0 log and counts its results per run and rule.
+ * <p>
+ * The log is read token by token and everything but the tool, rule ids and result rule references is
+ * skipped, so memory use depends on the number of distinct rules, not on the size of the file. Anything
+ * GitHub would reject (malformed JSON, another SARIF version, a run without a tool name, a result
+ * without a message) raises an {@link InvalidSarifException} naming the offending run and result.
+ */
+public final class SarifReader {
+    
+    static final String VERSION = "2.1.0";
+    
+    /** GitHub's documented upload limits. */
+    static final int MAX_RUNS = 20;
+    static final int MAX_RESULTS_PER_RUN = 25_000;
+    static final int MAX_RULES_PER_RUN = 25_000;
+    
+    private static final String NO_RULE = "(none)";
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    private SarifReader() {
+    }
+    
+    public static SarifSummary summarize(InputStream sarif) {
+        try (JsonParser parser = JSON.createParser(sarif)) {
+            require(parser.nextToken() == JsonToken.START_OBJECT, "SARIF log must be a JSON object");
+            String version = null;
+            List<SarifSummary.Run> runs = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "version" -> {
+                        require(value == JsonToken.VALUE_STRING, "version must be a string");
+                        version = parser.getText();
+                    }
+                    case "runs" -> {
+                        require(value == JsonToken.START_ARRAY, "runs must be an array");
+                        runs = readRuns(parser);
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            require(parser.nextToken() == null, "Unexpected content after the SARIF log");
+            require(version != null, "Missing version");
+            require(VERSION.equals(version), "Unsupported SARIF version " + version + ", expected " + VERSION);
+            require(runs != null, "Missing runs");
+            
+            List<String> warnings = new ArrayList<>();
+            if (runs.size() > MAX_RUNS) {
+                warnings.add(runs.size() + " runs exceed GitHub's limit of " + MAX_RUNS + " per file");
+            }
+            for (int i = 0; i < runs.size(); i++) {
+                SarifSummary.Run run = runs.get(i);
+                if (run.getResults() > MAX_RESULTS_PER_RUN) {
+                    warnings.add("runs[" + i + "]: " + run.getResults() + " results exceed GitHub's limit of " + MAX_RESULTS_PER_RUN + " per run");
+                }
+                if (run.getRules() > MAX_RULES_PER_RUN) {
+                    warnings.add("runs[" + i + "]: " + run.getRules() + " rules exceed GitHub's limit of " + MAX_RULES_PER_RUN + " per run");
+                }
+            }
+            return SarifSummary.builder()
+                    .version(version)
+                    .totalResults(runs.stream().mapToLong(SarifSummary.Run::getResults).sum())
+                    .runs(runs)
+                    .warnings(warnings)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new InvalidSarifException("Malformed JSON at line " + e.getLocation().getLineNr()
+                    + ", column " + e.getLocation().getColumnNr() + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read SARIF", e);
+        }
+    }
+    
+    private static List<SarifSummary.Run> readRuns(JsonParser parser) throws IOException {
+        List<SarifSummary.Run> runs = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String where = "runs[" + runs.size() + "]";
+            require(token == JsonToken.START_OBJECT, where + " must be an object");
+            runs.add(readRun(parser, where));
+        }
+        return runs;
+    }
+    
+    private static SarifSummary.Run readRun(JsonParser parser, String where) throws IOException {
+        RunCounts counts = new RunCounts();
+        boolean hasTool = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "tool" -> {
+                    require(value == JsonToken.START_OBJECT, where + ".tool must be an object");
+                    readTool(parser, where + ".tool", counts);
+                    hasTool = true;
+                }
+                case "results" -> {
+                    // null means the tool did not run to completion; an empty array means no findings
+                    if (value != JsonToken.VALUE_NULL) {
+                        require(value == JsonToken.START_ARRAY, where + ".results must be an array");
+                        readResults(parser, where, counts);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        require(hasTool, where + " has no tool");
+        require(counts.tool != null, where + ".tool.driver.name is required");
+        return counts.toRun();
+    }
+    
+    private static void readTool(JsonParser parser, String where, RunCounts counts) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"driver".equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            require(value == JsonToken.START_OBJECT, where + ".driver must be an object");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String driverField = parser.currentName();
+                JsonToken driverValue = parser.nextToken();
+                switch (driverField) {
+                    case "name" -> counts.tool = text(parser, driverValue, where + ".driver.name");
+                    case "semanticVersion" -> counts.toolVersion = text(parser, driverValue, where + ".driver.semanticVersion");
+                    case "version" -> {
+                        String version = text(parser, driverValue, where + ".driver.version");
+                        if (counts.toolVersion == null) {
+                            counts.toolVersion = version;
+                        }
+                    }
+                    case "rules" -> {
+                        require(driverValue == JsonToken.START_ARRAY, where + ".driver.rules must be an array");
+                        readRules(parser, where + ".driver.rules", counts);
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+    }
+    
+    private static void readRules(JsonParser parser, String where, RunCounts counts) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String rule = where + "[" + counts.ruleIds.size() + "]";
+            require(token == JsonToken.START_OBJECT, rule + " must be an object");
+            String id = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field)) {
+                    id = text(parser, value, rule + ".id");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            require(id != null, rule + ".id is required");
+            counts.ruleIds.add(id);
+        }
+    }
+    
+    private static void readResults(JsonParser parser, String run, RunCounts counts) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String where = run + ".results[" + counts.results + "]";
+            require(token == JsonToken.START_OBJECT, where + " must be an object");
+            String ruleId = null;
+            int ruleIndex = -1;
+            boolean hasMessage = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "ruleId" -> ruleId = text(parser, value, where + ".ruleId");
+                    case "ruleIndex" -> ruleIndex = index(parser, value, where + ".ruleIndex");
+                    case "rule" -> {
+                        require(value == JsonToken.START_OBJECT, where + ".rule must be an object");
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String refField = parser.currentName();
+                            JsonToken refValue = parser.nextToken();
+                            if ("id".equals(refField) && ruleId == null) {
+                                ruleId = text(parser, refValue, where + ".rule.id");
+                            } else if ("index".equals(refField) && ruleIndex < 0) {
+                                ruleIndex = index(parser, refValue, where + ".rule.index");
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    case "message" -> {
+                        require(value == JsonToken.START_OBJECT, where + ".message must be an object");
+                        parser.skipChildren();
+                        hasMessage = true;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            require(hasMessage, where + ".message is required");
+            counts.count(ruleId, ruleIndex);
+        }
+    }
+    
+    private static String text(JsonParser parser, JsonToken value, String where) throws IOException {
+        require(value == JsonToken.VALUE_STRING, where + " must be a string");
+        return parser.getText();
+    }
+    
+    private static int index(JsonParser parser, JsonToken value, String where) throws IOException {
+        require(value == JsonToken.VALUE_NUMBER_INT && parser.getIntValue() >= 0, where + " must be a non-negative integer");
+        return parser.getIntValue();
+    }
+    
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new InvalidSarifException(message);
+        }
+    }
+    
+    /**
+     * Counts of one run. Results that only reference their rule by index are counted by index and
+     * resolved once the run is complete, since the driver's rules may follow the results.
+     */
+    private static class RunCounts {
+        private String tool;
+        private String toolVersion;
+        private final List<String> ruleIds = new ArrayList<>();
+        private final Map<String, Long> byRuleId = new TreeMap<>();
+        private final Map<Integer, Long> byRuleIndex = new TreeMap<>();
+        private long results;
+        
+        void count(String ruleId, int ruleIndex) {
+            results++;
+            if (ruleId != null) {
+                byRuleId.merge(ruleId, 1L, Long::sum);
+            } else if (ruleIndex >= 0) {
+                byRuleIndex.merge(ruleIndex, 1L, Long::sum);
+            } else {
+                byRuleId.merge(NO_RULE, 1L, Long::sum);
+            }
+        }
+        
+        SarifSummary.Run toRun() {
+            byRuleIndex.forEach((index, count) -> {
+                require(index < ruleIds.size(), "ruleIndex " + index + " does not refer to a rule of " + tool);
+                byRuleId.merge(ruleIds.get(index), count, Long::sum);
+            });
+            return SarifSummary.Run.builder()
+                    .tool(tool)
+                    .toolVersion(toolVersion)
+                    .rules(ruleIds.size())
+                    .results(results)
+                    .resultsByRule(byRuleId)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.github.scanner.sarif;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Splits a SARIF log into several logs that each stay within GitHub's upload limits.
+ * <p>
+ * Every run becomes its own log. A run with more results than {@code maxResults}, or whose gzipped
+ * log would exceed {@code maxCompressedBytes}, is cut into parts that repeat the run's other properties
+ * (tool, invocations, artifacts, ...) and carry a distinct category ({@code automationDetails.id}
+ * {@code <category>/part-N/}, or {@code run-R/part-N/} for a run without a category), so GitHub keeps
+ * them as separate analyses instead of letting each part replace the previous one. A run that fits
+ * keeps its own category.
+ * <p>
+ * The input is read twice as a token stream: once to buffer each run's properties other than its
+ * results, and once to copy the results into the parts. Results are never held in memory.
+ */
+public final class SarifSplitter {
+    
+    private static final JsonFactory JSON = new JsonFactory();
+    
+    public record Part(Path file, int run, int part, String category, long results) {
+    }
+    
+    private SarifSplitter() {
+    }
+    
+    /**
+     * Writes the parts of {@code sarif} as files in {@code directory}, in run order.
+     */
+    public static List<Part> split(Path sarif, Path directory, int maxResults, long maxCompressedBytes) throws IOException {
+        List<RunHeader> headers = readRunHeaders(sarif);
+        List<Part> parts = new ArrayList<>();
+        
+        try (JsonParser parser = JSON.createParser(sarif.toFile())) {
+            toRuns(parser);
+            for (int run = 0; parser.nextToken() == JsonToken.START_OBJECT; run++) {
+                RunHeader header = headers.get(run);
+                PartWriter writer = null;
+                int part = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() != JsonToken.START_ARRAY || !"results".equals(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (writer != null && (writer.results >= maxResults || writer.compressedBytes() >= maxCompressedBytes)) {
+                            parts.add(writer.close(header.splitCategory(run, part)));
+                            writer = null;
+                        }
+                        if (writer == null) {
+                            writer = new PartWriter(directory.resolve("run-" + run + "-part-" + (++part) + ".sarif"), run, part, header);
+                        }
+                        writer.generator.copyCurrentStructure(parser);
+                        writer.results++;
+                    }
+                }
+                // a run without results is uploaded as well, since it tells GitHub the tool found nothing
+                if (writer == null) {
+                    writer = new PartWriter(directory.resolve("run-" + run + "-part-" + (++part) + ".sarif"), run, part, header);
+                }
+                parts.add(writer.close(part == 1 ? null : header.splitCategory(run, part)));
+            }
+        }
+        return parts;
+    }
+    
+    private static void toRuns(JsonParser parser) throws IOException {
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "runs".equals(field)) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("SARIF log has no runs");
+    }
+    
+    private static List<RunHeader> readRunHeaders(Path sarif) throws IOException {
+        List<RunHeader> headers = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(sarif.toFile())) {
+            toRuns(parser);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                RunHeader header = new RunHeader();
+                header.properties.writeStartObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    switch (parser.currentName()) {
+                        case "results" -> {
+                            parser.nextToken();
+                            parser.skipChildren();
+                        }
+                        case "automationDetails" -> {
+                            header.automationDetails = new TokenBuffer(parser);
+                            parser.nextToken();
+                            header.automationDetails.copyCurrentStructure(parser);
+                            header.category = automationId(header.automationDetails);
+                        }
+                        default -> header.properties.copyCurrentStructure(parser);
+                    }
+                }
+                header.properties.writeEndObject();
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+    
+    private static String automationId(TokenBuffer automationDetails) throws IOException {
+        try (JsonParser details = automationDetails.asParser()) {
+            if (details.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (details.nextToken() == JsonToken.FIELD_NAME) {
+                String field = details.currentName();
+                if (details.nextToken() == JsonToken.VALUE_STRING && "id".equals(field)) {
+                    return details.getText();
+                }
+                details.skipChildren();
+            }
+            return null;
+        }
+    }
+    
+    private static class RunHeader {
+        private final TokenBuffer properties = new TokenBuffer(null, false);
+        private TokenBuffer automationDetails;
+        private String category;
+        
+        /**
+         * {@code automationDetails.id} of part {@code part}: the run's category (everything up to the
+         * last {@code /} of its id), or {@code run-R/} for a run without one so that parts of different
+         * runs of one tool do not replace each other, followed by {@code part-N/}.
+         */
+        String splitCategory(int run, int part) {
+            String prefix = category != null && category.contains("/") ? category.substring(0, category.lastIndexOf('/') + 1) : "run-" + run + "/";
+            return prefix + "part-" + part + "/";
+        }
+    }
+    
+    private static class PartWriter {
+        private final Path file;
+        private final int run;
+        private final int part;
+        private final RunHeader header;
+        private final CountingOutputStream compressed = new CountingOutputStream(OutputStream.nullOutputStream());
+        private final GZIPOutputStream gzip;
+        private final JsonGenerator generator;
+        private long results;
+        
+        PartWriter(Path file, int run, int part, RunHeader header) throws IOException {
+            this.file = file;
+            this.run = run;
+            this.part = part;
+            this.header = header;
+            // the part is also gzipped into a counter, to cut it before GitHub's limit on the compressed size
+            this.gzip = new GZIPOutputStream(compressed);
+            OutputStream out = Files.newOutputStream(file);
+            this.generator = JSON.createGenerator(new TeeOutputStream(out, gzip));
+            generator.writeStartObject();
+            generator.writeStringField("version", SarifReader.VERSION);
+            generator.writeArrayFieldStart("runs");
+            generator.writeStartObject();
+            try (JsonParser properties = header.properties.asParser()) {
+                properties.nextToken();
+                while (properties.nextToken() == JsonToken.FIELD_NAME) {
+                    generator.copyCurrentStructure(properties);
+                }
+            }
+            generator.writeArrayFieldStart("results");
+        }
+        
+        long compressedBytes() {
+            return compressed.count;
+        }
+        
+        /**
+         * @param splitCategory the part's {@code automationDetails.id}, or {@code null} to keep the run's own
+         */
+        Part close(String splitCategory) throws IOException {
+            generator.writeEndArray();
+            if (splitCategory != null) {
+                generator.writeObjectFieldStart("automationDetails");
+                generator.writeStringField("id", splitCategory);
+                generator.writeEndObject();
+            } else if (header.automationDetails != null) {
+                generator.writeFieldName("automationDetails");
+                try (JsonParser details = header.automationDetails.asParser()) {
+                    details.nextToken();
+                    generator.copyCurrentStructure(details);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+            String category = splitCategory != null ? splitCategory : header.category;
+            return new Part(file, run, part, category, results);
+        }
+    }
+    
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+        
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+    
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+        
+        TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try (first; second) {
+                flush();
+            }
+        }
+    }
+}
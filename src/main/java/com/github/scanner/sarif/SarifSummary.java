@@ -0,0 +1,47 @@
+package com.github.scanner.sarif;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a SARIF log contains, as counted by {@link SarifReader}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SarifSummary {
+    
+    private String version;
+    
+    private Long totalResults;
+    
+    private List<Run> runs;
+    
+    /** Limits of GitHub's SARIF processing the log exceeds; GitHub may drop data or reject the upload. */
+    private List<String> warnings;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Run {
+        
+        private String tool;
+        
+        private String toolVersion;
+        
+        /** Rules declared by the tool's driver. */
+        private Integer rules;
+        
+        private Long results;
+        
+        /** Result counts by rule id; results that name no rule are counted under {@code (none)}. */
+        private Map<String, Long> resultsByRule;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.scanner.sarif;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.github.scanner.dto.UploadSarifRequest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds the JSON body of GitHub's {@code POST /code-scanning/sarifs} call from a raw SARIF stream.
+ * <p>
+ * The SARIF document is gzipped and base64-encoded on the fly while it is written into the
+ * {@code sarif} field, so memory use is bounded by {@code chunkSize} regardless of file size.
+ */
+public final class SarifUploadBody {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    
+    private SarifUploadBody() {
+    }
+    
+    public static Flux<DataBuffer> encode(UploadSarifRequest metadata, Flux<DataBuffer> rawSarif,
+                                          DataBufferFactory bufferFactory, int chunkSize) {
+        return Flux.from(DataBufferUtils.outputStreamPublisher(
+                out -> write(metadata, rawSarif, out),
+                bufferFactory,
+                task -> Schedulers.boundedElastic().schedule(task),
+                chunkSize));
+    }
+    
+    private static void write(UploadSarifRequest metadata, Flux<DataBuffer> rawSarif, OutputStream out) {
+        try {
+            out.write('{');
+            writeField(out, "commit_sha", metadata.getCommitSha());
+            writeField(out, "ref", metadata.getRef());
+            writeField(out, "checkout_uri", metadata.getCheckoutUri());
+            writeField(out, "started_at", metadata.getStartedAt());
+            writeField(out, "tool_name", metadata.getToolName());
+            out.write("\"sarif\":\"".getBytes(StandardCharsets.US_ASCII));
+            
+            // Closing the gzip stream flushes the trailer and the final base64 quantum, but must not close the body.
+            try (OutputStream gzip = new GZIPOutputStream(Base64.getEncoder().wrap(nonClosing(out)), DEFAULT_CHUNK_SIZE)) {
+                for (DataBuffer buffer : rawSarif.toIterable(2)) {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        in.transferTo(gzip);
+                    }
+                }
+            }
+            
+            out.write("\"}".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode SARIF upload", e);
+        }
+    }
+    
+    private static void writeField(OutputStream out, String name, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        out.write('"');
+        out.write(name.getBytes(StandardCharsets.US_ASCII));
+        out.write("\":\"".getBytes(StandardCharsets.US_ASCII));
+        out.write(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        out.write("\",".getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+            
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.BulkUpdateAlertsRequest;
+import com.github.scanner.dto.BulkUpdateResult;
+import reactor.core.publisher.Flux;
+
+public interface AlertBulkUpdateService {
+    
+    Flux<BulkUpdateResult> updateAlerts(String owner, String repo, BulkUpdateAlertsRequest bulkRequest);
+}
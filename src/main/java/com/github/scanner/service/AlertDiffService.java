@@ -0,0 +1,10 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertDiffEntry;
+import com.github.scanner.dto.AlertDiffRequest;
+import reactor.core.publisher.Flux;
+
+public interface AlertDiffService {
+    
+    Flux<AlertDiffEntry> diff(String owner, String repo, AlertDiffRequest diffRequest);
+}
@@ -0,0 +1,15 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.model.CodeScanningAlert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AlertMirrorService {
+    
+    Flux<CodeScanningAlert> getAlertsForOrganization(String org, AlertFilterRequest filterRequest);
+    
+    Flux<CodeScanningAlert> getAlertsForRepository(String owner, String repo, AlertFilterRequest filterRequest);
+    
+    Mono<Integer> synchronize(String org);
+}
@@ -0,0 +1,12 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.AlertSummary;
+import reactor.core.publisher.Mono;
+
+public interface AlertSummaryService {
+    
+    Mono<AlertSummary> getOrganizationSummary(String org, AlertFilterRequest filterRequest);
+    
+    Mono<AlertSummary> getEnterpriseSummary(String enterprise, AlertFilterRequest filterRequest);
+}
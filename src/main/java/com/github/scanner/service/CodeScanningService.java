@@ -6,6 +6,7 @@ import com.github.scanner.dto.UploadSarifRequest;
 import com.github.scanner.model.CodeScanAnalysis;
 import com.github.scanner.model.CodeScanningAlert;
 import com.github.scanner.model.Instance;
+import org.springframework.core.io.buffer.DataBuffer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,6 +30,8 @@ public interface CodeScanningService {
     
     Mono<String> uploadSarifResults(String owner, String repo, UploadSarifRequest uploadRequest);
     
+    Mono<String> uploadSarifStream(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> rawSarif);
+    
     Mono<String> getSarifInformation(String owner, String repo, String sarifId);
     
     Flux<CodeScanningAlert> getAlertsForOrganization(String org, AlertFilterRequest filterRequest);
@@ -0,0 +1,10 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.RepositoryAlertResult;
+import com.github.scanner.dto.RepositorySetAlertsRequest;
+import reactor.core.publisher.Flux;
+
+public interface RepositorySetAlertService {
+    
+    Flux<RepositoryAlertResult> getAlertsForRepositories(RepositorySetAlertsRequest setRequest);
+}
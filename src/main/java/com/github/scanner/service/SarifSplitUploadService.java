@@ -0,0 +1,15 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+
+public interface SarifSplitUploadService {
+    
+    /**
+     * Splits a validated SARIF file into uploads within GitHub's limits and uploads them, one result per part.
+     */
+    Flux<SarifPartUpload> uploadSplit(String owner, String repo, UploadSarifRequest metadata, Path sarif);
+}
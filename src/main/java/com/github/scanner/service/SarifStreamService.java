@@ -0,0 +1,29 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.sarif.SarifSummary;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handles raw SARIF request bodies, whichever web server they were read from.
+ */
+public interface SarifStreamService {
+    
+    /**
+     * Validates a raw SARIF file (unless {@code github.sarif.validate-uploads} is off) and uploads it in one request.
+     */
+    Mono<String> upload(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> sarif);
+    
+    /**
+     * Validates a raw SARIF file and uploads it in as many parts as GitHub's limits require.
+     */
+    Flux<SarifPartUpload> uploadSplit(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> sarif);
+    
+    /**
+     * Validates a raw SARIF file without uploading it.
+     */
+    Mono<SarifSummary> summarize(String owner, String repo, Flux<DataBuffer> sarif);
+}
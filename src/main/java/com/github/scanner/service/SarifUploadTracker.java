@@ -0,0 +1,25 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.SarifProcessingStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public interface SarifUploadTracker {
+    
+    /**
+     * Starts following an upload (if it is not followed already) and returns its current status.
+     */
+    SarifProcessingStatus track(String owner, String repo, String sarifId);
+    
+    /**
+     * Completes with the final status once processing has finished, or with the current status after {@code timeout}.
+     */
+    Mono<SarifProcessingStatus> awaitCompletion(String owner, String repo, String sarifId, Duration timeout);
+    
+    /**
+     * Emits the current status and every change to it, completing once processing has finished.
+     */
+    Flux<SarifProcessingStatus> watch(String owner, String repo, String sarifId);
+}
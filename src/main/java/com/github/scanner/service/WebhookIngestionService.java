@@ -0,0 +1,13 @@
+package com.github.scanner.service;
+
+public interface WebhookIngestionService {
+    
+    /**
+     * Verifies and queues one webhook delivery. Returns {@code true} when it was queued for ingestion and
+     * {@code false} when the event type is not ingested (e.g. {@code ping}).
+     *
+     * @throws com.github.scanner.exception.WebhookRejectedException if the signature is invalid, the payload
+     *         cannot be parsed or the ingestion queue is full
+     */
+    boolean ingest(String event, String signature, byte[] payload);
+}
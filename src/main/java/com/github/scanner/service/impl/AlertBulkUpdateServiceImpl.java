@@ -0,0 +1,71 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.BulkUpdateAlertsRequest;
+import com.github.scanner.dto.BulkUpdateResult;
+import com.github.scanner.exception.InvalidRequestException;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.AlertBulkUpdateService;
+import com.github.scanner.service.CodeScanningService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertBulkUpdateServiceImpl implements AlertBulkUpdateService {
+    
+    private final CodeScanningService codeScanningService;
+    
+    @Value("${github.api.bulk.max-concurrency:4}")
+    private int maxConcurrency;
+    
+    @Value("${github.api.bulk.min-interval:250ms}")
+    private Duration minInterval;
+    
+    @Override
+    public Flux<BulkUpdateResult> updateAlerts(String owner, String repo, BulkUpdateAlertsRequest bulkRequest) {
+        int concurrency = bulkRequest.getConcurrency() != null
+                ? Math.min(bulkRequest.getConcurrency(), maxConcurrency)
+                : maxConcurrency;
+        log.debug("Bulk updating alerts for repository: {}/{} with concurrency {}", owner, repo, concurrency);
+        if (!bulkRequest.isTargetSpecified()) {
+            return Flux.error(new InvalidRequestException("either alertNumbers or filter must be provided"));
+        }
+        
+        Flux<Long> alertNumbers = targetAlertNumbers(owner, repo, bulkRequest).distinct();
+        if (!minInterval.isZero()) {
+            // GitHub's secondary limits ask for spacing between mutating requests; this caps the launch rate.
+            alertNumbers = alertNumbers.delayElements(minInterval);
+        }
+        
+        return alertNumbers.flatMap(alertNumber -> codeScanningService
+                        .updateAlert(owner, repo, alertNumber, bulkRequest.getUpdate())
+                        .map(alert -> BulkUpdateResult.success(alertNumber, alert))
+                        .onErrorResume(e -> {
+                            log.error("Error updating alert {} in bulk: {}", alertNumber, e.getMessage());
+                            return Mono.just(BulkUpdateResult.failure(alertNumber, e.getMessage()));
+                        }),
+                concurrency);
+    }
+    
+    private Flux<Long> targetAlertNumbers(String owner, String repo, BulkUpdateAlertsRequest bulkRequest) {
+        if (bulkRequest.getAlertNumbers() != null && !bulkRequest.getAlertNumbers().isEmpty()) {
+            return Flux.fromIterable(bulkRequest.getAlertNumbers());
+        }
+        
+        // Every match is listed before the first update: updated alerts can drop out of the filter
+        // (e.g. state=open), which would shift the later pages and skip alerts.
+        AlertFilterRequest filter = bulkRequest.getFilter().toBuilder().allPages(true).build();
+        return codeScanningService.getAlertsForRepository(owner, repo, filter)
+                .map(CodeScanningAlert::getNumber)
+                .collectList()
+                .flatMapIterable(numbers -> numbers);
+    }
+}
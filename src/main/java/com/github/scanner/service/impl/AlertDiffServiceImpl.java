@@ -0,0 +1,132 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.AlertDiffEntry;
+import com.github.scanner.dto.AlertDiffEntry.Change;
+import com.github.scanner.dto.AlertDiffRequest;
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Location;
+import com.github.scanner.service.AlertDiffService;
+import com.github.scanner.service.CodeScanningService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the alerts of two refs (or analyses) of one repository.
+ * <p>
+ * Both sides are fetched concurrently. GitHub keeps one alert number per result across the refs of a
+ * repository, even when the code around it moves, so a head alert is {@code PERSISTING} if the base has
+ * an alert with the same number. Head alerts without one fall back to a base alert of the same rule in
+ * the same file that is still unmatched, one for one; head alerts left over are {@code NEW}, and base
+ * alerts left over are {@code FIXED}. The diff is linear in the size of both sides.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertDiffServiceImpl implements AlertDiffService {
+    
+    private static final int PAGE_SIZE = 100;
+    
+    private final CodeScanningService codeScanningService;
+    
+    @Override
+    public Flux<AlertDiffEntry> diff(String owner, String repo, AlertDiffRequest diffRequest) {
+        Mono<List<CodeScanningAlert>> base = filter(owner, repo, diffRequest.getBase(), diffRequest.getBaseAnalysisId(), diffRequest)
+                .flatMapMany(filter -> codeScanningService.getAlertsForRepository(owner, repo, filter))
+                .collectList();
+        Mono<List<CodeScanningAlert>> head = filter(owner, repo, diffRequest.getHead(), diffRequest.getHeadAnalysisId(), diffRequest)
+                .flatMapMany(filter -> codeScanningService.getAlertsForRepository(owner, repo, filter))
+                .collectList();
+        
+        return Mono.zip(base, head)
+                .flatMapMany(sides -> {
+                    List<CodeScanningAlert> baseAlerts = sides.getT1();
+                    List<CodeScanningAlert> headAlerts = sides.getT2();
+                    log.debug("Diffing {} head alerts against {} base alerts for {}/{}", headAlerts.size(), baseAlerts.size(), owner, repo);
+                    
+                    Set<CodeScanningAlert> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+                    Set<CodeScanningAlert> persisting = Collections.newSetFromMap(new IdentityHashMap<>());
+                    Map<Long, CodeScanningAlert> byNumber = new HashMap<>();
+                    baseAlerts.stream().filter(alert -> alert.getNumber() != null).forEach(alert -> byNumber.put(alert.getNumber(), alert));
+                    for (CodeScanningAlert alert : headAlerts) {
+                        CodeScanningAlert match = alert.getNumber() != null ? byNumber.get(alert.getNumber()) : null;
+                        if (match != null && matched.add(match)) {
+                            persisting.add(alert);
+                        }
+                    }
+                    
+                    Map<String, Deque<CodeScanningAlert>> byRuleAndPath = new HashMap<>();
+                    baseAlerts.stream()
+                            .filter(alert -> !matched.contains(alert))
+                            .forEach(alert -> byRuleAndPath.computeIfAbsent(ruleAndPath(alert), k -> new ArrayDeque<>()).add(alert));
+                    for (CodeScanningAlert alert : headAlerts) {
+                        Deque<CodeScanningAlert> candidates = persisting.contains(alert) ? null : byRuleAndPath.get(ruleAndPath(alert));
+                        CodeScanningAlert match = candidates != null ? candidates.poll() : null;
+                        if (match != null) {
+                            matched.add(match);
+                            persisting.add(alert);
+                        }
+                    }
+                    
+                    Flux<AlertDiffEntry> current = Flux.fromIterable(headAlerts)
+                            .map(alert -> entry(persisting.contains(alert) ? Change.PERSISTING : Change.NEW, alert));
+                    Flux<AlertDiffEntry> fixed = Flux.fromIterable(baseAlerts)
+                            .filter(alert -> !matched.contains(alert))
+                            .map(alert -> entry(Change.FIXED, alert));
+                    return current.concatWith(fixed);
+                });
+    }
+    
+    /**
+     * Identifies a result by its rule and the file of its most recent location, for alerts that cannot be
+     * matched by number.
+     */
+    static String ruleAndPath(CodeScanningAlert alert) {
+        String rule = alert.getRule() != null ? alert.getRule().getId() : null;
+        Location location = alert.getMostRecentInstance() != null ? alert.getMostRecentInstance().getLocation() : null;
+        return rule + "|" + (location != null ? location.getPath() : null);
+    }
+    
+    private Mono<AlertFilterRequest> filter(String owner, String repo, String ref, Long analysisId, AlertDiffRequest diffRequest) {
+        if (analysisId == null) {
+            return Mono.just(filter(ref, diffRequest.getToolName(), diffRequest));
+        }
+        // GitHub cannot list the alerts of one analysis; use its ref, narrowed to its tool
+        return codeScanningService.getAnalysis(owner, repo, analysisId)
+                .map(analysis -> filter(analysis.getRef(),
+                        diffRequest.getToolName() != null || analysis.getTool() == null ? diffRequest.getToolName() : analysis.getTool().getName(),
+                        diffRequest));
+    }
+    
+    private static AlertFilterRequest filter(String ref, String toolName, AlertDiffRequest diffRequest) {
+        return AlertFilterRequest.builder()
+                .ref(ref)
+                .toolName(toolName)
+                .state(diffRequest.getState())
+                .perPage(PAGE_SIZE)
+                .page(1)
+                .sort("created")
+                .direction("desc")
+                .allPages(true)
+                .build();
+    }
+    
+    private static AlertDiffEntry entry(Change change, CodeScanningAlert alert) {
+        return AlertDiffEntry.builder()
+                .change(change)
+                .alert(alert)
+                .build();
+    }
+}
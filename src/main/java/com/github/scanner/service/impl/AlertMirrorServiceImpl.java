@@ -0,0 +1,205 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.exception.AlertMirrorUnavailableException;
+import com.github.scanner.mirror.AlertIndex;
+import com.github.scanner.mirror.AlertIndex.Dimension;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.AlertMirrorService;
+import com.github.scanner.service.CodeScanningService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class AlertMirrorServiceImpl implements AlertMirrorService {
+    
+    private static final int SYNC_PAGE_SIZE = 100;
+    
+    private final CodeScanningService codeScanningService;
+    
+    private final Map<String, Mirror> mirrors = new ConcurrentHashMap<>();
+    
+    private final AtomicBoolean synchronizing = new AtomicBoolean();
+    
+    public AlertMirrorServiceImpl(CodeScanningService codeScanningService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${github.mirror.organizations:}") List<String> organizations) {
+        this.codeScanningService = codeScanningService;
+        for (String org : organizations) {
+            if (org.isBlank()) {
+                continue;
+            }
+            Mirror mirror = new Mirror();
+            mirrors.put(org.trim().toLowerCase(Locale.ROOT), mirror);
+            Gauge.builder("github.mirror.alerts", mirror.index, AlertIndex::size)
+                    .tag("org", org.trim())
+                    .register(meterRegistry);
+        }
+    }
+    
+    @Override
+    public Flux<CodeScanningAlert> getAlertsForOrganization(String org, AlertFilterRequest filterRequest) {
+        log.debug("Querying mirrored alerts for organization: {}", org);
+        return query(org, filterRequest, criteria(filterRequest));
+    }
+    
+    @Override
+    public Flux<CodeScanningAlert> getAlertsForRepository(String owner, String repo, AlertFilterRequest filterRequest) {
+        log.debug("Querying mirrored alerts for repository: {}/{}", owner, repo);
+        Map<Dimension, String> criteria = criteria(filterRequest);
+        criteria.put(Dimension.REPOSITORY, owner + "/" + repo);
+        return query(owner, filterRequest, criteria);
+    }
+    
+    /**
+     * Pulls alerts updated since the last synchronization, newest first, and stops paging at the first
+     * alert older than that point. The first run for an organization walks every page.
+     */
+    @Override
+    public Mono<Integer> synchronize(String org) {
+        Mirror mirror = mirror(org);
+        LocalDateTime since = mirror.syncedUpTo.get();
+        AtomicReference<LocalDateTime> newest = new AtomicReference<>(since);
+        
+        AlertFilterRequest filter = AlertFilterRequest.builder()
+                .sort("updated")
+                .direction("desc")
+                .perPage(SYNC_PAGE_SIZE)
+                .page(1)
+                .allPages(true)
+                .build();
+        
+        return codeScanningService.getAlertsForOrganization(org, filter)
+                .takeWhile(alert -> since == null || alert.getUpdatedAt() == null || !alert.getUpdatedAt().isBefore(since))
+                .doOnNext(alert -> {
+                    mirror.index.upsert(alert);
+                    if (alert.getUpdatedAt() != null && (newest.get() == null || alert.getUpdatedAt().isAfter(newest.get()))) {
+                        newest.set(alert.getUpdatedAt());
+                    }
+                })
+                .count()
+                .map(Long::intValue)
+                .doOnSuccess(changed -> {
+                    mirror.syncedUpTo.set(newest.get());
+                    mirror.ready = true;
+                    log.debug("Mirrored {} changed alerts for organization: {}", changed, org);
+                });
+    }
+    
+    /**
+     * Starts synchronizing every mirrored organization, one after the other, without holding the shared
+     * scheduling thread; a poll that comes while the previous round is still running is skipped.
+     */
+    @Scheduled(fixedDelayString = "${github.mirror.poll-interval:PT5M}", initialDelay = 0)
+    public void synchronizeAll() {
+        if (mirrors.isEmpty() || !synchronizing.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(List.copyOf(mirrors.keySet()))
+                .concatMap(org -> synchronize(org)
+                        .onErrorResume(e -> {
+                            log.error("Error synchronizing alert mirror for organization {}: {}", org, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> synchronizing.set(false))
+                .subscribe();
+    }
+    
+    /**
+     * Applies alerts seen elsewhere in the application, e.g. webhook deliveries, to the mirror of their
+     * organization once it has completed its first synchronization.
+     */
+    @EventListener
+    public void onAlertObserved(AlertObservedEvent event) {
+        if (event.getOrganization() == null || event.getAlert().getRepository() == null) {
+            return;
+        }
+        Mirror mirror = mirrors.get(event.getOrganization().toLowerCase(Locale.ROOT));
+        if (mirror != null && mirror.ready) {
+            mirror.index.upsert(event.getAlert());
+        }
+    }
+    
+    private Flux<CodeScanningAlert> query(String org, AlertFilterRequest filterRequest, Map<Dimension, String> criteria) {
+        Mirror mirror = mirror(org);
+        if (!mirror.ready) {
+            return Flux.error(new AlertMirrorUnavailableException("Alert mirror for " + org + " has not completed its first synchronization"));
+        }
+        
+        Comparator<CodeScanningAlert> order = Comparator.comparing(
+                "updated".equalsIgnoreCase(filterRequest.getSort()) ? CodeScanningAlert::getUpdatedAt : CodeScanningAlert::getCreatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        if (!"asc".equalsIgnoreCase(filterRequest.getDirection())) {
+            order = order.reversed();
+        }
+        
+        List<CodeScanningAlert> matches = mirror.index.query(criteria);
+        matches.sort(order);
+        
+        Flux<CodeScanningAlert> alerts = Flux.fromIterable(matches)
+                .skip((long) (filterRequest.getPage() - 1) * filterRequest.getPerPage());
+        return Boolean.TRUE.equals(filterRequest.getAllPages()) ? alerts : alerts.take(filterRequest.getPerPage());
+    }
+    
+    private Mirror mirror(String org) {
+        Mirror mirror = mirrors.get(org.toLowerCase(Locale.ROOT));
+        if (mirror == null) {
+            throw new AlertMirrorUnavailableException("Organization " + org + " is not mirrored");
+        }
+        return mirror;
+    }
+    
+    private static Map<Dimension, String> criteria(AlertFilterRequest filterRequest) {
+        Map<Dimension, String> criteria = new EnumMap<>(Dimension.class);
+        if (filterRequest.getState() != null) {
+            criteria.put(Dimension.STATE, filterRequest.getState().name());
+        }
+        if (filterRequest.getSeverity() != null) {
+            criteria.put(Dimension.SEVERITY, filterRequest.getSeverity());
+        }
+        if (filterRequest.getToolName() != null) {
+            criteria.put(Dimension.TOOL, filterRequest.getToolName());
+        }
+        if (filterRequest.getToolGuid() != null) {
+            criteria.put(Dimension.TOOL_GUID, filterRequest.getToolGuid());
+        }
+        if (filterRequest.getRef() != null) {
+            criteria.put(Dimension.REF, filterRequest.getRef());
+        }
+        if (filterRequest.getRuleId() != null) {
+            criteria.put(Dimension.RULE, filterRequest.getRuleId());
+        }
+        if (filterRequest.getRepository() != null) {
+            criteria.put(Dimension.REPOSITORY, filterRequest.getRepository());
+        }
+        if (filterRequest.getPath() != null) {
+            criteria.put(Dimension.PATH, filterRequest.getPath());
+        }
+        return criteria;
+    }
+    
+    private static class Mirror {
+        private final AlertIndex index = new AlertIndex();
+        private final AtomicReference<LocalDateTime> syncedUpTo = new AtomicReference<>();
+        private volatile boolean ready;
+    }
+}
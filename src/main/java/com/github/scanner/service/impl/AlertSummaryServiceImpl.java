@@ -0,0 +1,145 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.AlertSummary;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.mirror.AlertCounts;
+import com.github.scanner.mirror.AlertCounts.Bucket;
+import com.github.scanner.mirror.AlertCounts.Dimension;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.AlertSummaryService;
+import com.github.scanner.service.CodeScanningService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertSummaryServiceImpl implements AlertSummaryService {
+    
+    private static final int LOAD_PAGE_SIZE = 100;
+    
+    private final CodeScanningService codeScanningService;
+    
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    
+    @Override
+    public Mono<AlertSummary> getOrganizationSummary(String org, AlertFilterRequest filterRequest) {
+        return summarize(scopeName("orgs", org),
+                () -> codeScanningService.getAlertsForOrganization(org, loadFilter()), filterRequest);
+    }
+    
+    @Override
+    public Mono<AlertSummary> getEnterpriseSummary(String enterprise, AlertFilterRequest filterRequest) {
+        return summarize(scopeName("enterprises", enterprise),
+                () -> codeScanningService.getAlertsForEnterprise(enterprise, loadFilter()), filterRequest);
+    }
+    
+    /**
+     * Folds every alert seen by the application into the summaries of the organization or enterprise it
+     * was read through, and into any other summary that already counts it.
+     */
+    @EventListener
+    public void onAlertObserved(AlertObservedEvent event) {
+        String alertKey = event.getAlertKey();
+        if (alertKey == null || scopes.isEmpty()) {
+            return;
+        }
+        alertKey = alertKey.toLowerCase(Locale.ROOT);
+        String org = event.getOrganization() != null ? scopeName("orgs", event.getOrganization()) : null;
+        String enterprise = event.getEnterprise() != null ? scopeName("enterprises", event.getEnterprise()) : null;
+        
+        for (Map.Entry<String, Scope> entry : scopes.entrySet()) {
+            Scope scope = entry.getValue();
+            if (entry.getKey().equals(org) || entry.getKey().equals(enterprise) || scope.counts.contains(alertKey)) {
+                scope.counts.record(alertKey, event.getRepository(), event.getAlert());
+                scope.updatedAt = LocalDateTime.now();
+            }
+        }
+    }
+    
+    private Mono<AlertSummary> summarize(String name, Supplier<Flux<CodeScanningAlert>> loader, AlertFilterRequest filterRequest) {
+        Scope scope = scopes.computeIfAbsent(name, n -> new Scope());
+        if (scope.loaded) {
+            return Mono.fromSupplier(() -> toSummary(name, scope, filterRequest));
+        }
+        
+        // The first request walks every alert once; the events it publishes populate the counts.
+        log.debug("Loading alert summary for {}", name);
+        return requestCoalescer.mono("load " + name, () -> loader.get()
+                        .count()
+                        .doOnSuccess(count -> scope.loaded = true))
+                .then(Mono.fromSupplier(() -> toSummary(name, scope, filterRequest)));
+    }
+    
+    private static AlertSummary toSummary(String name, Scope scope, AlertFilterRequest filterRequest) {
+        Map<Dimension, Map<String, Long>> groups = scope.counts.groupBy(filter(filterRequest));
+        return AlertSummary.builder()
+                .scope(name)
+                .total(groups.get(Dimension.STATE).values().stream().mapToLong(Long::longValue).sum())
+                .byState(groups.get(Dimension.STATE))
+                .bySeverity(groups.get(Dimension.SEVERITY))
+                .byRule(groups.get(Dimension.RULE))
+                .byTool(groups.get(Dimension.TOOL))
+                .byRepository(groups.get(Dimension.REPOSITORY))
+                .updatedAt(scope.updatedAt)
+                .build();
+    }
+    
+    private static Predicate<Bucket> filter(AlertFilterRequest filterRequest) {
+        Predicate<Bucket> filter = bucket -> true;
+        if (filterRequest.getState() != null) {
+            filter = filter.and(matches(Dimension.STATE, filterRequest.getState().name()));
+        }
+        if (filterRequest.getSeverity() != null) {
+            filter = filter.and(matches(Dimension.SEVERITY, filterRequest.getSeverity()));
+        }
+        if (filterRequest.getRuleId() != null) {
+            filter = filter.and(matches(Dimension.RULE, filterRequest.getRuleId()));
+        }
+        if (filterRequest.getToolName() != null) {
+            filter = filter.and(matches(Dimension.TOOL, filterRequest.getToolName()));
+        }
+        if (filterRequest.getRepository() != null) {
+            filter = filter.and(matches(Dimension.REPOSITORY, filterRequest.getRepository()));
+        }
+        return filter;
+    }
+    
+    private static Predicate<Bucket> matches(Dimension dimension, String value) {
+        return bucket -> value.equalsIgnoreCase(bucket.get(dimension));
+    }
+    
+    private static AlertFilterRequest loadFilter() {
+        return AlertFilterRequest.builder()
+                .perPage(LOAD_PAGE_SIZE)
+                .page(1)
+                .sort("created")
+                .direction("desc")
+                .allPages(true)
+                .build();
+    }
+    
+    private static String scopeName(String kind, String name) {
+        return kind + "/" + name.toLowerCase(Locale.ROOT);
+    }
+    
+    private static class Scope {
+        private final AlertCounts counts = new AlertCounts();
+        private volatile boolean loaded;
+        private volatile LocalDateTime updatedAt;
+    }
+}
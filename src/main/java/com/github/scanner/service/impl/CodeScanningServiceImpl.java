@@ -1,28 +1,42 @@
 package com.github.scanner.service.impl;
 
+import com.github.scanner.client.BulkheadFilter;
+import com.github.scanner.client.LinkHeader;
+import com.github.scanner.client.RetryPolicy;
+import com.github.scanner.client.UpstreamMetricsFilter;
 import com.github.scanner.dto.AlertFilterRequest;
 import com.github.scanner.dto.UpdateAlertRequest;
 import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.event.SarifUploadedEvent;
 import com.github.scanner.exception.GitHubApiException;
 import com.github.scanner.model.CodeScanAnalysis;
 import com.github.scanner.model.CodeScanningAlert;
 import com.github.scanner.model.Instance;
+import com.github.scanner.sarif.SarifUploadBody;
 import com.github.scanner.service.CodeScanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
+import java.net.URI;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -31,41 +45,48 @@ public class CodeScanningServiceImpl implements CodeScanningService {
     
     private final WebClient githubWebClient;
     
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final RetryPolicy retryPolicy;
+    
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    
     @Override
     public Flux<CodeScanningAlert> getAlertsForRepository(String owner, String repo, AlertFilterRequest filterRequest) {
         log.debug("Fetching alerts for repository: {}/{}", owner, repo);
         
         MultiValueMap<String, String> queryParams = buildQueryParams(filterRequest);
         
-        return githubWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/repos/{owner}/{repo}/code-scanning/alerts")
-                        .queryParams(queryParams)
-                        .build(owner, repo))
-                .retrieve()
-                .bodyToFlux(CodeScanningAlert.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching alerts: {}", e.getMessage());
-                    return Flux.error(new GitHubApiException("Failed to fetch alerts", e));
-                });
+        return coalesceAlerts("GET /repos/" + owner + "/" + repo + "/code-scanning/alerts?" + queryParams, filterRequest,
+                () -> fetchAlerts(uriBuilder -> uriBuilder
+                                .path("/repos/{owner}/{repo}/code-scanning/alerts")
+                                .queryParams(queryParams)
+                                .build(owner, repo), filterRequest)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching alerts: {}", e.getMessage());
+                            return Flux.error(new GitHubApiException("Failed to fetch alerts", e));
+                        })
+                        .doOnNext(alert -> publishObserved(owner, null, owner + "/" + repo, alert)));
     }
     
     @Override
     public Mono<CodeScanningAlert> getAlert(String owner, String repo, Long alertNumber) {
         log.debug("Fetching alert {} for repository: {}/{}", alertNumber, owner, repo);
         
-        return githubWebClient.get()
-                .uri("/repos/{owner}/{repo}/code-scanning/alerts/{alert_number}", owner, repo, alertNumber)
-                .retrieve()
-                .bodyToMono(CodeScanningAlert.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                        return Mono.error(new GitHubApiException("Alert not found", e));
-                    }
-                    return Mono.error(new GitHubApiException("Failed to fetch alert", e));
-                });
+        return requestCoalescer.mono("GET /repos/" + owner + "/" + repo + "/code-scanning/alerts/" + alertNumber,
+                () -> githubWebClient.get()
+                        .uri("/repos/{owner}/{repo}/code-scanning/alerts/{alert_number}", owner, repo, alertNumber)
+                        .retrieve()
+                        .bodyToMono(CodeScanningAlert.class)
+                        .retryWhen(retryPolicy.forRoute("get-alert", true))
+                        .contextWrite(UpstreamMetricsFilter::countAttempts)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                                return Mono.error(new GitHubApiException("Alert not found", e));
+                            }
+                            return Mono.error(new GitHubApiException("Failed to fetch alert", e));
+                        })
+                        .doOnNext(alert -> publishObserved(owner, null, owner + "/" + repo, alert)));
     }
     
     @Override
@@ -77,63 +98,71 @@ public class CodeScanningServiceImpl implements CodeScanningService {
                 .bodyValue(updateRequest)
                 .retrieve()
                 .bodyToMono(CodeScanningAlert.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                .retryWhen(retryPolicy.forRoute("update-alert", true))
+                .contextWrite(UpstreamMetricsFilter::countAttempts)
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Error updating alert: {}", e.getMessage());
                     return Mono.error(new GitHubApiException("Failed to update alert", e));
-                });
+                })
+                .doOnNext(alert -> publishObserved(owner, null, owner + "/" + repo, alert));
     }
     
     @Override
     public Flux<Instance> getAlertInstances(String owner, String repo, Long alertNumber) {
         log.debug("Fetching alert instances for alert {} in repository: {}/{}", alertNumber, owner, repo);
         
-        return githubWebClient.get()
-                .uri("/repos/{owner}/{repo}/code-scanning/alerts/{alert_number}/instances", owner, repo, alertNumber)
-                .retrieve()
-                .bodyToFlux(Instance.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching alert instances: {}", e.getMessage());
-                    return Flux.error(new GitHubApiException("Failed to fetch alert instances", e));
-                });
+        return requestCoalescer.flux("GET /repos/" + owner + "/" + repo + "/code-scanning/alerts/" + alertNumber + "/instances",
+                () -> githubWebClient.get()
+                        .uri("/repos/{owner}/{repo}/code-scanning/alerts/{alert_number}/instances", owner, repo, alertNumber)
+                        .retrieve()
+                        .bodyToFlux(Instance.class)
+                        .retryWhen(retryPolicy.forRoute("list-alert-instances", true))
+                        .contextWrite(UpstreamMetricsFilter::countAttempts)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching alert instances: {}", e.getMessage());
+                            return Flux.error(new GitHubApiException("Failed to fetch alert instances", e));
+                        }));
     }
     
     @Override
     public Flux<CodeScanAnalysis> getAnalysesForRepository(String owner, String repo, String toolName, String ref) {
         log.debug("Fetching analyses for repository: {}/{}", owner, repo);
         
-        return githubWebClient.get()
-                .uri(uriBuilder -> {
-                    var builder = uriBuilder.path("/repos/{owner}/{repo}/code-scanning/analyses");
-                    if (toolName != null) builder.queryParam("tool_name", toolName);
-                    if (ref != null) builder.queryParam("ref", ref);
-                    return builder.build(owner, repo);
-                })
-                .retrieve()
-                .bodyToFlux(CodeScanAnalysis.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching analyses: {}", e.getMessage());
-                    return Flux.error(new GitHubApiException("Failed to fetch analyses", e));
-                });
+        return requestCoalescer.flux("GET /repos/" + owner + "/" + repo + "/code-scanning/analyses?tool_name=" + toolName + "&ref=" + ref,
+                () -> githubWebClient.get()
+                        .uri(uriBuilder -> {
+                            var builder = uriBuilder.path("/repos/{owner}/{repo}/code-scanning/analyses");
+                            if (toolName != null) builder.queryParam("tool_name", toolName);
+                            if (ref != null) builder.queryParam("ref", ref);
+                            return builder.build(owner, repo);
+                        })
+                        .retrieve()
+                        .bodyToFlux(CodeScanAnalysis.class)
+                        .retryWhen(retryPolicy.forRoute("list-analyses", true))
+                        .contextWrite(UpstreamMetricsFilter::countAttempts)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching analyses: {}", e.getMessage());
+                            return Flux.error(new GitHubApiException("Failed to fetch analyses", e));
+                        }));
     }
     
     @Override
     public Mono<CodeScanAnalysis> getAnalysis(String owner, String repo, Long analysisId) {
         log.debug("Fetching analysis {} for repository: {}/{}", analysisId, owner, repo);
         
-        return githubWebClient.get()
-                .uri("/repos/{owner}/{repo}/code-scanning/analyses/{analysis_id}", owner, repo, analysisId)
-                .retrieve()
-                .bodyToMono(CodeScanAnalysis.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                        return Mono.error(new GitHubApiException("Analysis not found", e));
-                    }
-                    return Mono.error(new GitHubApiException("Failed to fetch analysis", e));
-                });
+        return requestCoalescer.mono("GET /repos/" + owner + "/" + repo + "/code-scanning/analyses/" + analysisId,
+                () -> githubWebClient.get()
+                        .uri("/repos/{owner}/{repo}/code-scanning/analyses/{analysis_id}", owner, repo, analysisId)
+                        .retrieve()
+                        .bodyToMono(CodeScanAnalysis.class)
+                        .retryWhen(retryPolicy.forRoute("get-analysis", true))
+                        .contextWrite(UpstreamMetricsFilter::countAttempts)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                                return Mono.error(new GitHubApiException("Analysis not found", e));
+                            }
+                            return Mono.error(new GitHubApiException("Failed to fetch analysis", e));
+                        }));
     }
     
     @Override
@@ -144,7 +173,8 @@ public class CodeScanningServiceImpl implements CodeScanningService {
                 .uri("/repos/{owner}/{repo}/code-scanning/analyses/{analysis_id}", owner, repo, analysisId)
                 .retrieve()
                 .bodyToMono(Void.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                .retryWhen(retryPolicy.forRoute("delete-analysis", true))
+                .contextWrite(UpstreamMetricsFilter::countAttempts)
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Error deleting analysis: {}", e.getMessage());
                     return Mono.error(new GitHubApiException("Failed to delete analysis", e));
@@ -160,7 +190,9 @@ public class CodeScanningServiceImpl implements CodeScanningService {
                 .bodyValue(uploadRequest)
                 .retrieve()
                 .bodyToMono(String.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                .retryWhen(retryPolicy.forRoute("upload-sarif", false))
+                .contextWrite(UpstreamMetricsFilter::countAttempts)
+                .doOnNext(response -> publishUploaded(owner, repo, response))
                 .onErrorResume(WebClientResponseException.class, e -> {
                     log.error("Error uploading SARIF results: {}", e.getMessage());
                     return Mono.error(new GitHubApiException("Failed to upload SARIF results", e));
@@ -168,38 +200,57 @@ public class CodeScanningServiceImpl implements CodeScanningService {
     }
     
     @Override
-    public Mono<String> getSarifInformation(String owner, String repo, String sarifId) {
-        log.debug("Fetching SARIF information {} for repository: {}/{}", sarifId, owner, repo);
+    public Mono<String> uploadSarifStream(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> rawSarif) {
+        log.debug("Streaming SARIF upload for repository: {}/{}", owner, repo);
         
-        return githubWebClient.get()
-                .uri("/repos/{owner}/{repo}/code-scanning/sarifs/{sarif_id}", owner, repo, sarifId)
+        // The raw body can only be consumed once, so a streamed upload is never retried.
+        return githubWebClient.post()
+                .uri("/repos/{owner}/{repo}/code-scanning/sarifs", owner, repo)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(SarifUploadBody.encode(
+                        metadata, rawSarif, DefaultDataBufferFactory.sharedInstance, SarifUploadBody.DEFAULT_CHUNK_SIZE)))
                 .retrieve()
                 .bodyToMono(String.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+                .doOnNext(response -> publishUploaded(owner, repo, response))
                 .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching SARIF information: {}", e.getMessage());
-                    return Mono.error(new GitHubApiException("Failed to fetch SARIF information", e));
+                    log.error("Error uploading SARIF stream: {}", e.getMessage());
+                    return Mono.error(new GitHubApiException("Failed to upload SARIF results", e));
                 });
     }
     
+    @Override
+    public Mono<String> getSarifInformation(String owner, String repo, String sarifId) {
+        log.debug("Fetching SARIF information {} for repository: {}/{}", sarifId, owner, repo);
+        
+        return requestCoalescer.mono("GET /repos/" + owner + "/" + repo + "/code-scanning/sarifs/" + sarifId,
+                () -> githubWebClient.get()
+                        .uri("/repos/{owner}/{repo}/code-scanning/sarifs/{sarif_id}", owner, repo, sarifId)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .retryWhen(retryPolicy.forRoute("get-sarif", true))
+                        .contextWrite(UpstreamMetricsFilter::countAttempts)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching SARIF information: {}", e.getMessage());
+                            return Mono.error(new GitHubApiException("Failed to fetch SARIF information", e));
+                        }));
+    }
+    
     @Override
     public Flux<CodeScanningAlert> getAlertsForOrganization(String org, AlertFilterRequest filterRequest) {
         log.debug("Fetching alerts for organization: {}", org);
         
         MultiValueMap<String, String> queryParams = buildQueryParams(filterRequest);
         
-        return githubWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/orgs/{org}/code-scanning/alerts")
-                        .queryParams(queryParams)
-                        .build(org))
-                .retrieve()
-                .bodyToFlux(CodeScanningAlert.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching organization alerts: {}", e.getMessage());
-                    return Flux.error(new GitHubApiException("Failed to fetch organization alerts", e));
-                });
+        return coalesceAlerts("GET /orgs/" + org + "/code-scanning/alerts?" + queryParams, filterRequest,
+                () -> fetchAlerts(uriBuilder -> uriBuilder
+                                .path("/orgs/{org}/code-scanning/alerts")
+                                .queryParams(queryParams)
+                                .build(org), filterRequest)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching organization alerts: {}", e.getMessage());
+                            return Flux.error(new GitHubApiException("Failed to fetch organization alerts", e));
+                        })
+                        .doOnNext(alert -> publishObserved(org, null, null, alert)));
     }
     
     @Override
@@ -208,21 +259,73 @@ public class CodeScanningServiceImpl implements CodeScanningService {
         
         MultiValueMap<String, String> queryParams = buildQueryParams(filterRequest);
         
-        return githubWebClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/enterprises/{enterprise}/code-scanning/alerts")
-                        .queryParams(queryParams)
-                        .build(enterprise))
+        return coalesceAlerts("GET /enterprises/" + enterprise + "/code-scanning/alerts?" + queryParams, filterRequest,
+                () -> fetchAlerts(uriBuilder -> uriBuilder
+                                .path("/enterprises/{enterprise}/code-scanning/alerts")
+                                .queryParams(queryParams)
+                                .build(enterprise), filterRequest)
+                        .onErrorResume(WebClientResponseException.class, e -> {
+                            log.error("Error fetching enterprise alerts: {}", e.getMessage());
+                            return Flux.error(new GitHubApiException("Failed to fetch enterprise alerts", e));
+                        })
+                        .doOnNext(alert -> publishObserved(null, enterprise, null, alert)));
+    }
+    
+    private Flux<CodeScanningAlert> coalesceAlerts(String key, AlertFilterRequest filterRequest,
+                                                   Supplier<Flux<CodeScanningAlert>> request) {
+        if (filterRequest != null && Boolean.TRUE.equals(filterRequest.getAllPages())) {
+            // Replaying a multi-page sweep to late joiners would buffer all of it; stream it per caller instead.
+            return request.get();
+        }
+        return requestCoalescer.flux(key, request);
+    }
+    
+    private Flux<CodeScanningAlert> fetchAlerts(Function<UriBuilder, URI> uriFunction, AlertFilterRequest filterRequest) {
+        if (filterRequest == null || !Boolean.TRUE.equals(filterRequest.getAllPages())) {
+            return githubWebClient.get()
+                    .uri(uriFunction)
+                    .retrieve()
+                    .bodyToFlux(CodeScanningAlert.class)
+                    .retryWhen(retryPolicy.forRoute("list-alerts", true))
+                    .contextWrite(UpstreamMetricsFilter::countAttempts);
+        }
+        
+        // Pages are fetched one ahead of the consumer: expand() subscribes to the next page as soon as
+        // the current one is emitted, and a prefetch of 2 keeps at most two pages buffered.
+        return fetchAlertPage(githubWebClient.get().uri(uriFunction))
+                .expand(page -> page.next() == null
+                        ? Mono.empty()
+                        : fetchAlertPage(githubWebClient.get().uri(page.next())))
+                .concatMapIterable(AlertPage::alerts, 2)
+                .contextWrite(BulkheadFilter::asSweep);
+    }
+    
+    private Mono<AlertPage> fetchAlertPage(WebClient.RequestHeadersSpec<?> request) {
+        return request
                 .retrieve()
-                .bodyToFlux(CodeScanningAlert.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    log.error("Error fetching enterprise alerts: {}", e.getMessage());
-                    return Flux.error(new GitHubApiException("Failed to fetch enterprise alerts", e));
-                });
+                .toEntityList(CodeScanningAlert.class)
+                .map(entity -> new AlertPage(
+                        entity.getBody() != null ? entity.getBody() : List.of(),
+                        LinkHeader.next(entity.getHeaders()).orElse(null)))
+                .retryWhen(retryPolicy.forRoute("list-alerts", true))
+                .contextWrite(UpstreamMetricsFilter::countAttempts);
+    }
+    
+    private void publishObserved(String organization, String enterprise, String repository, CodeScanningAlert alert) {
+        eventPublisher.publishEvent(new AlertObservedEvent(organization, enterprise, repository, alert));
+    }
+    
+    private void publishUploaded(String owner, String repo, String response) {
+        String sarifId = SarifUploadedEvent.sarifIdOf(response);
+        if (sarifId != null) {
+            eventPublisher.publishEvent(new SarifUploadedEvent(owner, repo, sarifId));
+        }
+    }
+    
+    private record AlertPage(List<CodeScanningAlert> alerts, URI next) {
     }
     
-    private MultiValueMap<String, String> buildQueryParams(AlertFilterRequest filterRequest) {
+    static MultiValueMap<String, String> buildQueryParams(AlertFilterRequest filterRequest) {
         MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
         
         if (filterRequest != null) {
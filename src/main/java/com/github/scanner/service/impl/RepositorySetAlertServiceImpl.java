@@ -0,0 +1,51 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.client.BulkheadFilter;
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.RepositoryAlertResult;
+import com.github.scanner.dto.RepositorySetAlertsRequest;
+import com.github.scanner.service.CodeScanningService;
+import com.github.scanner.service.RepositorySetAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepositorySetAlertServiceImpl implements RepositorySetAlertService {
+    
+    private final CodeScanningService codeScanningService;
+    
+    @Value("${github.api.fan-out.max-concurrency:8}")
+    private int maxConcurrency;
+    
+    @Override
+    public Flux<RepositoryAlertResult> getAlertsForRepositories(RepositorySetAlertsRequest setRequest) {
+        int concurrency = setRequest.getConcurrency() != null
+                ? Math.min(setRequest.getConcurrency(), maxConcurrency)
+                : maxConcurrency;
+        AlertFilterRequest filter = setRequest.getFilter() != null ? setRequest.getFilter() : new AlertFilterRequest();
+        log.debug("Fetching alerts for {} repositories with concurrency {}", setRequest.getRepositories().size(), concurrency);
+        
+        // Results are merged in arrival order; a failing repository contributes one failure entry.
+        return Flux.fromIterable(setRequest.getRepositories())
+                .distinct(repository -> repository.toLowerCase(Locale.ROOT))
+                .flatMap(repository -> {
+                            String[] ownerAndRepo = repository.split("/", 2);
+                            return codeScanningService.getAlertsForRepository(ownerAndRepo[0], ownerAndRepo[1], filter)
+                                    .map(alert -> RepositoryAlertResult.alert(repository, alert))
+                                    .onErrorResume(e -> {
+                                        log.error("Error fetching alerts for repository {}: {}", repository, e.getMessage());
+                                        return Mono.just(RepositoryAlertResult.failure(repository, e.getMessage()));
+                                    });
+                        },
+                        concurrency)
+                .contextWrite(BulkheadFilter::asSweep);
+    }
+}
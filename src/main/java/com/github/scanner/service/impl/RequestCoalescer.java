@@ -0,0 +1,52 @@
+package com.github.scanner.service.impl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical concurrent upstream requests.
+ * <p>
+ * Callers asking for the same key while a request is in flight subscribe to the one shared
+ * {@link Flux}/{@link Mono} instead of starting their own; late joiners get the elements emitted so
+ * far replayed. The entry is dropped as soon as the shared request terminates, so results are never
+ * served after the fact.
+ */
+public class RequestCoalescer {
+    
+    private final ConcurrentMap<String, Flux<?>> inFlightFluxes = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, Mono<?>> inFlightMonos = new ConcurrentHashMap<>();
+    
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> flux(String key, Supplier<Flux<T>> source) {
+        return Flux.defer(() -> (Flux<T>) inFlightFluxes.computeIfAbsent(key, k -> {
+            Object[] self = new Object[1];
+            Flux<T> shared = source.get()
+                    .doFinally(signal -> inFlightFluxes.remove(k, self[0]))
+                    .replay()
+                    .refCount();
+            self[0] = shared;
+            return shared;
+        }));
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> mono(String key, Supplier<Mono<T>> source) {
+        return Mono.defer(() -> (Mono<T>) inFlightMonos.computeIfAbsent(key, k -> {
+            Object[] self = new Object[1];
+            Mono<T> shared = source.get()
+                    .doFinally(signal -> inFlightMonos.remove(k, self[0]))
+                    .share();
+            self[0] = shared;
+            return shared;
+        }));
+    }
+    
+    public int inFlight() {
+        return inFlightFluxes.size() + inFlightMonos.size();
+    }
+}
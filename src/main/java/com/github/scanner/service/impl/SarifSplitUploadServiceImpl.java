@@ -0,0 +1,96 @@
+package com.github.scanner.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.client.BulkheadFilter;
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.sarif.SarifSplitter;
+import com.github.scanner.sarif.SarifUploadBody;
+import com.github.scanner.service.CodeScanningService;
+import com.github.scanner.service.SarifSplitUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SarifSplitUploadServiceImpl implements SarifSplitUploadService {
+    
+    private static final ObjectMapper RESPONSE_MAPPER = new ObjectMapper();
+    
+    private final CodeScanningService codeScanningService;
+    
+    @Value("${github.sarif.split.max-results-per-upload:25000}")
+    private int maxResultsPerUpload;
+    
+    @Value("${github.sarif.split.max-compressed-size:8MB}")
+    private DataSize maxCompressedSize;
+    
+    @Value("${github.sarif.split.max-concurrency:2}")
+    private int maxConcurrency;
+    
+    @Override
+    public Flux<SarifPartUpload> uploadSplit(String owner, String repo, UploadSarifRequest metadata, Path sarif) {
+        return Flux.using(() -> Files.createTempDirectory("sarif-parts-"),
+                directory -> Mono.fromCallable(() -> SarifSplitter.split(sarif, directory, maxResultsPerUpload, maxCompressedSize.toBytes()))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .doOnNext(parts -> log.info("Uploading SARIF for {}/{} in {} parts", owner, repo, parts.size()))
+                        .flatMapIterable(parts -> parts)
+                        // parts are answered in file order, at most maxConcurrency uploads at a time
+                        .flatMapSequential(part -> upload(owner, repo, metadata, part), maxConcurrency)
+                        .contextWrite(BulkheadFilter::asSweep),
+                SarifSplitUploadServiceImpl::deleteQuietly);
+    }
+    
+    private Mono<SarifPartUpload> upload(String owner, String repo, UploadSarifRequest metadata, SarifSplitter.Part part) {
+        SarifPartUpload.SarifPartUploadBuilder result = SarifPartUpload.builder()
+                .run(part.run())
+                .part(part.part())
+                .category(part.category())
+                .results(part.results());
+        
+        return codeScanningService.uploadSarifStream(owner, repo, metadata,
+                        DataBufferUtils.read(part.file(), DefaultDataBufferFactory.sharedInstance, SarifUploadBody.DEFAULT_CHUNK_SIZE))
+                .map(response -> {
+                    JsonNode body = readResponse(response);
+                    return result.success(true)
+                            .sarifId(body.path("id").asText(null))
+                            .url(body.path("url").asText(null))
+                            .build();
+                })
+                .onErrorResume(e -> {
+                    log.error("Error uploading part {} of run {} for {}/{}: {}", part.part(), part.run(), owner, repo, e.getMessage());
+                    return Mono.just(result.success(false).error(e.getMessage()).build());
+                });
+    }
+    
+    private static JsonNode readResponse(String response) {
+        try {
+            return RESPONSE_MAPPER.readTree(response);
+        } catch (IOException e) {
+            return RESPONSE_MAPPER.missingNode();
+        }
+    }
+    
+    private static void deleteQuietly(Path directory) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Could not delete SARIF parts in {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.scanner.service.impl;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.sarif.SarifReader;
+import com.github.scanner.sarif.SarifSummary;
+import com.github.scanner.sarif.SarifUploadBody;
+import com.github.scanner.service.CodeScanningService;
+import com.github.scanner.service.SarifSplitUploadService;
+import com.github.scanner.service.SarifStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BiFunction;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SarifStreamServiceImpl implements SarifStreamService {
+    
+    private final CodeScanningService codeScanningService;
+    
+    private final SarifSplitUploadService sarifSplitUploadService;
+    
+    @Value("${github.sarif.validate-uploads:true}")
+    private boolean validateUploads;
+    
+    @Override
+    public Mono<String> upload(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> sarif) {
+        if (!validateUploads) {
+            return codeScanningService.uploadSarifStream(owner, repo, metadata, sarif);
+        }
+        // Spool to disk and validate first, so a malformed file is rejected before any GitHub call.
+        return spooled(owner, repo, sarif, (file, summary) -> codeScanningService.uploadSarifStream(owner, repo, metadata,
+                        DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, SarifUploadBody.DEFAULT_CHUNK_SIZE)))
+                .next();
+    }
+    
+    @Override
+    public Flux<SarifPartUpload> uploadSplit(String owner, String repo, UploadSarifRequest metadata, Flux<DataBuffer> sarif) {
+        return spooled(owner, repo, sarif, (file, summary) -> sarifSplitUploadService.uploadSplit(owner, repo, metadata, file));
+    }
+    
+    @Override
+    public Mono<SarifSummary> summarize(String owner, String repo, Flux<DataBuffer> sarif) {
+        return spooled(owner, repo, sarif, (file, summary) -> Mono.just(summary)).next();
+    }
+    
+    /**
+     * Writes the body to a temporary file, validates it, and hands both to {@code then}; the file is
+     * deleted once the returned publisher terminates.
+     */
+    private <T> Flux<T> spooled(String owner, String repo, Flux<DataBuffer> sarif,
+                                BiFunction<Path, SarifSummary, Publisher<T>> then) {
+        return Flux.using(() -> Files.createTempFile("sarif-", ".json"),
+                file -> DataBufferUtils.write(sarif, file)
+                        .then(Mono.fromCallable(() -> validate(file, owner, repo))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                        .flatMapMany(summary -> then.apply(file, summary)),
+                SarifStreamServiceImpl::deleteQuietly);
+    }
+    
+    private static SarifSummary validate(Path file, String owner, String repo) throws IOException {
+        SarifSummary summary;
+        try (InputStream in = Files.newInputStream(file)) {
+            summary = SarifReader.summarize(in);
+        }
+        log.debug("Validated SARIF for {}/{}: {} runs, {} results", owner, repo, summary.getRuns().size(), summary.getTotalResults());
+        return summary;
+    }
+    
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled SARIF {}: {}", file, e.getMessage());
+        }
+    }
+}
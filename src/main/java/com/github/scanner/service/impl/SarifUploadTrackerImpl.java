@@ -0,0 +1,307 @@
+package com.github.scanner.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.dto.SarifProcessingStatus;
+import com.github.scanner.event.SarifUploadedEvent;
+import com.github.scanner.exception.SarifTrackerFullException;
+import com.github.scanner.service.CodeScanningService;
+import com.github.scanner.service.SarifUploadTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Follows the processing of uploaded SARIF files so clients do not have to poll GitHub themselves.
+ * <p>
+ * Every upload made through this application is tracked, as is any {@code sarif_id} a client asks
+ * about. A single scheduled task starts checks of the uploads that are due, at most
+ * {@code max-concurrency} at a time, without waiting for them on the scheduling thread; each upload is
+ * checked again after an interval that starts at {@code initial-interval} and doubles (with jitter) up
+ * to {@code max-interval} while it is pending. However many clients wait for an upload, GitHub is asked
+ * about it once per interval. Finished uploads are kept for {@code retention}; uploads still pending
+ * after {@code give-up-after} are no longer checked.
+ * <p>
+ * Ids only asked about by clients are kept once GitHub knows them: one that is not found on its first
+ * check is dropped, and at most {@code max-tracked} such ids are followed at a time. Any upload is
+ * dropped after {@code max-not-found} consecutive {@code 404}s.
+ */
+@Slf4j
+@Service
+public class SarifUploadTrackerImpl implements SarifUploadTracker {
+    
+    private static final ObjectMapper RESPONSE_MAPPER = new ObjectMapper();
+    
+    private final CodeScanningService codeScanningService;
+    
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    
+    private final Duration initialInterval;
+    
+    private final Duration maxInterval;
+    
+    private final Duration giveUpAfter;
+    
+    private final Duration retention;
+    
+    private final int maxConcurrency;
+    
+    private final int maxTracked;
+    
+    private final int maxNotFound;
+    
+    private final AtomicBoolean checking = new AtomicBoolean();
+    
+    private final MeterRegistry meterRegistry;
+    
+    public SarifUploadTrackerImpl(CodeScanningService codeScanningService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${github.sarif.tracker.initial-interval:2s}") Duration initialInterval,
+                                  @Value("${github.sarif.tracker.max-interval:30s}") Duration maxInterval,
+                                  @Value("${github.sarif.tracker.give-up-after:1h}") Duration giveUpAfter,
+                                  @Value("${github.sarif.tracker.retention:1h}") Duration retention,
+                                  @Value("${github.sarif.tracker.max-concurrency:4}") int maxConcurrency,
+                                  @Value("${github.sarif.tracker.max-tracked:1000}") int maxTracked,
+                                  @Value("${github.sarif.tracker.max-not-found:10}") int maxNotFound) {
+        this.codeScanningService = codeScanningService;
+        this.meterRegistry = meterRegistry;
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.giveUpAfter = giveUpAfter;
+        this.retention = retention;
+        this.maxConcurrency = maxConcurrency;
+        this.maxTracked = maxTracked;
+        this.maxNotFound = maxNotFound;
+        
+        Gauge.builder("github.sarif.tracker.pending", uploads, u -> u.values().stream().filter(upload -> !upload.isFinished()).count())
+                .description("Tracked SARIF uploads GitHub is still processing")
+                .register(meterRegistry);
+    }
+    
+    @EventListener
+    public void onSarifUploaded(SarifUploadedEvent event) {
+        upload(event.getOwner(), event.getRepo(), event.getSarifId(), true);
+    }
+    
+    @Override
+    public SarifProcessingStatus track(String owner, String repo, String sarifId) {
+        return upload(owner, repo, sarifId, false).status;
+    }
+    
+    @Override
+    public Mono<SarifProcessingStatus> awaitCompletion(String owner, String repo, String sarifId, Duration timeout) {
+        Upload upload;
+        try {
+            upload = upload(owner, repo, sarifId, false);
+        } catch (SarifTrackerFullException e) {
+            return Mono.error(e);
+        }
+        return upload.updates.asFlux()
+                .filter(SarifProcessingStatus::isDone)
+                .next()
+                .timeout(timeout, Mono.fromSupplier(() -> upload.status))
+                // a tracker that gave up completes without a final status
+                .switchIfEmpty(Mono.fromSupplier(() -> upload.status));
+    }
+    
+    @Override
+    public Flux<SarifProcessingStatus> watch(String owner, String repo, String sarifId) {
+        return Flux.defer(() -> upload(owner, repo, sarifId, false).updates.asFlux());
+    }
+    
+    @Scheduled(fixedDelayString = "${github.sarif.tracker.tick:PT1S}")
+    public void checkDue() {
+        Instant now = Instant.now();
+        List<Upload> due = new ArrayList<>();
+        uploads.entrySet().removeIf(entry -> {
+            Upload upload = entry.getValue();
+            if (upload.finishedAt != null) {
+                return upload.finishedAt.plus(retention).isBefore(now);
+            }
+            if (upload.trackedAt.plus(giveUpAfter).isBefore(now)) {
+                log.warn("Giving up on SARIF upload {}, still {} after {}", entry.getKey(), upload.status.getProcessingStatus(), giveUpAfter);
+                upload.updates.tryEmitComplete();
+                return true;
+            }
+            if (!upload.nextCheckAt.isAfter(now)) {
+                due.add(upload);
+            }
+            return false;
+        });
+        if (due.isEmpty() || !checking.compareAndSet(false, true)) {
+            return;
+        }
+        
+        log.debug("Checking {} of {} tracked SARIF uploads", due.size(), uploads.size());
+        Flux.fromIterable(due)
+                .flatMap(this::check, maxConcurrency)
+                .doFinally(signal -> checking.set(false))
+                .subscribe(null, e -> log.error("Error checking SARIF uploads: {}", e.getMessage()));
+    }
+    
+    private Mono<Void> check(Upload upload) {
+        return codeScanningService.getSarifInformation(upload.owner, upload.repo, upload.sarifId)
+                .doOnNext(response -> {
+                    JsonNode body = readResponse(response);
+                    List<String> errors = new ArrayList<>();
+                    body.path("errors").forEach(error -> errors.add(error.asText()));
+                    upload.update(upload.status.toBuilder()
+                            .processingStatus(body.path("processing_status").asText("pending"))
+                            .analysesUrl(body.path("analyses_url").asText(null))
+                            .errors(errors.isEmpty() ? null : errors)
+                            .lastError(null)
+                            .build());
+                    upload.resolved = true;
+                    upload.notFound = 0;
+                    count("ok");
+                })
+                .onErrorResume(e -> {
+                    upload.update(upload.status.toBuilder().lastError(e.getMessage()).build());
+                    if (!isNotFound(e)) {
+                        count("error");
+                        return Mono.empty();
+                    }
+                    count("not_found");
+                    // GitHub answers 404 until it has started processing a new upload, so only uploads made
+                    // here get a few more tries; an id a client made up is dropped right away.
+                    upload.notFound++;
+                    if (!upload.resolved || upload.notFound >= maxNotFound) {
+                        log.debug("Dropping SARIF upload {} after {} not-found response(s)", upload.key, upload.notFound);
+                        uploads.remove(upload.key, upload);
+                        upload.updates.tryEmitComplete();
+                    }
+                    return Mono.empty();
+                })
+                .doFinally(signal -> upload.scheduleNextCheck())
+                .then();
+    }
+    
+    private void count(String result) {
+        Counter.builder("github.sarif.tracker.checks")
+                .description("Checks of SARIF processing status made by the upload tracker")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * The tracked upload, tracking it first if needed; {@code uploadedHere} marks uploads made by this
+     * application, which GitHub is known to have accepted.
+     */
+    private Upload upload(String owner, String repo, String sarifId, boolean uploadedHere) {
+        String key = (owner + "/" + repo).toLowerCase(Locale.ROOT) + "#" + sarifId;
+        Upload existing = uploads.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (!uploadedHere && uploads.size() >= maxTracked) {
+            throw new SarifTrackerFullException("Too many SARIF uploads are being tracked; try again later");
+        }
+        return uploads.computeIfAbsent(key, k -> {
+            log.debug("Tracking SARIF upload {}", k);
+            Upload upload = new Upload(k, owner, repo, sarifId);
+            upload.resolved = uploadedHere;
+            return upload;
+        });
+    }
+    
+    private static boolean isNotFound(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response && response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static JsonNode readResponse(String response) {
+        try {
+            return RESPONSE_MAPPER.readTree(response);
+        } catch (IOException e) {
+            return RESPONSE_MAPPER.missingNode();
+        }
+    }
+    
+    private class Upload {
+        private final String key;
+        private final String owner;
+        private final String repo;
+        private final String sarifId;
+        private final Instant trackedAt = Instant.now();
+        private final Sinks.Many<SarifProcessingStatus> updates = Sinks.many().replay().latest();
+        private volatile SarifProcessingStatus status;
+        private volatile Instant nextCheckAt = Instant.now();
+        private volatile Instant finishedAt;
+        private Duration interval = initialInterval;
+        private volatile boolean resolved;
+        private volatile int notFound;
+        
+        Upload(String key, String owner, String repo, String sarifId) {
+            this.key = key;
+            this.owner = owner;
+            this.repo = repo;
+            this.sarifId = sarifId;
+            this.status = SarifProcessingStatus.builder()
+                    .repository(owner + "/" + repo)
+                    .sarifId(sarifId)
+                    .processingStatus("pending")
+                    .checks(0)
+                    .submittedAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+            updates.tryEmitNext(status);
+        }
+        
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+        
+        synchronized void update(SarifProcessingStatus next) {
+            boolean changed = !Objects.equals(next.getProcessingStatus(), status.getProcessingStatus())
+                    || !Objects.equals(next.getErrors(), status.getErrors())
+                    || !Objects.equals(next.getLastError(), status.getLastError());
+            status = next.toBuilder()
+                    .checks(status.getChecks() + 1)
+                    .updatedAt(changed ? LocalDateTime.now() : status.getUpdatedAt())
+                    .build();
+            // watchers only hear about changes, not about every check
+            if (changed) {
+                updates.tryEmitNext(status);
+            }
+            if (status.isDone()) {
+                finishedAt = Instant.now();
+                updates.tryEmitComplete();
+            }
+        }
+        
+        synchronized void scheduleNextCheck() {
+            long jittered = (long) (interval.toMillis() * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+            nextCheckAt = Instant.now().plusMillis(jittered);
+            Duration doubled = interval.multipliedBy(2);
+            interval = doubled.compareTo(maxInterval) > 0 ? maxInterval : doubled;
+        }
+    }
+}
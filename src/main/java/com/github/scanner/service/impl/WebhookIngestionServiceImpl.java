@@ -0,0 +1,168 @@
+package com.github.scanner.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.client.FlyweightModule;
+import com.github.scanner.client.FlyweightPool;
+import com.github.scanner.dto.CodeScanningAlertWebhook;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.exception.WebhookRejectedException;
+import com.github.scanner.mirror.AlertIndex;
+import com.github.scanner.service.WebhookIngestionService;
+import com.github.scanner.webhook.WebhookSignatureVerifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Accepts {@code code_scanning_alert} deliveries into a bounded queue and applies them in batches on a
+ * single worker thread, publishing an {@link AlertObservedEvent} per alert so the alert mirror and
+ * summaries pick up the change. Request threads only verify, parse and enqueue; when a storm fills the
+ * queue further deliveries are answered with 503 instead of blocking. Within a batch only the latest
+ * delivery per alert is applied.
+ */
+@Slf4j
+@Service
+public class WebhookIngestionServiceImpl implements WebhookIngestionService, DisposableBean {
+    
+    static final String ALERT_EVENT = "code_scanning_alert";
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final WebhookSignatureVerifier signatureVerifier;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final BlockingQueue<CodeScanningAlertWebhook> queue;
+    
+    private final Sinks.Many<CodeScanningAlertWebhook> sink;
+    
+    private final Scheduler worker = Schedulers.newSingle("webhook-ingestion");
+    
+    private final Disposable subscription;
+    
+    private final MeterRegistry meterRegistry;
+    
+    public WebhookIngestionServiceImpl(ApplicationEventPublisher eventPublisher,
+                                       WebhookSignatureVerifier signatureVerifier,
+                                       FlyweightPool flyweightPool,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${github.webhook.queue-capacity:10000}") int queueCapacity,
+                                       @Value("${github.webhook.batch-size:200}") int batchSize,
+                                       @Value("${github.webhook.batch-interval:500ms}") Duration batchInterval) {
+        this.eventPublisher = eventPublisher;
+        this.signatureVerifier = signatureVerifier;
+        this.meterRegistry = meterRegistry;
+        // webhook payloads use lowercase states ("open", "dismissed") and may carry states newer than the enum
+        this.objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS,
+                        DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)
+                .modulesToInstall(new FlyweightModule(flyweightPool))
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(queue);
+        this.subscription = sink.asFlux()
+                // only pull what the worker can take, so a backlog stays in (and is bounded by) the queue
+                .bufferTimeout(batchSize, batchInterval, true)
+                .publishOn(worker, 1)
+                .subscribe(this::apply, e -> log.error("Webhook ingestion stopped: {}", e.getMessage(), e));
+        
+        Gauge.builder("github.webhook.queue.size", queue, BlockingQueue::size)
+                .description("Webhook deliveries waiting to be applied")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean ingest(String event, String signature, byte[] payload) {
+        if (!signatureVerifier.verify(payload, signature)) {
+            count(null, "invalid_signature");
+            throw new WebhookRejectedException(HttpStatus.UNAUTHORIZED, "Invalid webhook signature");
+        }
+        if (!ALERT_EVENT.equals(event)) {
+            count(event, "ignored");
+            return false;
+        }
+        
+        CodeScanningAlertWebhook delivery;
+        try {
+            delivery = objectMapper.readValue(payload, CodeScanningAlertWebhook.class);
+        } catch (IOException e) {
+            count(event, "invalid_payload");
+            throw new WebhookRejectedException(HttpStatus.BAD_REQUEST, "Malformed " + ALERT_EVENT + " payload: " + e.getMessage());
+        }
+        if (delivery.getAlert() == null) {
+            count(event, "invalid_payload");
+            throw new WebhookRejectedException(HttpStatus.BAD_REQUEST, "Missing alert in " + ALERT_EVENT + " payload");
+        }
+        
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(delivery);
+        }
+        if (result.isFailure()) {
+            count(event, "dropped");
+            throw new WebhookRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Webhook ingestion queue is full");
+        }
+        count(event, "queued");
+        return true;
+    }
+    
+    @Override
+    public void destroy() {
+        subscription.dispose();
+        worker.dispose();
+    }
+    
+    private void apply(List<CodeScanningAlertWebhook> batch) {
+        Map<String, CodeScanningAlertWebhook> latest = new LinkedHashMap<>();
+        for (CodeScanningAlertWebhook delivery : batch) {
+            // webhook alerts carry their repository at the top level of the payload
+            if (delivery.getAlert().getRepository() == null) {
+                delivery.getAlert().setRepository(delivery.getRepository());
+            }
+            String key = AlertIndex.keyOf(delivery.getAlert());
+            latest.put(key != null ? key : "delivery-" + System.identityHashCode(delivery), delivery);
+        }
+        
+        for (CodeScanningAlertWebhook delivery : latest.values()) {
+            try {
+                eventPublisher.publishEvent(new AlertObservedEvent(null, null, null, delivery.getAlert()));
+            } catch (RuntimeException e) {
+                log.error("Error applying {} webhook for alert {}: {}", delivery.getAction(), delivery.getAlert().getNumber(), e.getMessage());
+            }
+        }
+        log.debug("Applied {} alert changes from {} webhook deliveries", latest.size(), batch.size());
+        Counter.builder("github.webhook.applied")
+                .description("Alert changes applied from webhook deliveries")
+                .register(meterRegistry)
+                .increment(latest.size());
+    }
+    
+    private void count(String event, String result) {
+        Counter.builder("github.webhook.deliveries")
+                .description("GitHub webhook deliveries by event type and outcome")
+                .tags("event", event != null ? event : "unknown", "result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
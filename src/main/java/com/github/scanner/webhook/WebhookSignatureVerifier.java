@@ -0,0 +1,69 @@
+package com.github.scanner.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Checks the {@code X-Hub-Signature-256} header GitHub sends with every webhook delivery: the
+ * HMAC-SHA256 of the raw request body keyed with the webhook secret, as {@code sha256=<hex>}.
+ */
+@Slf4j
+@Component
+public class WebhookSignatureVerifier {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    
+    private static final String PREFIX = "sha256=";
+    
+    private final byte[] secret;
+    
+    public WebhookSignatureVerifier(@Value("${github.webhook.secret:}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        if (this.secret.length == 0) {
+            log.warn("github.webhook.secret is not set; all webhook deliveries will be rejected");
+        }
+    }
+    
+    public boolean isConfigured() {
+        return secret.length > 0;
+    }
+    
+    public boolean verify(byte[] payload, String signature) {
+        if (!isConfigured() || signature == null || !signature.startsWith(PREFIX)) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(signature.substring(PREFIX.length()).trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // constant-time comparison, so the signature cannot be guessed byte by byte
+        return MessageDigest.isEqual(expected, sign(secret, payload));
+    }
+    
+    /**
+     * Computes the header value for {@code payload}, e.g. to replay recorded deliveries.
+     */
+    public static String signatureOf(String secret, byte[] payload) {
+        return PREFIX + HexFormat.of().formatHex(sign(secret.getBytes(StandardCharsets.UTF_8), payload));
+    }
+    
+    private static byte[] sign(byte[] key, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
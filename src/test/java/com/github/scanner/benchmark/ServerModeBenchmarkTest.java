@@ -0,0 +1,239 @@
+package com.github.scanner.benchmark;
+
+import com.github.scanner.GithubCodeScannerApplication;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the servlet (Tomcat) and reactive (Netty, {@code reactive} profile) server modes under
+ * concurrent requests that each wait on a slow GitHub.
+ * <p>
+ * A stub GitHub answers every alert lookup after a fixed latency. For each mode and concurrency level,
+ * that many clients fetch an alert back to back for the measurement window, and the report gives
+ * throughput, latency percentiles, failures, peak thread count and requests per CPU-second spent by the
+ * application (the stub and the load clients run on their own event loops and are not counted).
+ * Requests per CPU-second is the per-core figure to compare; restrict the JVM with
+ * {@code -XX:ActiveProcessorCount} to see how each mode behaves on a small container.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn -Pbenchmark test}. Settings are system properties:
+ * {@code benchmark.modes} (default {@code servlet,reactive}), {@code benchmark.concurrency}
+ * ({@code 100,500,2000}), {@code benchmark.upstream-latency} ({@code 500ms}), {@code benchmark.warmup}
+ * ({@code 5s}) and {@code benchmark.duration} ({@code 15s}).
+ */
+@Tag("benchmark")
+class ServerModeBenchmarkTest {
+    
+    private static final String ALERT_JSON = """
+            {"number":1,"state":"open","created_at":"2024-01-01T00:00:00Z",\
+            "url":"https://api.github.com/repos/bench/repo/code-scanning/alerts/1",\
+            "html_url":"https://github.com/bench/repo/security/code-scanning/1",\
+            "rule":{"id":"js/sql-injection","severity":"error","security_severity_level":"high",\
+            "description":"Database query built from user-controlled sources","name":"js/sql-injection"},\
+            "tool":{"name":"CodeQL","version":"2.15.0"},\
+            "most_recent_instance":{"ref":"refs/heads/main","state":"open","commit_sha":"abc123",\
+            "location":{"path":"src/db.js","start_line":10,"end_line":10,"start_column":5,"end_column":42}}}""";
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private static final String UPSTREAM_THREADS = "bench-upstream";
+    
+    private static final String CLIENT_THREADS = "bench-client";
+    
+    private static LoopResources upstreamLoops;
+    
+    private static LoopResources clientLoops;
+    
+    private static DisposableServer upstream;
+    
+    @BeforeAll
+    static void startUpstream() {
+        Duration latency = duration("benchmark.upstream-latency", "500ms");
+        upstreamLoops = LoopResources.create(UPSTREAM_THREADS, 2, true);
+        clientLoops = LoopResources.create(CLIENT_THREADS, 2, true);
+        byte[] body = ALERT_JSON.getBytes(StandardCharsets.UTF_8);
+        upstream = HttpServer.create()
+                .runOn(upstreamLoops)
+                .port(0)
+                .handle((request, response) -> Mono.delay(latency)
+                        .then(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                .sendByteArray(Mono.just(body))
+                                .then()))
+                .bindNow();
+    }
+    
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+        clientLoops.disposeLater().block();
+        upstreamLoops.disposeLater().block();
+    }
+    
+    @Test
+    void compareServerModes() {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("benchmark.concurrency", "100,500,2000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int maxConcurrency = Arrays.stream(concurrencyLevels).max().orElseThrow();
+        
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-8s %11s %9s %9s %9s %9s %8s %12s",
+                "mode", "concurrency", "req/s", "p50 ms", "p99 ms", "failures", "threads", "req/cpu-s"));
+        for (String mode : System.getProperty("benchmark.modes", "servlet,reactive").split(",")) {
+            try (ConfigurableApplicationContext context = start(mode.trim(), maxConcurrency)) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                for (int concurrency : concurrencyLevels) {
+                    Result result = run(port, concurrency);
+                    report.add(String.format("%-8s %11d %9.0f %9.1f %9.1f %9d %8d %12.0f",
+                            mode.trim(), concurrency, result.throughput(), result.p50Millis(), result.p99Millis(),
+                            result.failures(), result.peakThreads(), result.requestsPerCpuSecond()));
+                    assertThat(result.completed()).isPositive();
+                }
+            }
+        }
+        System.out.println(String.join(System.lineSeparator(), report));
+    }
+    
+    private static ConfigurableApplicationContext start(String mode, int maxConcurrency) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--github.api.base-url=http://localhost:" + upstream.port(),
+                // Only the server mode should limit concurrency, not the client pool or resilience settings.
+                "--github.api.http.pool.max-connections=" + maxConcurrency,
+                "--github.api.resilience.bulkhead.interactive-max-concurrent=" + maxConcurrency,
+                "--github.api.http.pool.pending-acquire-max-count=" + maxConcurrency,
+                "--github.api.resilience.circuit-breaker.enabled=false",
+                "--logging.level.com.github.scanner=WARN"));
+        if ("reactive".equals(mode)) {
+            args.add("--spring.profiles.active=reactive");
+        }
+        return new SpringApplicationBuilder(GithubCodeScannerApplication.class).run(args.toArray(String[]::new));
+    }
+    
+    private static Result run(int port, int concurrency) {
+        ConnectionProvider connections = ConnectionProvider.builder("bench-" + concurrency)
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections)
+                .runOn(clientLoops)
+                .baseUrl("http://localhost:" + port + "/api")
+                .responseTimeout(REQUEST_TIMEOUT);
+        try {
+            drive(client, concurrency, duration("benchmark.warmup", "5s"), new ConcurrentLinkedQueue<>(), new AtomicLong());
+            
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long cpuBefore = applicationCpuNanos(threads);
+            long start = System.nanoTime();
+            Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicLong failures = new AtomicLong();
+            drive(client, concurrency, duration("benchmark.duration", "15s"), latencies, failures);
+            long elapsed = System.nanoTime() - start;
+            long cpu = applicationCpuNanos(threads) - cpuBefore;
+            
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(sorted.length, failures.get(), elapsed, cpu, threads.getPeakThreadCount(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99));
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+    
+    /**
+     * Runs {@code concurrency} closed-loop clients, each on its own repository so no two in-flight requests are coalesced.
+     */
+    private static void drive(HttpClient client, int concurrency, Duration duration, Queue<Long> latencies, AtomicLong failures) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, concurrency)
+                .flatMap(user -> Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextLong(100)))
+                        .then(Mono.defer(() -> request(client, user, latencies, failures))
+                                .repeat(() -> System.nanoTime() < deadline)
+                                .then()), concurrency)
+                .blockLast(duration.plus(REQUEST_TIMEOUT).plusSeconds(10));
+    }
+    
+    private static Mono<Void> request(HttpClient client, int user, Queue<Long> latencies, AtomicLong failures) {
+        long start = System.nanoTime();
+        return client.get()
+                .uri("/repos/bench/repo-" + user + "/code-scanning/alerts/1")
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> response.status().code()))
+                .doOnNext(status -> {
+                    if (status == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                })
+                .onErrorResume(e -> {
+                    failures.incrementAndGet();
+                    return Mono.empty();
+                })
+                .then();
+    }
+    
+    /**
+     * CPU time of the whole process minus the stub GitHub and the load clients.
+     */
+    private static long applicationCpuNanos(ThreadMXBean threads) {
+        long process = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+        long harness = Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds()))
+                .filter(info -> info != null
+                        && (info.getThreadName().startsWith(UPSTREAM_THREADS) || info.getThreadName().startsWith(CLIENT_THREADS)))
+                .mapToLong(info -> Math.max(0, threads.getThreadCpuTime(info.getThreadId())))
+                .sum();
+        return process - harness;
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+    }
+    
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+    
+    private record Result(long completed, long failures, long elapsedNanos, long cpuNanos, int peakThreads,
+                          double p50Millis, double p99Millis) {
+        
+        double throughput() {
+            return completed * 1_000_000_000.0 / elapsedNanos;
+        }
+        
+        double requestsPerCpuSecond() {
+            return cpuNanos > 0 ? completed * 1_000_000_000.0 / cpuNanos : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.scanner.benchmark;
+
+import com.github.scanner.GithubCodeScannerApplication;
+import com.github.scanner.simulator.GitHubSimulator;
+import com.github.scanner.simulator.LoadTestDriver;
+import com.github.scanner.simulator.SimulatorSettings;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of the application against a {@link GitHubSimulator}, all in one JVM: starts the simulator,
+ * starts the application pointed at it, runs the {@link LoadTestDriver} and prints its per-endpoint
+ * throughput and latency report followed by the simulator's response counts (where {@code 304}s show the
+ * conditional cache at work and {@code 403}/{@code 429}s the rate limits).
+ * <p>
+ * Excluded from the regular build; run with {@code mvn -Pbenchmark test -Dtest=SimulatedGitHubLoadTest}.
+ * The simulator is configured with the {@code simulator.*} system properties of {@link SimulatorSettings}
+ * (its port defaults to a free one here) and the driver with the {@code loadtest.*} ones of
+ * {@link LoadTestDriver}, except {@code loadtest.target}; {@code loadtest.app-args} adds space-separated
+ * arguments for the application, e.g. {@code --spring.profiles.active=reactive}.
+ */
+@Tag("benchmark")
+class SimulatedGitHubLoadTest {
+    
+    @Test
+    void driveApplicationAgainstSimulator() {
+        SimulatorSettings simulatorSettings = SimulatorSettings.fromSystemProperties().toBuilder()
+                .port(Integer.getInteger("simulator.port", 0))
+                .build();
+        LoadTestDriver.Settings driverSettings = LoadTestDriver.Settings.fromSystemProperties();
+        
+        try (GitHubSimulator simulator = GitHubSimulator.start(simulatorSettings);
+             ConfigurableApplicationContext context = start(simulator, driverSettings.concurrency())) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestDriver.Report report = LoadTestDriver.run(
+                    driverSettings.toBuilder().target("http://localhost:" + port + "/api").build(), simulatorSettings);
+            
+            System.out.println(report.format());
+            System.out.println("Simulator responses by status: " + simulator.stats());
+            assertThat(report.total().completed()).isPositive();
+        }
+    }
+    
+    private static ConfigurableApplicationContext start(GitHubSimulator simulator, int concurrency) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--github.api.base-url=" + simulator.baseUrl(),
+                // Let the simulated GitHub, not the client pool or bulkhead, be what limits throughput.
+                "--github.api.http.pool.max-connections=" + concurrency,
+                "--github.api.resilience.bulkhead.interactive-max-concurrent=" + concurrency,
+                "--github.api.http.pool.pending-acquire-max-count=" + concurrency,
+                "--logging.level.com.github.scanner=WARN"));
+        String appArgs = System.getProperty("loadtest.app-args", "");
+        Arrays.stream(appArgs.split("\\s+")).filter(arg -> !arg.isBlank()).forEach(args::add);
+        return new SpringApplicationBuilder(GithubCodeScannerApplication.class).run(args.toArray(String[]::new));
+    }
+}
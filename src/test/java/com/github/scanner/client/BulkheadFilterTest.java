@@ -0,0 +1,113 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.ResilienceProperties;
+import com.github.scanner.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+    
+    private static final ClientRequest ORG_ALERTS = ClientRequest.create(HttpMethod.GET,
+            URI.create("https://api.github.com/orgs/test/code-scanning/alerts")).build();
+    
+    private static final ClientRequest ALERT = ClientRequest.create(HttpMethod.GET,
+            URI.create("https://api.github.com/repos/test/repo/code-scanning/alerts/1")).build();
+    
+    private BulkheadFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getBulkhead().setSweepMaxConcurrent(1);
+        properties.getBulkhead().setInteractiveMaxConcurrent(1);
+        properties.getBulkhead().setMaxWait(Duration.ofMillis(100));
+        filter = new BulkheadFilter(properties);
+    }
+    
+    @Test
+    void testSweepDoesNotBlockInteractiveLookups() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        filter.filter(ORG_ALERTS, req -> pending.asMono()).flatMap(ClientResponse::releaseBody).subscribe();
+        
+        StepVerifier.create(filter.filter(ORG_ALERTS, ok()))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+        
+        StepVerifier.create(filter.filter(ALERT, ok()).flatMap(ClientResponse::releaseBody))
+                .verifyComplete();
+        
+        pending.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        StepVerifier.create(filter.filter(ORG_ALERTS, ok()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+    
+    @Test
+    void testWaiterGetsSlotWhenReleased() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        filter.filter(ALERT, req -> pending.asMono()).flatMap(ClientResponse::releaseBody).subscribe();
+        
+        StepVerifier.create(filter.filter(ALERT, ok()).flatMap(response -> response.bodyToMono(String.class)))
+                .then(() -> pending.tryEmitValue(ClientResponse.create(HttpStatus.OK).build()))
+                .expectNext("ok")
+                .verifyComplete();
+        
+        assertThat(filter.getBulkheads()).allSatisfy(bulkhead -> {
+            assertThat(bulkhead.getInUse()).isZero();
+            assertThat(bulkhead.getWaiting()).isZero();
+        });
+    }
+    
+    @Test
+    void testSlotIsHeldUntilBodyIsConsumed() {
+        ClientResponse response = filter.filter(ALERT, ok()).block();
+        
+        assertThat(filter.getBulkheads().get(1).getInUse()).isEqualTo(1);
+        StepVerifier.create(filter.filter(ALERT, ok()))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+        
+        StepVerifier.create(response.bodyToMono(String.class))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(filter.getBulkheads().get(1).getInUse()).isZero();
+    }
+    
+    @Test
+    void testSlotIsReleasedOnErrorAndCancel() {
+        StepVerifier.create(filter.filter(ALERT, req -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        filter.filter(ALERT, req -> Mono.never()).subscribe().dispose();
+        
+        assertThat(filter.getBulkheads().get(1).getInUse()).isZero();
+    }
+    
+    @Test
+    void testSweepContextRoutesRepositoryRequests() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        filter.filter(ALERT, req -> pending.asMono())
+                .contextWrite(BulkheadFilter::asSweep)
+                .subscribe();
+        
+        assertThat(filter.getBulkheads().get(0).getInUse()).isEqualTo(1);
+        assertThat(filter.getBulkheads().get(1).getInUse()).isZero();
+    }
+    
+    private static ExchangeFunction ok() {
+        return req -> Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build());
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.ResilienceProperties;
+import com.github.scanner.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerFilterTest {
+    
+    private static final ClientRequest ALERT = ClientRequest.create(HttpMethod.GET,
+            URI.create("https://api.github.com/repos/test/repo/code-scanning/alerts/1")).build();
+    
+    private static final ClientRequest ANALYSES = ClientRequest.create(HttpMethod.GET,
+            URI.create("https://api.github.com/repos/test/repo/code-scanning/analyses")).build();
+    
+    private ResilienceProperties properties;
+    private CircuitBreakerFilter filter;
+    private AtomicInteger sent;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        filter = new CircuitBreakerFilter(properties, new SimpleMeterRegistry());
+        sent = new AtomicInteger();
+    }
+    
+    @Test
+    void testOpensAfterFailureRateAndFailsFast() {
+        respond(ALERT, HttpStatus.OK);
+        respond(ALERT, HttpStatus.OK);
+        respond(ALERT, HttpStatus.BAD_GATEWAY);
+        respond(ALERT, HttpStatus.SERVICE_UNAVAILABLE);
+        
+        StepVerifier.create(filter.filter(ALERT, exchange(HttpStatus.OK)))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+        
+        assertThat(sent).hasValue(4);
+        assertThat(filter.getBreakers().get("GET /repos/{owner}/{repo}/code-scanning/alerts/{alert_number}").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+    
+    @Test
+    void testRoutesHaveSeparateBreakers() {
+        for (int i = 0; i < 4; i++) {
+            respond(ALERT, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        
+        respond(ANALYSES, HttpStatus.OK);
+        
+        assertThat(sent).hasValue(5);
+    }
+    
+    @Test
+    void testIoErrorsCountAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(filter.filter(ALERT, req -> {
+                        sent.incrementAndGet();
+                        return Mono.error(new IllegalStateException("connection reset"));
+                    }))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+        }
+        
+        StepVerifier.create(filter.filter(ALERT, exchange(HttpStatus.OK)))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+    }
+    
+    @Test
+    void testDisabledBreakerPassesThrough() {
+        properties.getCircuitBreaker().setEnabled(false);
+        for (int i = 0; i < 6; i++) {
+            respond(ALERT, HttpStatus.BAD_GATEWAY);
+        }
+        
+        assertThat(sent).hasValue(6);
+        assertThat(filter.getBreakers()).isEmpty();
+    }
+    
+    @Test
+    void testHalfOpenTrialsCloseBreaker() {
+        ResilienceProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+        settings.setOpenDuration(Duration.ofSeconds(30));
+        settings.setHalfOpenCalls(2);
+        CircuitBreaker breaker = new CircuitBreaker(settings);
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryAcquire(now)).isTrue();
+            breaker.record(true, Duration.ofMillis(10), now);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(now.plusSeconds(29))).isFalse();
+        
+        Instant later = now.plusSeconds(30);
+        assertThat(breaker.tryAcquire(later)).isTrue();
+        assertThat(breaker.tryAcquire(later)).isTrue();
+        assertThat(breaker.tryAcquire(later)).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        
+        breaker.record(false, Duration.ofMillis(10), later);
+        breaker.record(false, Duration.ofMillis(10), later);
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getRecordedCalls()).isZero();
+    }
+    
+    @Test
+    void testSlowCallsOpenBreaker() {
+        ResilienceProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+        settings.setSlowCallDuration(Duration.ofSeconds(5));
+        settings.setSlowCallRateThreshold(75);
+        CircuitBreaker breaker = new CircuitBreaker(settings);
+        Instant now = Instant.now();
+        
+        breaker.record(false, Duration.ofSeconds(6), now);
+        breaker.record(false, Duration.ofSeconds(6), now);
+        breaker.record(false, Duration.ofMillis(100), now);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        
+        breaker.record(false, Duration.ofSeconds(7), now);
+        
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getSlowCallRate()).isEqualTo(75.0);
+    }
+    
+    private void respond(ClientRequest request, HttpStatus status) {
+        StepVerifier.create(filter.filter(request, exchange(status)))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(status))
+                .verifyComplete();
+    }
+    
+    private ExchangeFunction exchange(HttpStatus status) {
+        return req -> {
+            sent.incrementAndGet();
+            return Mono.just(ClientResponse.create(status).build());
+        };
+    }
+}
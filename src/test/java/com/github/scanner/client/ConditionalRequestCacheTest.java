@@ -0,0 +1,241 @@
+package com.github.scanner.client;
+
+import com.github.scanner.exception.UpstreamUnavailableException;
+import com.github.scanner.model.CodeScanningAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestCacheTest {
+
+    private static final URI ALERTS_URI = URI.create("https://api.github.com/repos/test/repo/code-scanning/alerts?state=open");
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalRequestCache cache;
+    private List<ClientRequest> sentRequests;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConditionalRequestCache(meterRegistry, true, 10, DataSize.ofKilobytes(1));
+        sentRequests = new ArrayList<>();
+    }
+
+    @Test
+    void testNotModifiedServedFromCache() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, ALERTS_URI).build();
+
+        StepVerifier.create(cache.filter(request, req -> {
+                    sentRequests.add(req);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.ETAG, "\"v1\"")
+                            .body("[{\"number\":1}]")
+                            .build());
+                }).flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext("[{\"number\":1}]")
+                .verifyComplete();
+
+        StepVerifier.create(cache.filter(request, req -> {
+                    sentRequests.add(req);
+                    return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                            .header("X-RateLimit-Remaining", "4999")
+                            .build());
+                }))
+                .assertNext(response -> {
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.headers().asHttpHeaders().getETag()).isEqualTo("\"v1\"");
+                    assertThat(response.headers().asHttpHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("4999");
+                    StepVerifier.create(response.bodyToMono(String.class))
+                            .expectNext("[{\"number\":1}]")
+                            .verifyComplete();
+                })
+                .verifyComplete();
+
+        assertThat(sentRequests).hasSize(2);
+        assertThat(sentRequests.get(0).headers().getIfNoneMatch()).isEmpty();
+        assertThat(sentRequests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(meterRegistry.get("github.api.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("github.api.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testResponseWithoutValidatorIsNotCached() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, ALERTS_URI).build();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.filter(request, req -> {
+                        sentRequests.add(req);
+                        return Mono.just(ClientResponse.create(HttpStatus.OK).body("[]").build());
+                    }))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertThat(sentRequests).allSatisfy(sent -> assertThat(sent.headers().getIfNoneMatch()).isEmpty());
+        assertThat(meterRegistry.get("github.api.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void testNonGetRequestsBypassCache() {
+        ClientRequest request = ClientRequest.create(HttpMethod.PATCH, ALERTS_URI).build();
+
+        StepVerifier.create(cache.filter(request, req -> {
+                    sentRequests.add(req);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.ETAG, "\"v1\"")
+                            .body("{}")
+                            .build());
+                }))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("github.api.cache.size").gauge().value()).isZero();
+        assertThat(meterRegistry.get("github.api.cache.requests").tag("result", "miss").counter().count()).isZero();
+    }
+
+    @Test
+    void testCachedResponseServedWhileUpstreamUnavailable() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, ALERTS_URI).build();
+
+        StepVerifier.create(cache.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.ETAG, "\"v1\"")
+                        .body("[{\"number\":1}]")
+                        .build())).flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext("[{\"number\":1}]")
+                .verifyComplete();
+
+        StepVerifier.create(cache.filter(request, req -> Mono.error(new UpstreamUnavailableException("open"))))
+                .assertNext(response -> {
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.headers().asHttpHeaders().getFirst(HttpHeaders.WARNING)).startsWith("110");
+                    StepVerifier.create(response.bodyToMono(String.class))
+                            .expectNext("[{\"number\":1}]")
+                            .verifyComplete();
+                })
+                .verifyComplete();
+
+        ClientRequest uncached = ClientRequest.create(HttpMethod.GET, URI.create("https://api.github.com/repos/test/other/code-scanning/alerts")).build();
+        StepVerifier.create(cache.filter(uncached, req -> Mono.error(new UpstreamUnavailableException("open"))))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+
+        assertThat(meterRegistry.get("github.api.cache.requests").tag("result", "fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testValidatorsAreKeptPerCredential() {
+        RateLimitBudget budget = new RateLimitBudget(10, 100);
+        ClientRequest first = withLease(ClientRequest.create(HttpMethod.GET, ALERTS_URI).build(), "token-1", budget);
+        ClientRequest second = withLease(ClientRequest.create(HttpMethod.GET, ALERTS_URI).build(), "token-2", budget);
+
+        for (ClientRequest request : List.of(first, second, first)) {
+            StepVerifier.create(cache.filter(request, req -> {
+                        sentRequests.add(req);
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.ETAG, "\"v1\"")
+                                .body("[]")
+                                .build());
+                    }).flatMap(response -> response.bodyToMono(String.class)))
+                    .expectNext("[]")
+                    .verifyComplete();
+        }
+
+        assertThat(sentRequests.get(0).headers().getIfNoneMatch()).isEmpty();
+        assertThat(sentRequests.get(1).headers().getIfNoneMatch()).isEmpty();
+        assertThat(sentRequests.get(2).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+    }
+
+    @Test
+    void testNotModifiedReleasesReservationAndReusesDecodedBody() {
+        Instant reset = Instant.now().plusSeconds(3600);
+        RateLimitBudget budget = new RateLimitBudget(10, 100);
+        HttpHeaders rateLimit = new HttpHeaders();
+        rateLimit.set(RateLimitBudget.LIMIT_HEADER, "5000");
+        rateLimit.set(RateLimitBudget.REMAINING_HEADER, "4000");
+        rateLimit.set(RateLimitBudget.RESET_HEADER, String.valueOf(reset.getEpochSecond()));
+        budget.update(rateLimit, 200, Instant.now());
+
+        ClientRequest first = withLease(ClientRequest.create(HttpMethod.GET, ALERTS_URI).build(), "anonymous", budget);
+        cache.filter(first, req -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.ETAG, "\"v1\"")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("[{\"number\":1},{\"number\":2}]")
+                        .build()))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .block();
+
+        List<List<CodeScanningAlert>> decoded = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ClientRequest request = withLease(ClientRequest.create(HttpMethod.GET, ALERTS_URI).build(), "anonymous", budget);
+            decoded.add(cache.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build()))
+                    .flatMap(response -> response.bodyToFlux(CodeScanningAlert.class).collectList())
+                    .block());
+        }
+
+        assertThat(budget.getRemaining()).isEqualTo(3999);
+        assertThat(decoded.get(0)).hasSize(2);
+        assertThat(decoded.get(1).get(0)).isSameAs(decoded.get(0).get(0));
+    }
+
+    @Test
+    void testBodyIsPassedThroughInPartsAndCachedOnceRead() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, ALERTS_URI).build();
+        DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+
+        StepVerifier.create(cache.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.ETAG, "\"v1\"")
+                                .body(Flux.just("[1,", "2]").map(part -> buffers.wrap(part.getBytes(StandardCharsets.UTF_8))))
+                                .build()))
+                        .flatMapMany(response -> response.bodyToFlux(DataBuffer.class))
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("[1,", "2]")
+                .verifyComplete();
+
+        StepVerifier.create(cache.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build()))
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext("[1,2]")
+                .verifyComplete();
+    }
+
+    @Test
+    void testBodyLargerThanLimitIsNotCached() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, ALERTS_URI).build();
+
+        StepVerifier.create(cache.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.ETAG, "\"v1\"")
+                                .body("x".repeat(2048))
+                                .build()))
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("github.api.cache.size").gauge().value()).isZero();
+    }
+
+    private static ClientRequest withLease(ClientRequest request, String credential, RateLimitBudget budget) {
+        CredentialPool.Lease lease = new CredentialPool.Lease(
+                new CredentialPool.Credential(credential, null, budget), budget.reserve(Instant.now(), Duration.ofMinutes(1)));
+        return ClientRequest.from(request).attribute(RateLimitFilter.LEASE_ATTRIBUTE, lease).build();
+    }
+}
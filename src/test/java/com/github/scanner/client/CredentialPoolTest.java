@@ -0,0 +1,65 @@
+package com.github.scanner.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialPoolTest {
+    
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    
+    @Test
+    void testRequestsGoToCredentialWithMostRemainingBudget() {
+        CredentialPool pool = new CredentialPool(new SimpleMeterRegistry(), "", List.of("a", "b", "c"), 10, 100);
+        List<CredentialPool.Credential> credentials = pool.getCredentials();
+        update(credentials.get(0), 1000);
+        update(credentials.get(1), 4000);
+        update(credentials.get(2), 2000);
+        
+        CredentialPool.Lease lease = pool.acquire(NOW);
+        
+        assertThat(lease.credential().token()).isEqualTo("b");
+        assertThat(lease.delay()).isZero();
+    }
+    
+    @Test
+    void testExhaustedCredentialIsSkippedUntilReset() {
+        CredentialPool pool = new CredentialPool(new SimpleMeterRegistry(), "a", List.of("b"), 10, 100);
+        List<CredentialPool.Credential> credentials = pool.getCredentials();
+        update(credentials.get(0), 5);
+        update(credentials.get(1), 50);
+        
+        assertThat(pool.acquire(NOW).credential().token()).isEqualTo("b");
+        
+        HttpHeaders secondaryLimit = new HttpHeaders();
+        secondaryLimit.set(HttpHeaders.RETRY_AFTER, "30");
+        credentials.get(1).budget().update(secondaryLimit, 403, NOW);
+        
+        CredentialPool.Lease lease = pool.acquire(NOW);
+        assertThat(lease.credential().token()).isEqualTo("b");
+        assertThat(lease.delay()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(pool.acquire(NOW.plusSeconds(3600)).credential().token()).isEqualTo("a");
+    }
+    
+    @Test
+    void testNoTokenUsesAnonymousCredential() {
+        CredentialPool pool = new CredentialPool(new SimpleMeterRegistry(), "", List.of(), 10, 100);
+        
+        assertThat(pool.getCredentials()).singleElement()
+                .satisfies(credential -> assertThat(credential.token()).isNull());
+    }
+    
+    private static void update(CredentialPool.Credential credential, long remaining) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.LIMIT_HEADER, "5000");
+        headers.set(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitBudget.RESET_HEADER, String.valueOf(NOW.plusSeconds(3600).getEpochSecond()));
+        credential.budget().update(headers, 200, NOW);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.scanner.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.model.CodeScanningAlert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlyweightModuleTest {
+    
+    private static final String ALERT = "{\"number\":%d,\"state\":\"OPEN\","
+            + "\"rule\":{\"id\":\"js/xss\",\"full_description\":\"%s\"},"
+            + "\"tool\":{\"name\":\"CodeQL\",\"version\":\"2.15.0\"},"
+            + "\"dismissed_by\":{\"id\":5,\"login\":\"octocat\"},"
+            + "\"most_recent_instance\":{\"classifications\":[{\"category\":\"test\"}]}}";
+    
+    private SimpleMeterRegistry meterRegistry;
+    private FlyweightPool pool;
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = new FlyweightPool(meterRegistry);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper.registerModule(new FlyweightModule(pool));
+    }
+    
+    @Test
+    void testRepeatedValueObjectsAreShared() throws Exception {
+        List<CodeScanningAlert> alerts = decode("[" + alert(1, "Cross-site scripting") + "," + alert(2, "Cross-site scripting") + "]");
+        
+        CodeScanningAlert first = alerts.get(0);
+        CodeScanningAlert second = alerts.get(1);
+        assertThat(second.getRule()).isSameAs(first.getRule());
+        assertThat(second.getTool()).isSameAs(first.getTool());
+        assertThat(second.getDismissedBy()).isSameAs(first.getDismissedBy());
+        assertThat(second.getMostRecentInstance().getClassifications().get(0))
+                .isSameAs(first.getMostRecentInstance().getClassifications().get(0));
+        assertThat(pool.size()).isEqualTo(4);
+        assertThat(meterRegistry.get("github.api.flyweight.requests").tags("type", "Rule", "result", "shared").counter().count())
+                .isEqualTo(1.0);
+    }
+    
+    @Test
+    void testSharedAcrossResponses() throws Exception {
+        CodeScanningAlert first = decode("[" + alert(1, "Cross-site scripting") + "]").get(0);
+        CodeScanningAlert second = decode("[" + alert(2, "Cross-site scripting") + "]").get(0);
+        
+        assertThat(second.getRule()).isSameAs(first.getRule());
+    }
+    
+    @Test
+    void testChangedContentReplacesSharedInstance() throws Exception {
+        CodeScanningAlert before = decode("[" + alert(1, "Cross-site scripting") + "]").get(0);
+        CodeScanningAlert after = decode("[" + alert(1, "Reflected cross-site scripting") + "]").get(0);
+        CodeScanningAlert again = decode("[" + alert(2, "Reflected cross-site scripting") + "]").get(0);
+        
+        assertThat(after.getRule()).isNotSameAs(before.getRule());
+        assertThat(after.getRule().getFullDescription()).isEqualTo("Reflected cross-site scripting");
+        assertThat(again.getRule()).isSameAs(after.getRule());
+    }
+    
+    @Test
+    void testUnreferencedInstancesAreCollected() throws Exception {
+        decode("[" + alert(1, "Cross-site scripting") + "]");
+        
+        for (int attempt = 0; attempt < 50 && pool.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        
+        assertThat(pool.size()).isEqualTo(0);
+    }
+    
+    private List<CodeScanningAlert> decode(String json) throws Exception {
+        return objectMapper.readValue(json, new TypeReference<List<CodeScanningAlert>>() {
+        });
+    }
+    
+    private static String alert(int number, String fullDescription) {
+        return String.format(ALERT, number, fullDescription);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.scanner.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitBudgetTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private RateLimitBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        budget = new RateLimitBudget(10, 100);
+    }
+
+    @Test
+    void testUnknownBudgetSendsImmediately() {
+        assertThat(budget.reserve(NOW)).isZero();
+        assertThat(budget.getRemaining()).isEqualTo(-1);
+    }
+
+    @Test
+    void testPlentyOfBudgetSendsImmediately() {
+        budget.update(rateLimitHeaders(5000, 4000, NOW.plusSeconds(3600)), 200, NOW);
+
+        assertThat(budget.reserve(NOW)).isZero();
+        assertThat(budget.reserve(NOW)).isZero();
+        assertThat(budget.getRemaining()).isEqualTo(3998);
+    }
+
+    @Test
+    void testLowBudgetIsPacedAcrossWindow() {
+        budget.update(rateLimitHeaders(5000, 20, NOW.plusSeconds(100)), 200, NOW);
+
+        assertThat(budget.reserve(NOW)).isZero();
+        assertThat(budget.reserve(NOW)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(budget.reserve(NOW)).isGreaterThan(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testExhaustedBudgetWaitsForReset() {
+        budget.update(rateLimitHeaders(5000, 10, NOW.plusSeconds(300)), 200, NOW);
+
+        assertThat(budget.reserve(NOW)).isEqualTo(Duration.ofSeconds(300));
+        assertThat(budget.reserve(NOW.plusSeconds(300))).isZero();
+    }
+
+    @Test
+    void testRetryAfterBlocksRequests() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+
+        budget.update(headers, 429, NOW);
+
+        assertThat(budget.reserve(NOW)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(budget.reserve(NOW.plusSeconds(61))).isZero();
+    }
+
+    @Test
+    void testReportedRemainingReplacesLocalCount() {
+        Instant reset = NOW.plusSeconds(3600);
+        budget.update(rateLimitHeaders(5000, 4000, reset), 200, NOW);
+        budget.reserve(NOW);
+        budget.reserve(NOW);
+        budget.update(rateLimitHeaders(5000, 3999, reset), 304, NOW);
+
+        assertThat(budget.getRemaining()).isEqualTo(3999);
+    }
+
+    @Test
+    void testReservationBeyondMaxWaitIsNotCounted() {
+        budget.update(rateLimitHeaders(5000, 20, NOW.plusSeconds(100)), 200, NOW);
+        budget.reserve(NOW);
+
+        RateLimitBudget.Reservation rejected = budget.reserve(NOW, Duration.ofSeconds(5));
+
+        assertThat(rejected.delay()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(rejected.counted()).isFalse();
+        assertThat(budget.getRemaining()).isEqualTo(19);
+        assertThat(budget.reserve(NOW)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testReleasedReservationHandsBackRequestAndSlot() {
+        budget.update(rateLimitHeaders(5000, 20, NOW.plusSeconds(100)), 200, NOW);
+        budget.reserve(NOW);
+        RateLimitBudget.Reservation reservation = budget.reserve(NOW, Duration.ofSeconds(60));
+
+        budget.release(reservation);
+
+        assertThat(budget.getRemaining()).isEqualTo(19);
+        assertThat(budget.reserve(NOW)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    private static HttpHeaders rateLimitHeaders(long limit, long remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.LIMIT_HEADER, String.valueOf(limit));
+        headers.set(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitBudget.RESET_HEADER, String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.scanner.client;
+
+import com.github.scanner.config.RetryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+    
+    private RetryProperties properties;
+    private RetryPolicy retryPolicy;
+    private AtomicInteger attempts;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new RetryProperties();
+        properties.setFirstBackoff(Duration.ofMillis(1));
+        retryPolicy = new RetryPolicy(properties, 3);
+        attempts = new AtomicInteger();
+    }
+    
+    @Test
+    void testClientErrorsAreNotRetried() {
+        WebClientResponseException notFound = responseError(HttpStatus.NOT_FOUND, HttpHeaders.EMPTY);
+        
+        StepVerifier.create(failing(notFound).retryWhen(retryPolicy.forRoute("get-alert", true)))
+                .expectErrorMatches(error -> error == notFound)
+                .verify();
+        
+        assertThat(attempts).hasValue(1);
+    }
+    
+    @Test
+    void testServerErrorsAreRetriedUpToLimitAndKeepOriginalError() {
+        WebClientResponseException unavailable = responseError(HttpStatus.SERVICE_UNAVAILABLE, HttpHeaders.EMPTY);
+        
+        StepVerifier.create(failing(unavailable).retryWhen(retryPolicy.forRoute("list-alerts", true)))
+                .expectErrorMatches(error -> error == unavailable)
+                .verify();
+        
+        assertThat(attempts).hasValue(4);
+    }
+    
+    @Test
+    void testRouteOverrideChangesRetryCount() {
+        RetryProperties.Route route = new RetryProperties.Route();
+        route.setMaxRetries(1);
+        properties.getRoutes().put("get-alert", route);
+        
+        StepVerifier.create(failing(responseError(HttpStatus.BAD_GATEWAY, HttpHeaders.EMPTY))
+                        .retryWhen(retryPolicy.forRoute("get-alert", true)))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        
+        assertThat(attempts).hasValue(2);
+    }
+    
+    @Test
+    void testNonIdempotentCallsRetryOnlyWhenRequestWasNotSent() {
+        WebClientRequestException reset = requestError(new IOException("Connection reset"));
+        StepVerifier.create(failing(reset).retryWhen(retryPolicy.forRoute("upload-sarif", false)))
+                .expectError(WebClientRequestException.class)
+                .verify();
+        assertThat(attempts).hasValue(1);
+        
+        attempts.set(0);
+        WebClientRequestException refused = requestError(new ConnectException("Connection refused"));
+        StepVerifier.create(failing(refused).retryWhen(retryPolicy.forRoute("upload-sarif", false)))
+                .expectError(WebClientRequestException.class)
+                .verify();
+        assertThat(attempts).hasValue(4);
+    }
+    
+    @Test
+    void testNonIdempotentCallsAreNotRetriedOnServerErrors() {
+        WebClientResponseException badGateway = responseError(HttpStatus.BAD_GATEWAY, HttpHeaders.EMPTY);
+        StepVerifier.create(failing(badGateway).retryWhen(retryPolicy.forRoute("upload-sarif", false)))
+                .expectErrorMatches(error -> error == badGateway)
+                .verify();
+        assertThat(attempts).hasValue(1);
+        
+        attempts.set(0);
+        StepVerifier.create(failing(responseError(HttpStatus.TOO_MANY_REQUESTS, HttpHeaders.EMPTY))
+                        .retryWhen(retryPolicy.forRoute("upload-sarif", false)))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(attempts).hasValue(4);
+    }
+    
+    @Test
+    void testRetryAfterBeyondTimeBudgetIsNotWaitedFor() {
+        properties.setTimeout(Duration.ofSeconds(5));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+        
+        StepVerifier.create(failing(responseError(HttpStatus.TOO_MANY_REQUESTS, headers))
+                        .retryWhen(retryPolicy.forRoute("list-alerts", true)))
+                .expectError(WebClientResponseException.class)
+                .verify(Duration.ofSeconds(1));
+        
+        assertThat(attempts).hasValue(1);
+        assertThat(RetryPolicy.retryAfter(responseError(HttpStatus.TOO_MANY_REQUESTS, headers)))
+                .isEqualTo(Duration.ofSeconds(120));
+    }
+    
+    private Mono<String> failing(Throwable error) {
+        return Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(error);
+        });
+    }
+    
+    private static WebClientResponseException responseError(HttpStatus status, HttpHeaders headers) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), headers, null, null);
+    }
+    
+    private static WebClientRequestException requestError(Exception cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST,
+                URI.create("https://api.github.com/repos/test/repo/code-scanning/sarifs"), HttpHeaders.EMPTY);
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.scanner.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamMetricsFilterTest {
+    
+    private static final String ALERTS_ROUTE = "/repos/{owner}/{repo}/code-scanning/alerts/{alert_number}";
+    
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamMetricsFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UpstreamMetricsFilter(meterRegistry);
+    }
+    
+    @Test
+    void testRouteTemplateReplacesIdentifiers() {
+        assertThat(UpstreamMetricsFilter.routeTemplate("/repos/octo/hello/code-scanning/alerts/42"))
+                .isEqualTo(ALERTS_ROUTE);
+        assertThat(UpstreamMetricsFilter.routeTemplate("/orgs/octo/code-scanning/alerts"))
+                .isEqualTo("/orgs/{org}/code-scanning/alerts");
+        assertThat(UpstreamMetricsFilter.routeTemplate("/repos/octo/hello/code-scanning/sarifs/6c81cd8e"))
+                .isEqualTo("/repos/{owner}/{repo}/code-scanning/sarifs/{sarif_id}");
+    }
+    
+    @Test
+    void testRetriedRequestsAreTaggedByAttempt() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET,
+                URI.create("https://api.github.com/repos/octo/hello/code-scanning/alerts/42")).build();
+        AtomicInteger calls = new AtomicInteger();
+        
+        Mono<String> call = filter.filter(request, req -> Mono.just(calls.incrementAndGet() == 1
+                        ? ClientResponse.create(HttpStatus.BAD_GATEWAY).build()
+                        : ClientResponse.create(HttpStatus.OK).body("{\"number\":42}").build()))
+                .flatMap(response -> response.statusCode().isError()
+                        ? Mono.error(new IllegalStateException("bad gateway"))
+                        : response.bodyToMono(String.class))
+                .retryWhen(Retry.max(1))
+                .contextWrite(UpstreamMetricsFilter::countAttempts);
+        
+        StepVerifier.create(call)
+                .expectNext("{\"number\":42}")
+                .verifyComplete();
+        
+        assertThat(meterRegistry.get("github.api.requests")
+                .tags("route", ALERTS_ROUTE, "status", "502", "attempt", "1").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.api.requests")
+                .tags("route", ALERTS_ROUTE, "status", "200", "attempt", "2").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.api.response.size")
+                .tags("route", ALERTS_ROUTE).summary().totalAmount()).isEqualTo(13);
+    }
+}
@@ -230,4 +230,40 @@ class RepositoryAlertsControllerTest {
                 })
                 .verifyComplete();
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testStreamAlerts_Success() {
+        String owner = "testOwner";
+        String repo = "testRepo";
+        AlertFilterRequest filterRequest = new AlertFilterRequest();
+        CodeScanningAlert secondAlert = CodeScanningAlert.builder()
+                .number(2L)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .build();
+        
+        when(codeScanningService.getAlertsForRepository(owner, repo, filterRequest))
+                .thenReturn(Flux.just(testAlert, secondAlert));
+        
+        Flux<CodeScanningAlert> result = controller.streamAlerts(owner, repo, filterRequest);
+        
+        StepVerifier.create(result)
+                .assertNext(alert -> assertThat(alert.getNumber()).isEqualTo(1L))
+                .assertNext(alert -> assertThat(alert.getNumber()).isEqualTo(2L))
+                .verifyComplete();
+        
+        verify(codeScanningService).getAlertsForRepository(owner, repo, filterRequest);
+    }
+    
+    @Test
+    void testStreamAlertInstances_Empty() {
+        String owner = "testOwner";
+        String repo = "testRepo";
+        Long alertNumber = 1L;
+        
+        when(codeScanningService.getAlertInstances(owner, repo, alertNumber))
+                .thenReturn(Flux.empty());
+        
+        StepVerifier.create(controller.streamAlertInstances(owner, repo, alertNumber))
+                .verifyComplete();
+    }
+}
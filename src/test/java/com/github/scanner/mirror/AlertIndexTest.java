@@ -0,0 +1,90 @@
+package com.github.scanner.mirror;
+
+import com.github.scanner.mirror.AlertIndex.Dimension;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Instance;
+import com.github.scanner.model.Location;
+import com.github.scanner.model.Repository;
+import com.github.scanner.model.Rule;
+import com.github.scanner.model.Tool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertIndexTest {
+    
+    private AlertIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new AlertIndex();
+        index.upsert(alert("test/api", 1L, CodeScanningAlert.AlertState.OPEN, "js/xss", "high", "src/app.js"));
+        index.upsert(alert("test/api", 2L, CodeScanningAlert.AlertState.OPEN, "js/sql-injection", "critical", "src/db.js"));
+        index.upsert(alert("test/web", 1L, CodeScanningAlert.AlertState.FIXED, "js/xss", "high", "index.js"));
+    }
+    
+    @Test
+    void testQueryIntersectsDimensions() {
+        assertThat(index.query(Map.of(Dimension.RULE, "js/xss", Dimension.STATE, "open")))
+                .extracting(AlertIndex::keyOf)
+                .containsExactly("test/api#1");
+        assertThat(index.query(Map.of(Dimension.REPOSITORY, "TEST/API"))).hasSize(2);
+        assertThat(index.query(Map.of(Dimension.TOOL, "CodeQL"))).hasSize(3);
+        assertThat(index.query(Map.of(Dimension.PATH, "missing.js"))).isEmpty();
+    }
+    
+    @Test
+    void testQueryFiltersByRefAndToolGuid() {
+        index.upsert(CodeScanningAlert.builder()
+                .number(3L)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .repository(Repository.builder().fullName("test/api").build())
+                .tool(Tool.builder().name("CodeQL").guid("codeql-guid").build())
+                .mostRecentInstance(Instance.builder().ref("refs/heads/feature").build())
+                .build());
+        
+        assertThat(index.query(Map.of(Dimension.REF, "refs/heads/feature"))).extracting(CodeScanningAlert::getNumber)
+                .containsExactly(3L);
+        assertThat(index.query(Map.of(Dimension.TOOL_GUID, "codeql-guid", Dimension.STATE, "open")))
+                .extracting(CodeScanningAlert::getNumber)
+                .containsExactly(3L);
+        assertThat(index.query(Map.of(Dimension.REF, "refs/heads/main"))).isEmpty();
+    }
+    
+    @Test
+    void testUpsertReplacesIndexedValues() {
+        index.upsert(alert("test/api", 1L, CodeScanningAlert.AlertState.DISMISSED, "js/xss", "high", "src/app.js"));
+        
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.query(Map.of(Dimension.STATE, "open")))
+                .extracting(AlertIndex::keyOf)
+                .containsExactly("test/api#2");
+        assertThat(index.query(Map.of(Dimension.STATE, "dismissed")))
+                .extracting(AlertIndex::keyOf)
+                .containsExactly("test/api#1");
+    }
+    
+    @Test
+    void testSeverityPrefersSecuritySeverityLevel() {
+        assertThat(index.query(Map.of(Dimension.SEVERITY, "critical")))
+                .extracting(CodeScanningAlert::getNumber)
+                .containsExactly(2L);
+    }
+    
+    private static CodeScanningAlert alert(String repository, Long number, CodeScanningAlert.AlertState state,
+                                           String ruleId, String securitySeverity, String path) {
+        return CodeScanningAlert.builder()
+                .number(number)
+                .state(state)
+                .repository(Repository.builder().fullName(repository).build())
+                .rule(Rule.builder().id(ruleId).severity("error").securitySeverityLevel(securitySeverity).build())
+                .tool(Tool.builder().name("CodeQL").build())
+                .mostRecentInstance(Instance.builder()
+                        .location(Location.builder().path(path).build())
+                        .build())
+                .build();
+    }
+}
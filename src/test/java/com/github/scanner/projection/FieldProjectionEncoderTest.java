@@ -0,0 +1,79 @@
+package com.github.scanner.projection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Rule;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldProjectionEncoderTest {
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    
+    private final FieldProjectionEncoder encoder = new FieldProjectionEncoder(objectMapper);
+    
+    @Test
+    void testProjectsJsonBody() throws Exception {
+        String json = encode("/alerts/7?fields=number,rule.id", MediaType.APPLICATION_JSON, new MockServerHttpResponse());
+        
+        assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.readTree("{\"number\":7,\"rule\":{\"id\":\"js/sql-injection\"}}"));
+    }
+    
+    @Test
+    void testLeavesBodyWholeWithoutFields() throws Exception {
+        String json = encode("/alerts/7", MediaType.APPLICATION_JSON, new MockServerHttpResponse());
+        
+        assertThat(objectMapper.readTree(json).path("state").asText()).isEqualTo("OPEN");
+        assertThat(objectMapper.readTree(json).path("rule").path("severity").asText()).isEqualTo("error");
+    }
+    
+    @Test
+    void testLeavesErrorResponsesWhole() throws Exception {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.setStatusCode(HttpStatus.BAD_GATEWAY);
+        
+        String json = encode("/alerts/7?fields=number", MediaType.APPLICATION_JSON, response);
+        
+        assertThat(objectMapper.readTree(json).path("state").asText()).isEqualTo("OPEN");
+    }
+    
+    @Test
+    void testLeavesStreamedElementsToTheController() throws Exception {
+        String json = encode("/alerts?fields=number", MediaType.APPLICATION_NDJSON, new MockServerHttpResponse());
+        
+        assertThat(objectMapper.readTree(json).path("state").asText()).isEqualTo("OPEN");
+    }
+    
+    private String encode(String uri, MediaType mediaType, MockServerHttpResponse response) {
+        ResolvableType type = ResolvableType.forClass(CodeScanningAlert.class);
+        Map<String, Object> hints = encoder.getEncodeHints(type, type, mediaType, MockServerHttpRequest.get(uri).build(), response);
+        DataBuffer buffer = encoder.encodeValue(alert(), DefaultDataBufferFactory.sharedInstance, type, mediaType, hints);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+    
+    private static CodeScanningAlert alert() {
+        return CodeScanningAlert.builder()
+                .number(7L)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .rule(Rule.builder()
+                        .id("js/sql-injection")
+                        .severity("error")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.scanner.projection;
+
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Instance;
+import com.github.scanner.model.Location;
+import com.github.scanner.model.Rule;
+import com.github.scanner.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldProjectionTest {
+    
+    @Test
+    void testKeepsOnlyRequestedFields() {
+        CodeScanningAlert projected = FieldProjection
+                .parse("number,state,rule.security_severity_level,most_recent_instance.location.path")
+                .apply(alert());
+        
+        assertThat(projected.getNumber()).isEqualTo(7L);
+        assertThat(projected.getState()).isEqualTo(CodeScanningAlert.AlertState.DISMISSED);
+        assertThat(projected.getRule().getSecuritySeverityLevel()).isEqualTo("high");
+        assertThat(projected.getRule().getId()).isNull();
+        assertThat(projected.getRule().getFullDescription()).isNull();
+        assertThat(projected.getMostRecentInstance().getLocation().getPath()).isEqualTo("src/app.js");
+        assertThat(projected.getMostRecentInstance().getLocation().getStartLine()).isNull();
+        assertThat(projected.getMostRecentInstance().getRef()).isNull();
+        assertThat(projected.getDismissedBy()).isNull();
+        assertThat(projected.getUrl()).isNull();
+    }
+    
+    @Test
+    void testProjectsInstanceMessage() {
+        Instance instance = Instance.builder().ref("refs/heads/main").message("Unsanitized input").state("open").build();
+        
+        Instance projected = FieldProjection.parse("ref,message").apply(instance);
+        CodeScanningAlert alert = FieldProjection.parse("most_recent_instance.message").apply(alert());
+        
+        assertThat(projected.getRef()).isEqualTo("refs/heads/main");
+        assertThat(projected.getMessage()).isEqualTo("Unsanitized input");
+        assertThat(projected.getState()).isNull();
+        assertThat(alert.getMostRecentInstance().getMessage()).isEqualTo("Cross-site scripting in src/app.js");
+        assertThat(alert.getMostRecentInstance().getRef()).isNull();
+    }
+    
+    @Test
+    void testNamingObjectKeepsAllOfIt() {
+        CodeScanningAlert projected = FieldProjection.parse("rule.id,rule").apply(alert());
+        
+        assertThat(projected.getRule()).isEqualTo(alert().getRule());
+        assertThat(projected.getNumber()).isNull();
+    }
+    
+    @Test
+    void testProjectsEveryListElement() {
+        List<CodeScanningAlert> projected = FieldProjection.parse("number").apply(List.of(alert(), alert()));
+        
+        assertThat(projected).hasSize(2).allSatisfy(alert -> {
+            assertThat(alert.getNumber()).isEqualTo(7L);
+            assertThat(alert.getRule()).isNull();
+        });
+    }
+    
+    @Test
+    void testBlankFieldsReturnValueUnchanged() {
+        CodeScanningAlert alert = alert();
+        
+        assertThat(FieldProjection.parse(null).apply(alert)).isSameAs(alert);
+        assertThat(FieldProjection.parse(" , ").apply(alert)).isSameAs(alert);
+    }
+    
+    private static CodeScanningAlert alert() {
+        return CodeScanningAlert.builder()
+                .number(7L)
+                .state(CodeScanningAlert.AlertState.DISMISSED)
+                .url("https://api.github.com/repos/test/repo/code-scanning/alerts/7")
+                .dismissedBy(User.builder().login("octocat").build())
+                .rule(Rule.builder()
+                        .id("js/xss")
+                        .securitySeverityLevel("high")
+                        .fullDescription("Cross-site scripting")
+                        .build())
+                .mostRecentInstance(Instance.builder()
+                        .ref("refs/heads/main")
+                        .message("Cross-site scripting in src/app.js")
+                        .location(Location.builder().path("src/app.js").startLine(12).build())
+                        .build())
+                .build();
+    }
+}
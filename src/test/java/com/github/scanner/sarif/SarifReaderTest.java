@@ -0,0 +1,111 @@
+package com.github.scanner.sarif;
+
+import com.github.scanner.exception.InvalidSarifException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SarifReaderTest {
+
+    @Test
+    void testSummarizeCountsResultsPerRunAndRule() {
+        String sarif = """
+                {"$schema": "https://json.schemastore.org/sarif-2.1.0.json", "version": "2.1.0", "runs": [
+                  {"results": [
+                     {"ruleIndex": 1, "message": {"text": "a"}},
+                     {"ruleId": "js/xss", "message": {"text": "b"}, "locations": [{"physicalLocation": {}}]},
+                     {"rule": {"id": "js/sql-injection"}, "message": {"text": "c"}},
+                     {"message": {"text": "d"}}],
+                   "tool": {"driver": {"name": "CodeQL", "semanticVersion": "2.16.3",
+                     "rules": [{"id": "js/sql-injection"}, {"id": "js/xss", "properties": {"tags": ["security"]}}]}}},
+                  {"tool": {"driver": {"name": "ESLint", "version": "8.57.0"}}, "results": null}
+                ]}
+                """;
+
+        SarifSummary summary = SarifReader.summarize(stream(sarif));
+
+        assertThat(summary.getVersion()).isEqualTo("2.1.0");
+        assertThat(summary.getTotalResults()).isEqualTo(4);
+        assertThat(summary.getWarnings()).isEmpty();
+        assertThat(summary.getRuns()).hasSize(2);
+        SarifSummary.Run codeql = summary.getRuns().get(0);
+        assertThat(codeql.getTool()).isEqualTo("CodeQL");
+        assertThat(codeql.getToolVersion()).isEqualTo("2.16.3");
+        assertThat(codeql.getRules()).isEqualTo(2);
+        assertThat(codeql.getResultsByRule()).isEqualTo(Map.of("js/xss", 2L, "js/sql-injection", 1L, "(none)", 1L));
+        assertThat(summary.getRuns().get(1).getResults()).isZero();
+        assertThat(summary.getRuns().get(1).getToolVersion()).isEqualTo("8.57.0");
+    }
+
+    @Test
+    void testSummarizeStreamsLargeLogs() {
+        int results = 200_000;
+        SarifSummary summary = SarifReader.summarize(generated(results));
+
+        assertThat(summary.getTotalResults()).isEqualTo(results);
+        assertThat(summary.getRuns().get(0).getResultsByRule()).containsEntry("rule-7", (long) results / 10);
+        assertThat(summary.getWarnings()).singleElement().asString().contains("25000");
+    }
+
+    @Test
+    void testSummarizeRejectsInvalidLogs() {
+        assertInvalid("[]", "must be a JSON object");
+        assertInvalid("{\"version\": \"2.0.0\", \"runs\": []}", "Unsupported SARIF version");
+        assertInvalid("{\"version\": \"2.1.0\"}", "Missing runs");
+        assertInvalid("{\"version\": \"2.1.0\", \"runs\": [{\"results\": []}]}", "runs[0] has no tool");
+        assertInvalid("{\"version\": \"2.1.0\", \"runs\": [{\"tool\": {\"driver\": {}}}]}", "runs[0].tool.driver.name is required");
+        assertInvalid("{\"version\": \"2.1.0\", \"runs\": [{\"tool\": {\"driver\": {\"name\": \"x\"}}, \"results\": [{\"ruleId\": \"r\"}]}]}",
+                "runs[0].results[0].message is required");
+        assertInvalid("{\"version\": \"2.1.0\", \"runs\": [{\"tool\": {\"driver\": {\"name\": \"x\"}}, \"results\": [{\"ruleIndex\": 3, \"message\": {}}]}]}",
+                "ruleIndex 3");
+        assertInvalid("{\"version\": \"2.1.0\", \"runs\": [", "Malformed JSON");
+    }
+
+    private static void assertInvalid(String sarif, String message) {
+        assertThatThrownBy(() -> SarifReader.summarize(stream(sarif)))
+                .isInstanceOf(InvalidSarifException.class)
+                .hasMessageContaining(message);
+    }
+
+    private static InputStream stream(String sarif) {
+        return new ByteArrayInputStream(sarif.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A log with {@code results} results, produced lazily so the test itself never holds the file.
+     */
+    private static InputStream generated(int results) {
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int next = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= results;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String part;
+                if (next == -1) {
+                    part = "{\"version\":\"2.1.0\",\"runs\":[{\"tool\":{\"driver\":{\"name\":\"gen\"}},\"results\":[";
+                } else if (next == results) {
+                    part = "]}]}";
+                } else {
+                    part = (next == 0 ? "" : ",") + "{\"ruleId\":\"rule-" + (next % 10)
+                            + "\",\"message\":{\"text\":\"finding " + next + "\"},\"locations\":[{\"physicalLocation\":{\"artifactLocation\":{\"uri\":\"src/f" + next + ".js\"}}}]}";
+                }
+                next++;
+                return stream(part);
+            }
+        };
+        return new SequenceInputStream(parts);
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.scanner.sarif;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SarifSplitterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSplitCutsOversizedRunsIntoDistinctCategories() throws Exception {
+        Path sarif = write(log(25, "\"automationDetails\": {\"id\": \"codeql/javascript/2024-03-01\", \"guid\": \"g-1\"}"));
+
+        List<SarifSplitter.Part> parts = SarifSplitter.split(sarif, directory, 10, Long.MAX_VALUE);
+
+        assertThat(parts).extracting(SarifSplitter.Part::category)
+                .containsExactly("codeql/javascript/part-1/", "codeql/javascript/part-2/", "codeql/javascript/part-3/", "lint/");
+        assertThat(parts).extracting(SarifSplitter.Part::results).containsExactly(10L, 10L, 5L, 1L);
+        for (SarifSplitter.Part part : parts) {
+            // every part is a valid log that still carries its run's tool and rules
+            SarifSummary summary = summarize(part.file());
+            assertThat(summary.getTotalResults()).isEqualTo(part.results());
+            assertThat(summary.getRuns()).singleElement()
+                    .satisfies(run -> assertThat(run.getRules()).isEqualTo(part.run() == 0 ? 2 : 0));
+        }
+        assertThat(Files.readString(parts.get(0).file())).doesNotContain("g-1");
+    }
+
+    @Test
+    void testSplitKeepsRunsThatFitUnchanged() throws Exception {
+        Path sarif = write(log(5, "\"automationDetails\": {\"id\": \"codeql/javascript/\"}"));
+
+        List<SarifSplitter.Part> parts = SarifSplitter.split(sarif, directory, 10, Long.MAX_VALUE);
+
+        assertThat(parts).extracting(SarifSplitter.Part::category).containsExactly("codeql/javascript/", "lint/");
+        assertThat(Files.readString(parts.get(0).file())).contains("\"automationDetails\":{\"id\":\"codeql/javascript/\"}");
+    }
+
+    @Test
+    void testSplitRunsWithoutCategoryGetOnePerRun() throws Exception {
+        Path sarif = write("{\"version\": \"2.1.0\", \"runs\": ["
+                + "{\"tool\": {\"driver\": {\"name\": \"CodeQL\"}}, \"results\": [{\"ruleId\": \"a\"}, {\"ruleId\": \"b\"}]}, "
+                + "{\"tool\": {\"driver\": {\"name\": \"CodeQL\"}}, \"results\": [{\"ruleId\": \"c\"}, {\"ruleId\": \"d\"}]}]}");
+
+        List<SarifSplitter.Part> parts = SarifSplitter.split(sarif, directory, 1, Long.MAX_VALUE);
+
+        assertThat(parts).extracting(SarifSplitter.Part::category)
+                .containsExactly("run-0/part-1/", "run-0/part-2/", "run-1/part-1/", "run-1/part-2/");
+    }
+
+    @Test
+    void testSplitBoundsCompressedSize() throws Exception {
+        Path sarif = write(log(5_000, "\"automationDetails\": {\"id\": \"codeql/\"}"));
+
+        List<SarifSplitter.Part> parts = SarifSplitter.split(sarif, directory, Integer.MAX_VALUE, 32 * 1024);
+
+        assertThat(parts).filteredOn(part -> part.run() == 0).hasSizeGreaterThan(1);
+        assertThat(parts.stream().mapToLong(SarifSplitter.Part::results).sum()).isEqualTo(5_001);
+    }
+
+    private Path write(String sarif) throws Exception {
+        return Files.writeString(directory.resolve("input.sarif"), sarif);
+    }
+
+    private static SarifSummary summarize(Path file) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            return SarifReader.summarize(in);
+        }
+    }
+
+    private static String log(int results, String automationDetails) {
+        StringBuilder sarif = new StringBuilder("{\"version\": \"2.1.0\", \"runs\": [{\"results\": [");
+        for (int i = 0; i < results; i++) {
+            sarif.append(i == 0 ? "" : ",")
+                    .append("{\"ruleIndex\": ").append(i % 2)
+                    .append(", \"message\": {\"text\": \"finding ").append(i).append(" in ").append(Integer.toHexString(i * 7919)).append("\"}")
+                    .append(", \"locations\": [{\"physicalLocation\": {\"artifactLocation\": {\"uri\": \"src/file").append(i).append(".js\"}}}]}");
+        }
+        return sarif.append("], \"tool\": {\"driver\": {\"name\": \"CodeQL\", \"rules\": [{\"id\": \"js/xss\"}, {\"id\": \"js/sql-injection\"}]}}, ")
+                .append(automationDetails)
+                .append("}, {\"tool\": {\"driver\": {\"name\": \"ESLint\"}}, \"automationDetails\": {\"id\": \"lint/\"}, \"results\": [{\"ruleId\": \"no-eval\", \"message\": {\"text\": \"eval\"}}]}]}")
+                .toString();
+    }
+}
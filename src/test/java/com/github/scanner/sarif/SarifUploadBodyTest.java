@@ -0,0 +1,56 @@
+package com.github.scanner.sarif;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.scanner.dto.UploadSarifRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SarifUploadBodyTest {
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    void testEncodeProducesGzippedBase64SarifField() throws Exception {
+        StringBuilder sarif = new StringBuilder("{\"version\":\"2.1.0\",\"runs\":[");
+        for (int i = 0; i < 5000; i++) {
+            sarif.append(i == 0 ? "" : ",").append("{\"ruleId\":\"rule-").append(i).append("\"}");
+        }
+        byte[] raw = sarif.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        UploadSarifRequest metadata = UploadSarifRequest.builder()
+                .commitSha("abc123")
+                .ref("refs/heads/main")
+                .toolName("CodeQL \"nightly\"")
+                .build();
+
+        Flux<DataBuffer> rawSarif = DataBufferUtils.readInputStream(() -> new ByteArrayInputStream(raw), bufferFactory, 1024);
+        byte[] body = DataBufferUtils.join(SarifUploadBody.encode(metadata, rawSarif, bufferFactory, 4096))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+
+        JsonNode json = new ObjectMapper().readTree(body);
+        assertThat(json.get("commit_sha").asText()).isEqualTo("abc123");
+        assertThat(json.get("ref").asText()).isEqualTo("refs/heads/main");
+        assertThat(json.get("tool_name").asText()).isEqualTo("CodeQL \"nightly\"");
+        assertThat(json.has("checkout_uri")).isFalse();
+
+        byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(
+                Base64.getDecoder().decode(json.get("sarif").asText()))).readAllBytes();
+        assertThat(decoded).isEqualTo(raw);
+    }
+}
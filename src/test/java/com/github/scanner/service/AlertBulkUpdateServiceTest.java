@@ -0,0 +1,129 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.BulkUpdateAlertsRequest;
+import com.github.scanner.dto.BulkUpdateResult;
+import com.github.scanner.dto.UpdateAlertRequest;
+import com.github.scanner.exception.GitHubApiException;
+import com.github.scanner.exception.InvalidRequestException;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.impl.AlertBulkUpdateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertBulkUpdateServiceTest {
+
+    @Mock
+    private CodeScanningService codeScanningService;
+
+    @InjectMocks
+    private AlertBulkUpdateServiceImpl service;
+
+    private UpdateAlertRequest dismiss;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(service, "minInterval", Duration.ZERO);
+
+        dismiss = UpdateAlertRequest.builder()
+                .state(CodeScanningAlert.AlertState.DISMISSED)
+                .dismissedReason("false_positive")
+                .build();
+    }
+
+    @Test
+    void testUpdateAlerts_ReportsPerAlertResults() {
+        BulkUpdateAlertsRequest bulkRequest = BulkUpdateAlertsRequest.builder()
+                .alertNumbers(List.of(1L, 2L, 2L))
+                .update(dismiss)
+                .build();
+
+        when(codeScanningService.updateAlert("testOwner", "testRepo", 1L, dismiss))
+                .thenReturn(Mono.just(alert(1L)));
+        when(codeScanningService.updateAlert("testOwner", "testRepo", 2L, dismiss))
+                .thenReturn(Mono.error(new GitHubApiException("Failed to update alert")));
+
+        StepVerifier.create(service.updateAlerts("testOwner", "testRepo", bulkRequest).collectList())
+                .assertNext(results -> {
+                    assertThat(results).hasSize(2);
+                    assertThat(results).filteredOn(BulkUpdateResult::getSuccess)
+                            .extracting(BulkUpdateResult::getAlertNumber)
+                            .containsExactly(1L);
+                    assertThat(results).filteredOn(result -> !result.getSuccess())
+                            .extracting(BulkUpdateResult::getError)
+                            .containsExactly("Failed to update alert");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateAlerts_ResolvesTargetsFromFilter() {
+        AlertFilterRequest filter = AlertFilterRequest.builder()
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .build();
+        BulkUpdateAlertsRequest bulkRequest = BulkUpdateAlertsRequest.builder()
+                .filter(filter)
+                .update(dismiss)
+                .build();
+        AtomicBoolean listed = new AtomicBoolean();
+
+        when(codeScanningService.getAlertsForRepository(eq("testOwner"), eq("testRepo"), any(AlertFilterRequest.class)))
+                .thenReturn(Flux.just(alert(5L), alert(6L)).doOnComplete(() -> listed.set(true)));
+        when(codeScanningService.updateAlert(eq("testOwner"), eq("testRepo"), any(Long.class), eq(dismiss)))
+                .thenAnswer(invocation -> {
+                    assertThat(listed).isTrue();
+                    return Mono.just(alert(invocation.getArgument(2)));
+                });
+
+        StepVerifier.create(service.updateAlerts("testOwner", "testRepo", bulkRequest))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        ArgumentCaptor<AlertFilterRequest> listedWith = ArgumentCaptor.forClass(AlertFilterRequest.class);
+        verify(codeScanningService).getAlertsForRepository(eq("testOwner"), eq("testRepo"), listedWith.capture());
+        assertThat(listedWith.getValue().getAllPages()).isTrue();
+        assertThat(listedWith.getValue().getState()).isEqualTo(CodeScanningAlert.AlertState.OPEN);
+        assertThat(filter.getAllPages()).isNull();
+        verify(codeScanningService, times(2)).updateAlert(eq("testOwner"), eq("testRepo"), any(Long.class), eq(dismiss));
+    }
+
+    @Test
+    void testUpdateAlerts_RejectsRequestWithoutTarget() {
+        BulkUpdateAlertsRequest bulkRequest = BulkUpdateAlertsRequest.builder()
+                .update(dismiss)
+                .build();
+
+        StepVerifier.create(service.updateAlerts("testOwner", "testRepo", bulkRequest))
+                .expectError(InvalidRequestException.class)
+                .verify();
+
+        verifyNoInteractions(codeScanningService);
+    }
+
+    private static CodeScanningAlert alert(Long number) {
+        return CodeScanningAlert.builder()
+                .number(number)
+                .state(CodeScanningAlert.AlertState.DISMISSED)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertDiffEntry;
+import com.github.scanner.dto.AlertDiffEntry.Change;
+import com.github.scanner.dto.AlertDiffRequest;
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.model.CodeScanAnalysis;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Instance;
+import com.github.scanner.model.Location;
+import com.github.scanner.model.Rule;
+import com.github.scanner.model.Tool;
+import com.github.scanner.service.impl.AlertDiffServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertDiffServiceTest {
+    
+    private static final String BASE = "refs/heads/main";
+    private static final String HEAD = "refs/pull/7/merge";
+    
+    @Mock
+    private CodeScanningService codeScanningService;
+    
+    @InjectMocks
+    private AlertDiffServiceImpl service;
+    
+    @Test
+    void testDiff_ClassifiesNewFixedAndPersistingAlerts() {
+        stubRef(BASE, Flux.just(
+                alert(1L, "js/sql-injection", "src/db.js", 10),
+                alert(2L, "js/xss", "src/view.js", 5),
+                alert(3L, "js/xss", "src/view.js", 5)));
+        stubRef(HEAD, Flux.just(
+                alert(1L, "js/sql-injection", "src/db.js", 10),
+                alert(2L, "js/xss", "src/view.js", 5),
+                alert(9L, "js/path-injection", "src/files.js", 22)));
+        
+        StepVerifier.create(service.diff("octo", "api", AlertDiffRequest.builder().base(BASE).head(HEAD).build()).collectList())
+                .assertNext(entries -> assertThat(entries)
+                        .extracting(AlertDiffEntry::getChange, entry -> entry.getAlert().getNumber())
+                        .containsExactly(
+                                tuple(Change.PERSISTING, 1L),
+                                tuple(Change.PERSISTING, 2L),
+                                tuple(Change.NEW, 9L),
+                                tuple(Change.FIXED, 3L)))
+                .verifyComplete();
+    }
+    
+    @Test
+    void testDiff_MatchesMovedAlertsByNumberThenRuleAndFile() {
+        stubRef(BASE, Flux.just(
+                alert(1L, "js/sql-injection", "src/db.js", 10),
+                alert(4L, "js/xss", "src/view.js", 5),
+                alert(5L, "js/xss", "src/other.js", 8)));
+        stubRef(HEAD, Flux.just(
+                alert(1L, "js/sql-injection", "src/db.js", 42),
+                alert(null, "js/xss", "src/view.js", 30),
+                alert(6L, "js/xss", "src/view.js", 31)));
+        
+        StepVerifier.create(service.diff("octo", "api", AlertDiffRequest.builder().base(BASE).head(HEAD).build()).collectList())
+                .assertNext(entries -> assertThat(entries)
+                        .extracting(AlertDiffEntry::getChange, entry -> entry.getAlert().getNumber())
+                        .containsExactly(
+                                tuple(Change.PERSISTING, 1L),
+                                tuple(Change.PERSISTING, null),
+                                tuple(Change.NEW, 6L),
+                                tuple(Change.FIXED, 5L)))
+                .verifyComplete();
+    }
+    
+    @Test
+    void testDiff_FetchesBothSidesConcurrently() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        for (String ref : new String[]{BASE, HEAD}) {
+            stubRef(ref, Flux.just(alert(1L, "js/xss", "src/view.js", 5))
+                    .delaySubscription(Duration.ofMillis(50))
+                    .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doFinally(signal -> inFlight.decrementAndGet()));
+        }
+        
+        StepVerifier.create(service.diff("octo", "api", AlertDiffRequest.builder().base(BASE).head(HEAD).build()))
+                .expectNextMatches(entry -> entry.getChange() == Change.PERSISTING)
+                .verifyComplete();
+        
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+    
+    @Test
+    void testDiff_ResolvesAnalysesToTheirRefAndTool() {
+        when(codeScanningService.getAnalysis("octo", "api", 41L))
+                .thenReturn(Mono.just(CodeScanAnalysis.builder().id(41L).ref(BASE).tool(Tool.builder().name("CodeQL").build()).build()));
+        when(codeScanningService.getAnalysis("octo", "api", 42L))
+                .thenReturn(Mono.just(CodeScanAnalysis.builder().id(42L).ref(HEAD).tool(Tool.builder().name("CodeQL").build()).build()));
+        when(codeScanningService.getAlertsForRepository(eq("octo"), eq("api"), argThat(filter -> filter != null && "CodeQL".equals(filter.getToolName()) && BASE.equals(filter.getRef()))))
+                .thenReturn(Flux.just(alert(1L, "js/xss", "src/view.js", 5)));
+        when(codeScanningService.getAlertsForRepository(eq("octo"), eq("api"), argThat(filter -> filter != null && "CodeQL".equals(filter.getToolName()) && HEAD.equals(filter.getRef()))))
+                .thenReturn(Flux.empty());
+        
+        StepVerifier.create(service.diff("octo", "api", AlertDiffRequest.builder().baseAnalysisId(41L).headAnalysisId(42L).build()))
+                .expectNextMatches(entry -> entry.getChange() == Change.FIXED && entry.getAlert().getNumber() == 1L)
+                .verifyComplete();
+    }
+    
+    @Test
+    void testDiffRequest_RequiresExactlyOneSelectorPerSide() {
+        assertThat(AlertDiffRequest.builder().base(BASE).head(HEAD).build().isBaseSpecified()).isTrue();
+        assertThat(AlertDiffRequest.builder().head(HEAD).build().isBaseSpecified()).isFalse();
+        assertThat(AlertDiffRequest.builder().head(HEAD).headAnalysisId(42L).build().isHeadSpecified()).isFalse();
+    }
+    
+    private void stubRef(String ref, Flux<CodeScanningAlert> alerts) {
+        when(codeScanningService.getAlertsForRepository(eq("octo"), eq("api"), argThat((AlertFilterRequest filter) ->
+                filter != null && ref.equals(filter.getRef()) && filter.getState() == CodeScanningAlert.AlertState.OPEN && Boolean.TRUE.equals(filter.getAllPages()))))
+                .thenReturn(alerts);
+    }
+    
+    private static CodeScanningAlert alert(Long number, String ruleId, String path, int line) {
+        return CodeScanningAlert.builder()
+                .number(number)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .rule(Rule.builder().id(ruleId).build())
+                .mostRecentInstance(Instance.builder()
+                        .location(Location.builder().path(path).startLine(line).endLine(line).startColumn(1).endColumn(20).build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.model.Repository;
+import com.github.scanner.model.Rule;
+import com.github.scanner.model.Tool;
+import com.github.scanner.service.impl.AlertSummaryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertSummaryServiceTest {
+    
+    @Mock
+    private CodeScanningService codeScanningService;
+    
+    @InjectMocks
+    private AlertSummaryServiceImpl service;
+    
+    @Test
+    void testOrganizationSummaryIsLoadedOnceAndUpdatedIncrementally() {
+        List<CodeScanningAlert> alerts = List.of(
+                alert("test/api", 1L, CodeScanningAlert.AlertState.OPEN, "critical"),
+                alert("test/api", 2L, CodeScanningAlert.AlertState.OPEN, "high"),
+                alert("test/web", 1L, CodeScanningAlert.AlertState.FIXED, "critical"));
+        when(codeScanningService.getAlertsForOrganization(eq("test"), any(AlertFilterRequest.class)))
+                .thenReturn(Flux.fromIterable(alerts)
+                        .doOnNext(alert -> service.onAlertObserved(new AlertObservedEvent("test", null, null, alert))));
+        
+        AlertFilterRequest openCriticals = AlertFilterRequest.builder()
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .severity("critical")
+                .build();
+        StepVerifier.create(service.getOrganizationSummary("test", openCriticals))
+                .assertNext(summary -> {
+                    assertThat(summary.getTotal()).isEqualTo(1L);
+                    assertThat(summary.getByRepository()).containsExactlyEntriesOf(Map.of("test/api", 1L));
+                })
+                .verifyComplete();
+        
+        // A repository-level update dismisses the open critical alert.
+        service.onAlertObserved(new AlertObservedEvent("test", null, "test/api",
+                alert(null, 1L, CodeScanningAlert.AlertState.DISMISSED, "critical")));
+        
+        StepVerifier.create(service.getOrganizationSummary("test", new AlertFilterRequest()))
+                .assertNext(summary -> {
+                    assertThat(summary.getTotal()).isEqualTo(3L);
+                    assertThat(summary.getByState())
+                            .containsEntry("open", 1L)
+                            .containsEntry("dismissed", 1L)
+                            .containsEntry("fixed", 1L);
+                    assertThat(summary.getBySeverity())
+                            .containsEntry("critical", 2L)
+                            .containsEntry("high", 1L);
+                })
+                .verifyComplete();
+        
+        verify(codeScanningService, times(1)).getAlertsForOrganization(eq("test"), any(AlertFilterRequest.class));
+    }
+    
+    private static CodeScanningAlert alert(String repository, Long number, CodeScanningAlert.AlertState state, String severity) {
+        return CodeScanningAlert.builder()
+                .number(number)
+                .state(state)
+                .repository(repository != null ? Repository.builder().fullName(repository).build() : null)
+                .rule(Rule.builder().id("js/xss").securitySeverityLevel(severity).build())
+                .tool(Tool.builder().name("CodeQL").build())
+                .build();
+    }
+}
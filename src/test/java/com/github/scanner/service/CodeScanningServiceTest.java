@@ -1,8 +1,11 @@
 package com.github.scanner.service;
 
+import com.github.scanner.client.RetryPolicy;
+import com.github.scanner.config.RetryProperties;
 import com.github.scanner.dto.AlertFilterRequest;
 import com.github.scanner.dto.UpdateAlertRequest;
 import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.event.AlertObservedEvent;
 import com.github.scanner.exception.GitHubApiException;
 import com.github.scanner.model.CodeScanAnalysis;
 import com.github.scanner.model.CodeScanningAlert;
@@ -14,16 +17,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +60,12 @@ class CodeScanningServiceTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Spy
+    private RetryPolicy retryPolicy = fastRetryPolicy();
+    
     @InjectMocks
     private CodeScanningServiceImpl service;
     
@@ -224,6 +239,9 @@ class CodeScanningServiceTest {
                     assertThat(alert.getDismissedReason()).isEqualTo("false_positive");
                 })
                 .verifyComplete();
+        
+        verify(eventPublisher).publishEvent(argThat((AlertObservedEvent event) ->
+                "testOwner/testRepo#1".equals(event.getAlertKey()) && "testOwner".equals(event.getOrganization())));
     }
     
     @Test
@@ -316,4 +334,45 @@ class CodeScanningServiceTest {
                 })
                 .verifyComplete();
     }
+    
+    @Test
+    void testGetAlertsForOrganization_AllPages() {
+        String org = "testOrg";
+        AlertFilterRequest filterRequest = AlertFilterRequest.builder()
+                .perPage(100)
+                .allPages(true)
+                .build();
+        CodeScanningAlert secondAlert = CodeScanningAlert.builder()
+                .number(2L)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .build();
+        
+        ResponseEntity<List<CodeScanningAlert>> firstPage = ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<https://api.github.com/orgs/testOrg/code-scanning/alerts?per_page=100&page=2>; rel=\"next\"")
+                .body(List.of(testAlert));
+        ResponseEntity<List<CodeScanningAlert>> lastPage = ResponseEntity.ok()
+                .body(List.of(secondAlert));
+        
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(any(URI.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(CodeScanningAlert.class))
+                .thenReturn(Mono.just(firstPage), Mono.just(lastPage));
+        
+        Flux<CodeScanningAlert> result = service.getAlertsForOrganization(org, filterRequest);
+        
+        StepVerifier.create(result)
+                .assertNext(alert -> assertThat(alert.getNumber()).isEqualTo(1L))
+                .assertNext(alert -> assertThat(alert.getNumber()).isEqualTo(2L))
+                .verifyComplete();
+        
+        verify(requestHeadersUriSpec).uri(URI.create("https://api.github.com/orgs/testOrg/code-scanning/alerts?per_page=100&page=2"));
+    }
+    
+    private static RetryPolicy fastRetryPolicy() {
+        RetryProperties properties = new RetryProperties();
+        properties.setFirstBackoff(Duration.ofMillis(1));
+        return new RetryPolicy(properties, 3);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.AlertFilterRequest;
+import com.github.scanner.dto.RepositoryAlertResult;
+import com.github.scanner.dto.RepositorySetAlertsRequest;
+import com.github.scanner.exception.GitHubApiException;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.impl.RepositorySetAlertServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositorySetAlertServiceTest {
+    
+    @Mock
+    private CodeScanningService codeScanningService;
+    
+    @InjectMocks
+    private RepositorySetAlertServiceImpl service;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxConcurrency", 4);
+    }
+    
+    @Test
+    void testGetAlertsForRepositories_TagsResultsAndReportsFailures() {
+        AlertFilterRequest filter = AlertFilterRequest.builder().state(CodeScanningAlert.AlertState.OPEN).build();
+        RepositorySetAlertsRequest setRequest = RepositorySetAlertsRequest.builder()
+                .repositories(List.of("octo/api", "octo/web", "octo/missing", "Octo/API"))
+                .filter(filter)
+                .build();
+        
+        when(codeScanningService.getAlertsForRepository("octo", "api", filter))
+                .thenReturn(Flux.just(alert(1L), alert(2L)));
+        when(codeScanningService.getAlertsForRepository("octo", "web", filter))
+                .thenReturn(Flux.just(alert(7L)));
+        when(codeScanningService.getAlertsForRepository("octo", "missing", filter))
+                .thenReturn(Flux.error(new GitHubApiException("Failed to fetch repository alerts")));
+        
+        StepVerifier.create(service.getAlertsForRepositories(setRequest).collectList())
+                .assertNext(results -> {
+                    assertThat(results).hasSize(4);
+                    assertThat(results).filteredOn(RepositoryAlertResult::getSuccess)
+                            .extracting(RepositoryAlertResult::getRepository)
+                            .containsExactlyInAnyOrder("octo/api", "octo/api", "octo/web");
+                    assertThat(results).filteredOn(result -> !result.getSuccess())
+                            .singleElement()
+                            .satisfies(result -> {
+                                assertThat(result.getRepository()).isEqualTo("octo/missing");
+                                assertThat(result.getError()).isEqualTo("Failed to fetch repository alerts");
+                            });
+                })
+                .verifyComplete();
+        
+        verify(codeScanningService, never()).getAlertsForRepository(eq("Octo"), any(), any());
+    }
+    
+    @Test
+    void testGetAlertsForRepositories_CapsConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(codeScanningService.getAlertsForRepository(any(), any(), any()))
+                .thenAnswer(invocation -> Flux.just(alert(1L))
+                        .delaySubscription(Duration.ofMillis(20))
+                        .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doFinally(signal -> inFlight.decrementAndGet()));
+        
+        RepositorySetAlertsRequest setRequest = RepositorySetAlertsRequest.builder()
+                .repositories(List.of("o/r1", "o/r2", "o/r3", "o/r4", "o/r5", "o/r6"))
+                .concurrency(10)
+                .build();
+        
+        StepVerifier.create(service.getAlertsForRepositories(setRequest))
+                .expectNextCount(6)
+                .verifyComplete();
+        
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(4);
+    }
+    
+    private static CodeScanningAlert alert(Long number) {
+        return CodeScanningAlert.builder()
+                .number(number)
+                .state(CodeScanningAlert.AlertState.OPEN)
+                .build();
+    }
+}
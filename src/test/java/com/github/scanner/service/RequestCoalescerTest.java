@@ -0,0 +1,82 @@
+package com.github.scanner.service;
+
+import com.github.scanner.service.impl.RequestCoalescer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void testConcurrentFluxCallersShareOneUpstreamRequest() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        Flux<Integer> first = coalescer.flux("GET /orgs/test/code-scanning/alerts", () -> Flux.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Flux.just(1, 2, 3).delayElements(Duration.ofMillis(50));
+        }));
+        Flux<Integer> second = coalescer.flux("GET /orgs/test/code-scanning/alerts", () -> Flux.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Flux.just(99);
+        }));
+
+        StepVerifier.create(Flux.merge(
+                        first.collectList(),
+                        Mono.delay(Duration.ofMillis(75)).then(second.collectList())))
+                .assertNext(alerts -> assertThat(alerts).containsExactly(1, 2, 3))
+                .assertNext(alerts -> assertThat(alerts).containsExactly(1, 2, 3))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void testConcurrentMonoCallersShareOneUpstreamRequest() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Mono<String> alert = coalescer.mono("GET /repos/test/repo/code-scanning/alerts/1", () -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just("alert-1").delayElement(Duration.ofMillis(50));
+        }));
+
+        StepVerifier.create(Flux.merge(alert, alert, alert))
+                .expectNext("alert-1", "alert-1", "alert-1")
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void testDifferentKeysAreNotCoalesced() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        StepVerifier.create(Flux.merge(
+                        coalescer.mono("a", () -> Mono.fromCallable(upstreamCalls::incrementAndGet)),
+                        coalescer.mono("b", () -> Mono.fromCallable(upstreamCalls::incrementAndGet))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void testCompletedRequestIsNotServedToLaterCallers() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(coalescer.mono("key", () -> Mono.fromCallable(upstreamCalls::incrementAndGet)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.SarifPartUpload;
+import com.github.scanner.dto.UploadSarifRequest;
+import com.github.scanner.exception.GitHubApiException;
+import com.github.scanner.service.impl.SarifSplitUploadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SarifSplitUploadServiceTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Mock
+    private CodeScanningService codeScanningService;
+    
+    @InjectMocks
+    private SarifSplitUploadServiceImpl service;
+    
+    private final UploadSarifRequest metadata = UploadSarifRequest.builder()
+            .commitSha("abc123")
+            .ref("refs/heads/main")
+            .build();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxResultsPerUpload", 2);
+        ReflectionTestUtils.setField(service, "maxCompressedSize", DataSize.ofMegabytes(8));
+        ReflectionTestUtils.setField(service, "maxConcurrency", 2);
+    }
+    
+    @Test
+    void testUploadSplit_ReturnsSarifIdPerPartInOrder() throws Exception {
+        Path sarif = Files.writeString(directory.resolve("input.sarif"), log(5));
+        AtomicInteger uploads = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(codeScanningService.uploadSarifStream(eq("octo"), eq("api"), eq(metadata), any()))
+                .thenAnswer(invocation -> DataBufferUtils.join(invocation.getArgument(3))
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                        .doOnNext(part -> assertThat(part).contains("\"id\":\"codeql/part-"))
+                        .then(Mono.fromSupplier(() -> "{\"id\":\"sarif-" + uploads.incrementAndGet() + "\",\"url\":\"https://api.github.com/x\"}"))
+                        .delaySubscription(Duration.ofMillis(20))
+                        .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doFinally(signal -> inFlight.decrementAndGet()));
+        
+        StepVerifier.create(service.uploadSplit("octo", "api", metadata, sarif).collectList())
+                .assertNext(parts -> {
+                    assertThat(parts).extracting(SarifPartUpload::getPart).containsExactly(1, 2, 3);
+                    assertThat(parts).extracting(SarifPartUpload::getResults).containsExactly(2L, 2L, 1L);
+                    assertThat(parts).allMatch(SarifPartUpload::getSuccess);
+                    assertThat(parts).extracting(SarifPartUpload::getSarifId).doesNotHaveDuplicates().allMatch(id -> id.startsWith("sarif-"));
+                })
+                .verifyComplete();
+        
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+    
+    @Test
+    void testUploadSplit_ReportsFailedParts() throws Exception {
+        Path sarif = Files.writeString(directory.resolve("input.sarif"), log(3));
+        AtomicInteger uploads = new AtomicInteger();
+        when(codeScanningService.uploadSarifStream(eq("octo"), eq("api"), eq(metadata), any()))
+                .thenAnswer(invocation -> uploads.incrementAndGet() == 1
+                        ? Mono.just("{\"id\":\"sarif-1\"}")
+                        : Mono.error(new GitHubApiException("Failed to upload SARIF results")));
+        
+        StepVerifier.create(service.uploadSplit("octo", "api", metadata, sarif).collectList())
+                .assertNext(parts -> {
+                    assertThat(parts).extracting(SarifPartUpload::getSuccess).containsExactly(true, false);
+                    assertThat(parts.get(1).getError()).isEqualTo("Failed to upload SARIF results");
+                })
+                .verifyComplete();
+    }
+    
+    private static String log(int results) {
+        StringBuilder sarif = new StringBuilder("{\"version\": \"2.1.0\", \"runs\": [{\"tool\": {\"driver\": {\"name\": \"CodeQL\"}}, "
+                + "\"automationDetails\": {\"id\": \"codeql/\"}, \"results\": [");
+        for (int i = 0; i < results; i++) {
+            sarif.append(i == 0 ? "" : ",").append("{\"ruleId\": \"js/xss\", \"message\": {\"text\": \"finding ").append(i).append("\"}}");
+        }
+        return sarif.append("]}]}").toString();
+    }
+}
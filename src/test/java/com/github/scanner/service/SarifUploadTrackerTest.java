@@ -0,0 +1,146 @@
+package com.github.scanner.service;
+
+import com.github.scanner.dto.SarifProcessingStatus;
+import com.github.scanner.event.SarifUploadedEvent;
+import com.github.scanner.exception.GitHubApiException;
+import com.github.scanner.exception.SarifTrackerFullException;
+import com.github.scanner.service.impl.SarifUploadTrackerImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SarifUploadTrackerTest {
+    
+    private CodeScanningService codeScanningService;
+    private SarifUploadTrackerImpl tracker;
+    
+    @BeforeEach
+    void setUp() {
+        codeScanningService = mock(CodeScanningService.class);
+        tracker = new SarifUploadTrackerImpl(codeScanningService, new SimpleMeterRegistry(),
+                Duration.ofMillis(20), Duration.ofMillis(100), Duration.ofHours(1), Duration.ofHours(1), 4, 2, 3);
+    }
+    
+    @Test
+    void testWaitersShareOnePollPerInterval() throws Exception {
+        when(codeScanningService.getSarifInformation("octo", "api", "sarif-1"))
+                .thenReturn(Mono.error(new GitHubApiException("Failed to fetch SARIF information")))
+                .thenReturn(Mono.just("{\"processing_status\": \"pending\"}"))
+                .thenReturn(Mono.just("{\"processing_status\": \"complete\", \"analyses_url\": \"https://api.github.com/repos/octo/api/code-scanning/analyses?sarif_id=sarif-1\"}"));
+        tracker.onSarifUploaded(new SarifUploadedEvent("octo", "api", SarifUploadedEvent.sarifIdOf("{\"id\": \"sarif-1\", \"url\": \"https://api.github.com/x\"}")));
+        
+        CompletableFuture<List<SarifProcessingStatus>> waiters = Flux.range(0, 50)
+                .flatMap(i -> tracker.awaitCompletion("octo", "api", "sarif-1", Duration.ofSeconds(5)))
+                .collectList()
+                .toFuture();
+        CompletableFuture<List<SarifProcessingStatus>> watcher = tracker.watch("Octo", "API", "sarif-1").collectList().toFuture();
+        for (int i = 0; i < 100 && !waiters.isDone(); i++) {
+            tracker.checkDue();
+            Thread.sleep(10);
+        }
+        
+        assertThat(waiters.get()).hasSize(50).allSatisfy(status -> {
+            assertThat(status.getProcessingStatus()).isEqualTo("complete");
+            assertThat(status.getAnalysesUrl()).endsWith("sarif_id=sarif-1");
+            assertThat(status.getChecks()).isEqualTo(3);
+        });
+        assertThat(watcher.get()).extracting(SarifProcessingStatus::getProcessingStatus)
+                .containsExactly("pending", "pending", "pending", "complete");
+        verify(codeScanningService, times(3)).getSarifInformation("octo", "api", "sarif-1");
+    }
+    
+    @Test
+    void testLongPollReturnsCurrentStatusOnTimeout() {
+        when(codeScanningService.getSarifInformation("octo", "api", "sarif-2"))
+                .thenReturn(Mono.just("{\"processing_status\": \"pending\"}"));
+        
+        SarifProcessingStatus status = tracker.awaitCompletion("octo", "api", "sarif-2", Duration.ofMillis(100)).block();
+        
+        assertThat(status.getProcessingStatus()).isEqualTo("pending");
+        assertThat(status.isDone()).isFalse();
+    }
+    
+    @Test
+    void testFailedProcessingCarriesErrors() {
+        when(codeScanningService.getSarifInformation("octo", "api", "sarif-3"))
+                .thenReturn(Mono.just("{\"processing_status\": \"failed\", \"errors\": [\"locationFromSarifResult: expected artifact location\"]}"));
+        tracker.track("octo", "api", "sarif-3");
+        
+        tracker.checkDue();
+        
+        SarifProcessingStatus status = tracker.awaitCompletion("octo", "api", "sarif-3", Duration.ofSeconds(1)).block();
+        assertThat(status.getProcessingStatus()).isEqualTo("failed");
+        assertThat(status.getErrors()).containsExactly("locationFromSarifResult: expected artifact location");
+    }
+    
+    @Test
+    void testUnknownClientIdIsDroppedAfterFirstCheck() {
+        when(codeScanningService.getSarifInformation("octo", "api", "made-up")).thenReturn(notFound());
+        CompletableFuture<List<SarifProcessingStatus>> watcher = tracker.watch("octo", "api", "made-up").collectList().toFuture();
+        
+        tracker.checkDue();
+        tracker.checkDue();
+        
+        assertThat(watcher).isDone();
+        verify(codeScanningService, times(1)).getSarifInformation("octo", "api", "made-up");
+    }
+    
+    @Test
+    void testUploadIsDroppedAfterConsecutiveNotFounds() throws Exception {
+        when(codeScanningService.getSarifInformation("octo", "api", "sarif-4")).thenReturn(notFound());
+        tracker.onSarifUploaded(new SarifUploadedEvent("octo", "api", "sarif-4"));
+        CompletableFuture<List<SarifProcessingStatus>> watcher = tracker.watch("octo", "api", "sarif-4").collectList().toFuture();
+        
+        for (int i = 0; i < 100 && !watcher.isDone(); i++) {
+            tracker.checkDue();
+            Thread.sleep(10);
+        }
+        tracker.checkDue();
+        
+        assertThat(watcher).isDone();
+        verify(codeScanningService, times(3)).getSarifInformation("octo", "api", "sarif-4");
+    }
+    
+    @Test
+    void testClientIdsAreCappedButUploadsAreNot() {
+        tracker.track("octo", "api", "a");
+        tracker.track("octo", "api", "b");
+        
+        assertThatThrownBy(() -> tracker.track("octo", "api", "c")).isInstanceOf(SarifTrackerFullException.class);
+        tracker.onSarifUploaded(new SarifUploadedEvent("octo", "api", "c"));
+        assertThat(tracker.track("octo", "api", "c").getProcessingStatus()).isEqualTo("pending");
+    }
+    
+    @Test
+    void testChecksDoNotBlockOrOverlap() {
+        when(codeScanningService.getSarifInformation("octo", "api", "sarif-5")).thenReturn(Mono.never());
+        tracker.track("octo", "api", "sarif-5");
+        
+        tracker.checkDue();
+        tracker.checkDue();
+        
+        verify(codeScanningService, times(1)).getSarifInformation("octo", "api", "sarif-5");
+    }
+    
+    @Test
+    void testUploadResponsesWithoutIdAreIgnored() {
+        assertThat(SarifUploadedEvent.sarifIdOf("sarif-12345")).isNull();
+        assertThat(SarifUploadedEvent.sarifIdOf("{\"url\": \"https://api.github.com/x\"}")).isNull();
+    }
+    
+    private static Mono<String> notFound() {
+        return Mono.error(new GitHubApiException("Failed to fetch SARIF information",
+                WebClientResponseException.create(404, "Not Found", null, null, null)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.scanner.service;
+
+import com.github.scanner.client.FlyweightPool;
+import com.github.scanner.event.AlertObservedEvent;
+import com.github.scanner.exception.WebhookRejectedException;
+import com.github.scanner.model.CodeScanningAlert;
+import com.github.scanner.service.impl.WebhookIngestionServiceImpl;
+import com.github.scanner.webhook.WebhookSignatureVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class WebhookIngestionServiceTest {
+    
+    private static final String SECRET = "It's a Secret to Everybody";
+    
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookIngestionServiceImpl service;
+    
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = newService(100);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+    
+    @Test
+    void testRecordedDeliveryIsAppliedAsObservedAlert() throws Exception {
+        byte[] payload = recorded("code_scanning_alert.closed_by_user.json");
+        
+        assertThat(service.ingest("code_scanning_alert", WebhookSignatureVerifier.signatureOf(SECRET, payload), payload)).isTrue();
+        
+        ArgumentCaptor<AlertObservedEvent> event = ArgumentCaptor.forClass(AlertObservedEvent.class);
+        verify(eventPublisher, timeout(2000)).publishEvent(event.capture());
+        assertThat(event.getValue().getOrganization()).isEqualTo("octo-org");
+        assertThat(event.getValue().getRepository()).isEqualTo("octo-org/payments");
+        assertThat(event.getValue().getAlertKey()).isEqualTo("octo-org/payments#42");
+        assertThat(event.getValue().getAlert().getState()).isEqualTo(CodeScanningAlert.AlertState.DISMISSED);
+        assertThat(event.getValue().getAlert().getRule().getSecuritySeverityLevel()).isEqualTo("high");
+    }
+    
+    @Test
+    void testBurstForSameAlertIsAppliedOnce() throws Exception {
+        byte[] payload = recorded("code_scanning_alert.closed_by_user.json");
+        String signature = WebhookSignatureVerifier.signatureOf(SECRET, payload);
+        
+        for (int i = 0; i < 5; i++) {
+            service.ingest("code_scanning_alert", signature, payload);
+        }
+        
+        verify(eventPublisher, after(1000).times(1)).publishEvent(any(AlertObservedEvent.class));
+    }
+    
+    @Test
+    void testInvalidSignatureIsRejected() throws Exception {
+        byte[] payload = recorded("code_scanning_alert.closed_by_user.json");
+        
+        assertThatThrownBy(() -> service.ingest("code_scanning_alert", WebhookSignatureVerifier.signatureOf("wrong", payload), payload))
+                .isInstanceOfSatisfying(WebhookRejectedException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThatThrownBy(() -> service.ingest("code_scanning_alert", null, payload))
+                .isInstanceOf(WebhookRejectedException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void testOtherEventsAreIgnored() {
+        byte[] payload = "{\"zen\":\"Keep it logically awesome.\"}".getBytes(StandardCharsets.UTF_8);
+        
+        assertThat(service.ingest("ping", WebhookSignatureVerifier.signatureOf(SECRET, payload), payload)).isFalse();
+    }
+    
+    @Test
+    void testFullQueueRejectsDelivery() throws Exception {
+        // stall the worker so deliveries pile up in the queue
+        CountDownLatch stalled = new CountDownLatch(1);
+        doAnswer(invocation -> stalled.await(5, TimeUnit.SECONDS)).when(eventPublisher).publishEvent(any(Object.class));
+        service.destroy();
+        service = newService(1);
+        byte[] payload = recorded("code_scanning_alert.closed_by_user.json");
+        String signature = WebhookSignatureVerifier.signatureOf(SECRET, payload);
+        
+        try {
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    service.ingest("code_scanning_alert", signature, payload);
+                }
+            }).isInstanceOfSatisfying(WebhookRejectedException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            stalled.countDown();
+        }
+    }
+    
+    private WebhookIngestionServiceImpl newService(int queueCapacity) {
+        return new WebhookIngestionServiceImpl(eventPublisher, new WebhookSignatureVerifier(SECRET),
+                new FlyweightPool(meterRegistry), meterRegistry, queueCapacity, 50, Duration.ofMillis(100));
+    }
+    
+    private static byte[] recorded(String name) throws Exception {
+        try (InputStream in = WebhookIngestionServiceTest.class.getResourceAsStream("/webhooks/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.github.scanner.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.QueryStringEncoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for GitHub's code scanning REST API, serving {@link SyntheticAlerts synthetic}
+ * organizations for load and latency testing.
+ * <p>
+ * It answers the calls this application makes: repository, organization and enterprise alert lists,
+ * single alerts and their instances, alert updates, analyses and SARIF uploads. Like GitHub it
+ * <ul>
+ *   <li>pages lists with {@code page} / {@code per_page} (at most 100) and a {@code Link} header with
+ *   {@code prev}, {@code next}, {@code last} and {@code first} relations,</li>
+ *   <li>sends an {@code ETag} with every successful GET and answers a matching {@code If-None-Match} with
+ *   {@code 304 Not Modified}, which does not count against the rate limit,</li>
+ *   <li>counts requests per {@code Authorization} header against a primary rate limit, reported in the
+ *   {@code X-RateLimit-*} headers and answered with {@code 403} (or {@code 429}) once used up, and</li>
+ *   <li>rejects a configurable share of requests as if a secondary limit was hit, with {@code Retry-After}.</li>
+ * </ul>
+ * Every response is delayed by a sample of the configured {@link LatencyDistribution}. Response counts by
+ * status are served at {@code /_simulator/stats}, outside the rate limit.
+ * <p>
+ * Start one in-process with {@link #start(SimulatorSettings)}, or standalone from {@link #main} with
+ * {@link SimulatorSettings#fromSystemProperties() system properties}, then point the application at it with
+ * {@code --github.api.base-url}.
+ */
+public final class GitHubSimulator implements AutoCloseable {
+    
+    public static final String STATS_PATH = "/_simulator/stats";
+    
+    /**
+     * Prefix of the simulator's event-loop threads, for telling its CPU time apart from the application's.
+     */
+    public static final String THREADS = "github-simulator";
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final int DEFAULT_PER_PAGE = 30;
+    
+    private static final int MAX_PER_PAGE = 100;
+    
+    private static final byte[] NO_BODY = new byte[0];
+    
+    private static final int MAX_CACHED_LISTINGS = 256;
+    
+    private final SimulatorSettings settings;
+    
+    private final SyntheticAlerts alerts;
+    
+    private final RateLimiter rateLimiter;
+    
+    private final Map<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+    
+    private final Map<Listing, Matches> matches = new ConcurrentHashMap<>();
+    
+    private final LoopResources loops;
+    
+    private final DisposableServer server;
+    
+    private GitHubSimulator(SimulatorSettings settings) {
+        this.settings = settings;
+        this.alerts = new SyntheticAlerts(settings);
+        this.rateLimiter = new RateLimiter(settings.rateLimit(), settings.rateLimitWindow());
+        this.loops = LoopResources.create(THREADS, LoopResources.DEFAULT_IO_WORKER_COUNT, true);
+        HttpServer httpServer = HttpServer.create()
+                .runOn(loops)
+                .port(settings.port())
+                .handle(this::handle);
+        this.server = (settings.compress() ? httpServer.compress(1024) : httpServer).bindNow();
+    }
+    
+    public static GitHubSimulator start(SimulatorSettings settings) {
+        return new GitHubSimulator(settings);
+    }
+    
+    public static void main(String[] args) {
+        GitHubSimulator simulator = start(SimulatorSettings.fromSystemProperties());
+        SimulatorSettings settings = simulator.settings();
+        System.out.printf("GitHub simulator on %s: %d organization(s) of %d repositories with %d alerts each%n",
+                simulator.baseUrl(), settings.organizations(), settings.repositories(), settings.alerts());
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+        simulator.server.onDispose().block();
+    }
+    
+    public SimulatorSettings settings() {
+        return settings;
+    }
+    
+    public int port() {
+        return server.port();
+    }
+    
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+    
+    /**
+     * Responses sent so far by HTTP status, plus their {@code total}.
+     */
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new TreeMap<>();
+        responses.forEach((status, count) -> stats.put(String.valueOf(status), count.sum()));
+        stats.put("total", stats.values().stream().mapToLong(Long::longValue).sum());
+        return stats;
+    }
+    
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.disposeLater().block();
+    }
+    
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        Duration latency = settings.latency().sample(ThreadLocalRandom.current());
+        return request.receive()
+                .aggregate()
+                .asByteArray()
+                .defaultIfEmpty(NO_BODY)
+                .map(body -> respond(request, body))
+                .delayUntil(reply -> latency.isZero() ? Mono.empty() : Mono.delay(latency))
+                .flatMap(reply -> send(response, reply));
+    }
+    
+    private Reply respond(HttpServerRequest request, byte[] body) {
+        QueryStringDecoder query = new QueryStringDecoder(request.uri());
+        if (STATS_PATH.equals(query.path())) {
+            return json(HttpResponseStatus.OK, MAPPER.valueToTree(stats()));
+        }
+        
+        String credential = request.requestHeaders().get(HttpHeaderNames.AUTHORIZATION, "anonymous");
+        Instant now = Instant.now();
+        RateLimiter.Quota quota = rateLimiter.acquire(credential, now);
+        Reply reply;
+        if (!quota.granted()) {
+            reply = error(HttpResponseStatus.valueOf(settings.rateLimitStatus()), "API rate limit exceeded.");
+        } else if (ThreadLocalRandom.current().nextDouble() < settings.secondaryLimitRate()) {
+            quota = rateLimiter.release(credential, now);
+            reply = error(HttpResponseStatus.valueOf(settings.secondaryLimitStatus()),
+                    "You have exceeded a secondary rate limit. Please wait a few minutes before you try again.");
+            reply.headers().put(HttpHeaderNames.RETRY_AFTER.toString(), String.valueOf(settings.retryAfter().toSeconds()));
+        } else {
+            reply = route(request.method(), query, body, apiUrl(request));
+            if (HttpMethod.GET.equals(request.method()) && reply.status().code() == HttpResponseStatus.OK.code()) {
+                String etag = etag(reply.body());
+                reply.headers().put(HttpHeaderNames.ETAG.toString(), etag);
+                if (matches(request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH), etag)) {
+                    quota = rateLimiter.release(credential, now);
+                    reply = new Reply(HttpResponseStatus.NOT_MODIFIED, reply.headers(), NO_BODY);
+                }
+            }
+        }
+        
+        reply.headers().put("X-RateLimit-Limit", String.valueOf(quota.limit()));
+        reply.headers().put("X-RateLimit-Remaining", String.valueOf(quota.remaining()));
+        reply.headers().put("X-RateLimit-Reset", String.valueOf(quota.resetEpochSecond()));
+        reply.headers().put("X-RateLimit-Used", String.valueOf(quota.used()));
+        reply.headers().put("X-RateLimit-Resource", "core");
+        return reply;
+    }
+    
+    private Reply route(HttpMethod method, QueryStringDecoder query, byte[] body, String apiUrl) {
+        String[] path = query.path().split("/");
+        if (path.length >= 6 && "repos".equals(path[1]) && "code-scanning".equals(path[4])) {
+            SyntheticAlerts.Repo repo = alerts.repository(path[2], path[3]);
+            if (repo == null) {
+                return notFound();
+            }
+            return switch (path[5]) {
+                case "alerts" -> repositoryAlerts(method, path, repo, query, body, apiUrl);
+                case "analyses" -> path.length == 6 && HttpMethod.GET.equals(method)
+                        ? json(HttpResponseStatus.OK, JsonNodeFactory.instance.arrayNode())
+                        : notFound();
+                case "sarifs" -> sarifs(method, path, repo, apiUrl);
+                default -> notFound();
+            };
+        }
+        if (path.length == 5 && "code-scanning".equals(path[3]) && "alerts".equals(path[4]) && HttpMethod.GET.equals(method)) {
+            if ("orgs".equals(path[1])) {
+                List<SyntheticAlerts.Repo> repos = alerts.organization(path[2]);
+                return repos != null ? list(repos, true, query, apiUrl) : notFound();
+            }
+            if ("enterprises".equals(path[1])) {
+                return list(alerts.all(), true, query, apiUrl);
+            }
+        }
+        return notFound();
+    }
+    
+    private Reply repositoryAlerts(HttpMethod method, String[] path, SyntheticAlerts.Repo repo,
+                                   QueryStringDecoder query, byte[] body, String apiUrl) {
+        if (path.length == 6) {
+            return HttpMethod.GET.equals(method) ? list(List.of(repo), false, query, apiUrl) : notFound();
+        }
+        long number = parseLong(path[6], -1);
+        if (!alerts.exists(repo, number)) {
+            return notFound();
+        }
+        if (path.length == 8 && "instances".equals(path[7]) && HttpMethod.GET.equals(method)) {
+            return json(HttpResponseStatus.OK, alerts.instances(repo, number));
+        }
+        if (path.length != 7) {
+            return notFound();
+        }
+        if (HttpMethod.GET.equals(method)) {
+            return json(HttpResponseStatus.OK, alerts.alert(repo, number, apiUrl, false));
+        }
+        if (HttpMethod.PATCH.equals(method)) {
+            JsonNode update = readTree(body);
+            String state = update.path("state").asText("").toLowerCase(Locale.ROOT);
+            String reason = update.path(update.has("dismissed_reason") ? "dismissed_reason" : "dismissedReason").asText(null);
+            String comment = update.path(update.has("dismissed_comment") ? "dismissed_comment" : "dismissedComment").asText(null);
+            if (!alerts.update(repo, number, state, reason, comment)) {
+                return error(HttpResponseStatus.UNPROCESSABLE_ENTITY, "Invalid request: state must be open or dismissed.");
+            }
+            return json(HttpResponseStatus.OK, alerts.alert(repo, number, apiUrl, false));
+        }
+        return notFound();
+    }
+    
+    private Reply sarifs(HttpMethod method, String[] path, SyntheticAlerts.Repo repo, String apiUrl) {
+        String sarifsUrl = apiUrl + "/repos/" + repo.fullName() + "/code-scanning/sarifs/";
+        if (path.length == 6 && HttpMethod.POST.equals(method)) {
+            String id = UUID.randomUUID().toString();
+            ObjectNode upload = JsonNodeFactory.instance.objectNode();
+            upload.put("id", id);
+            upload.put("url", sarifsUrl + id);
+            return json(HttpResponseStatus.ACCEPTED, upload);
+        }
+        if (path.length == 7 && HttpMethod.GET.equals(method)) {
+            ObjectNode status = JsonNodeFactory.instance.objectNode();
+            status.put("processing_status", "complete");
+            status.put("analyses_url", apiUrl + "/repos/" + repo.fullName() + "/code-scanning/analyses?sarif_id=" + path[6]);
+            status.putNull("errors");
+            return json(HttpResponseStatus.OK, status);
+        }
+        return notFound();
+    }
+    
+    /**
+     * One page of the alerts of {@code repos} matching the request's filters. Alert numbers grow with their
+     * creation time, so newest first ({@code direction=desc}, the default) is the highest number first,
+     * across repositories in their order. Every alert has a position in that order; a filtered list looks
+     * its page up in the cached positions of the alerts that match, so paging through it stays linear.
+     */
+    private Reply list(List<SyntheticAlerts.Repo> repos, boolean withRepository, QueryStringDecoder query, String apiUrl) {
+        int perPage = (int) Math.min(MAX_PER_PAGE, Math.max(1, parseLong(parameter(query, "per_page"), DEFAULT_PER_PAGE)));
+        int page = (int) Math.max(1, parseLong(parameter(query, "page"), 1));
+        SyntheticAlerts.Filter filter = SyntheticAlerts.Filter.of(
+                parameter(query, "state"), parameter(query, "severity"), parameter(query, "tool_name"));
+        boolean ascending = "asc".equalsIgnoreCase(parameter(query, "direction"));
+        int alertsPerRepository = settings.alerts();
+        
+        int[] positions = filter.matchesAll() ? null : matches(repos, filter, ascending);
+        long matched = positions != null ? positions.length : (long) alertsPerRepository * repos.size();
+        long skip = (long) (page - 1) * perPage;
+        ArrayNode items = JsonNodeFactory.instance.arrayNode();
+        for (long index = skip; index < matched && items.size() < perPage; index++) {
+            long position = positions != null ? positions[(int) index] : index;
+            int i = (int) (position / repos.size());
+            SyntheticAlerts.Repo repo = repos.get((int) (position % repos.size()));
+            items.add(alerts.alert(repo, ascending ? i + 1 : alertsPerRepository - i, apiUrl, withRepository));
+        }
+        
+        Reply reply = json(HttpResponseStatus.OK, items);
+        int last = (int) Math.max(1, (matched + perPage - 1) / perPage);
+        List<String> links = new ArrayList<>();
+        if (page > 1) {
+            links.add(link(apiUrl, query, Math.min(page - 1, last), perPage, "prev"));
+        }
+        if (page < last) {
+            links.add(link(apiUrl, query, page + 1, perPage, "next"));
+            links.add(link(apiUrl, query, last, perPage, "last"));
+        }
+        if (page > 1) {
+            links.add(link(apiUrl, query, 1, perPage, "first"));
+        }
+        if (!links.isEmpty()) {
+            reply.headers().put("Link", String.join(", ", links));
+        }
+        return reply;
+    }
+    
+    /**
+     * Positions of the alerts of {@code repos} that match {@code filter}, in listing order; found once per
+     * filter and reused until an alert is updated.
+     */
+    private int[] matches(List<SyntheticAlerts.Repo> repos, SyntheticAlerts.Filter filter, boolean ascending) {
+        Listing listing = new Listing(repos, filter, ascending);
+        long version = alerts.version();
+        Matches cached = matches.get(listing);
+        if (cached != null && cached.version() == version) {
+            return cached.positions();
+        }
+        
+        int alertsPerRepository = settings.alerts();
+        int[] positions = new int[alertsPerRepository * repos.size()];
+        int count = 0;
+        for (int i = 0; i < alertsPerRepository; i++) {
+            long number = ascending ? i + 1 : alertsPerRepository - i;
+            for (int r = 0; r < repos.size(); r++) {
+                if (alerts.matches(repos.get(r), number, filter)) {
+                    positions[count++] = i * repos.size() + r;
+                }
+            }
+        }
+        positions = Arrays.copyOf(positions, count);
+        if (matches.size() >= MAX_CACHED_LISTINGS) {
+            matches.clear();
+        }
+        matches.put(listing, new Matches(version, positions));
+        return positions;
+    }
+    
+    private static String link(String apiUrl, QueryStringDecoder query, int page, int perPage, String rel) {
+        QueryStringEncoder encoder = new QueryStringEncoder(apiUrl + query.path());
+        query.parameters().forEach((name, values) -> {
+            if (!"page".equals(name) && !"per_page".equals(name)) {
+                values.forEach(value -> encoder.addParam(name, value));
+            }
+        });
+        encoder.addParam("per_page", String.valueOf(perPage));
+        encoder.addParam("page", String.valueOf(page));
+        return "<" + encoder + ">; rel=\"" + rel + "\"";
+    }
+    
+    private Mono<Void> send(HttpServerResponse response, Reply reply) {
+        responses.computeIfAbsent(reply.status().code(), status -> new LongAdder()).increment();
+        response.status(reply.status());
+        reply.headers().forEach(response::header);
+        if (reply.body().length == 0) {
+            return response.send();
+        }
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=utf-8")
+                .sendByteArray(Mono.just(reply.body()))
+                .then();
+    }
+    
+    /**
+     * Where the caller reached the simulator, so the URLs in bodies and {@code Link} headers lead back to it.
+     */
+    private String apiUrl(HttpServerRequest request) {
+        String host = request.requestHeaders().get(HttpHeaderNames.HOST);
+        return "http://" + (host != null ? host : "localhost:" + port());
+    }
+    
+    private static String etag(byte[] body) {
+        try {
+            return "W/\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * Weak comparison of an {@code If-None-Match} list against the current entity tag.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || tag.equals(etag) || tag.equals(opaque) || tag.equals("W/" + opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Reply json(HttpResponseStatus status, JsonNode body) {
+        try {
+            return new Reply(status, new LinkedHashMap<>(), MAPPER.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Reply error(HttpResponseStatus status, String message) {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        body.put("message", message);
+        body.put("documentation_url", "https://docs.github.com/rest");
+        body.put("status", String.valueOf(status.code()));
+        return json(status, body);
+    }
+    
+    private static Reply notFound() {
+        return error(HttpResponseStatus.NOT_FOUND, "Not Found");
+    }
+    
+    private static JsonNode readTree(byte[] body) {
+        try {
+            return body.length > 0 ? MAPPER.readTree(body) : JsonNodeFactory.instance.objectNode();
+        } catch (IOException e) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+    }
+    
+    private static String parameter(QueryStringDecoder query, String name) {
+        List<String> values = query.parameters().get(name);
+        return values == null || values.isEmpty() || values.get(0).isBlank() ? null : values.get(0);
+    }
+    
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private record Listing(List<SyntheticAlerts.Repo> repos, SyntheticAlerts.Filter filter, boolean ascending) {
+    }
+    
+    /**
+     * @param version the {@link SyntheticAlerts#version() version} of the alerts the positions were found in
+     */
+    private record Matches(long version, int[] positions) {
+    }
+    
+    private record Reply(HttpResponseStatus status, Map<String, String> headers, byte[] body) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.scanner.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubSimulatorTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private GitHubSimulator simulator;
+    
+    @AfterEach
+    void stop() {
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+    
+    @Test
+    void testPagesAlertsWithLinkHeader() throws Exception {
+        start(settings().alerts(23).build());
+        
+        Response response = get("/repos/org-1/repo-2/code-scanning/alerts?per_page=5&page=2", null, null);
+        
+        assertThat(response.status()).isEqualTo(200);
+        JsonNode alerts = objectMapper.readTree(response.body());
+        assertThat(alerts).hasSize(5);
+        assertThat(alerts.get(0).path("number").asLong()).isEqualTo(18);
+        String link = response.headers().get("Link");
+        String base = simulator.baseUrl() + "/repos/org-1/repo-2/code-scanning/alerts?per_page=5";
+        assertThat(link).contains("<" + base + "&page=1>; rel=\"prev\"")
+                .contains("<" + base + "&page=3>; rel=\"next\"")
+                .contains("<" + base + "&page=5>; rel=\"last\"")
+                .contains("<" + base + "&page=1>; rel=\"first\"");
+    }
+    
+    @Test
+    void testListsOrganizationAlertsWithRepository() throws Exception {
+        start(settings().repositories(3).alerts(10).build());
+        
+        Response response = get("/orgs/org-1/code-scanning/alerts?per_page=100", null, null);
+        
+        JsonNode alerts = objectMapper.readTree(response.body());
+        assertThat(alerts).hasSize(30);
+        assertThat(alerts.get(0).path("repository").path("full_name").asText()).isEqualTo("org-1/repo-1");
+        assertThat(response.headers().get("Link")).isNull();
+        assertThat(get("/orgs/org-2/code-scanning/alerts", null, null).status()).isEqualTo(404);
+    }
+    
+    @Test
+    void testFiltersByState() throws Exception {
+        start(settings().alerts(200).build());
+        
+        JsonNode alerts = objectMapper.readTree(get("/repos/org-1/repo-1/code-scanning/alerts?state=dismissed&per_page=100", null, null).body());
+        
+        assertThat(alerts).isNotEmpty();
+        alerts.forEach(alert -> {
+            assertThat(alert.path("state").asText()).isEqualTo("dismissed");
+            assertThat(alert.path("dismissed_reason").asText()).isNotEmpty();
+        });
+    }
+    
+    @Test
+    void testFilteredPagesFollowUpdates() throws Exception {
+        start(settings().repositories(3).alerts(40).build());
+        String path = "/orgs/org-1/code-scanning/alerts?state=open&per_page=7&page=";
+        int open = 0;
+        for (int page = 1; ; page++) {
+            JsonNode alerts = objectMapper.readTree(get(path + page, null, null).body());
+            alerts.forEach(alert -> assertThat(alert.path("state").asText()).isEqualTo("open"));
+            open += alerts.size();
+            if (alerts.size() < 7) {
+                break;
+            }
+        }
+        JsonNode first = objectMapper.readTree(get(path + 1, null, null).body()).get(0);
+        
+        patch("/repos/" + first.path("repository").path("full_name").asText() + "/code-scanning/alerts/" + first.path("number").asLong(),
+                "{\"state\":\"dismissed\",\"dismissed_reason\":\"won't fix\"}");
+        JsonNode all = objectMapper.readTree(get("/orgs/org-1/code-scanning/alerts?state=open&per_page=100", null, null).body());
+        
+        assertThat(all).hasSize(open - 1);
+        assertThat(all.get(0)).isNotEqualTo(first);
+    }
+    
+    @Test
+    void testAnswersMatchingEtagWithNotModifiedWithoutCountingIt() {
+        start(settings().build());
+        Response first = get("/repos/org-1/repo-1/code-scanning/alerts/7", null, null);
+        
+        Response second = get("/repos/org-1/repo-1/code-scanning/alerts/7", first.headers().get("ETag"), null);
+        
+        assertThat(second.status()).isEqualTo(304);
+        assertThat(second.body()).isEmpty();
+        assertThat(second.headers().get("X-RateLimit-Used")).isEqualTo("1");
+    }
+    
+    @Test
+    void testUpdateChangesStateAndEtag() throws Exception {
+        start(settings().build());
+        String path = "/repos/org-1/repo-1/code-scanning/alerts/7";
+        String etag = get(path, null, null).headers().get("ETag");
+        
+        Response patched = patch(path, "{\"state\":\"dismissed\",\"dismissed_reason\":\"won't fix\"}");
+        Response refetched = get(path, etag, null);
+        
+        assertThat(objectMapper.readTree(patched.body()).path("dismissed_reason").asText()).isEqualTo("won't fix");
+        assertThat(refetched.status()).isEqualTo(200);
+        assertThat(objectMapper.readTree(refetched.body()).path("state").asText()).isEqualTo("dismissed");
+    }
+    
+    @Test
+    void testRejectsRequestsOnceRateLimitIsUsedUp() {
+        start(settings().rateLimit(2).build());
+        
+        get("/repos/org-1/repo-1/code-scanning/alerts/1", null, null);
+        Response last = get("/repos/org-1/repo-1/code-scanning/alerts/2", null, null);
+        Response rejected = get("/repos/org-1/repo-1/code-scanning/alerts/3", null, null);
+        Response otherToken = get("/repos/org-1/repo-1/code-scanning/alerts/3", null, "Bearer other");
+        
+        assertThat(last.status()).isEqualTo(200);
+        assertThat(last.headers().get("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(rejected.status()).isEqualTo(403);
+        assertThat(rejected.headers().get("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(Long.parseLong(rejected.headers().get("X-RateLimit-Reset"))).isPositive();
+        assertThat(otherToken.status()).isEqualTo(200);
+    }
+    
+    @Test
+    void testInjectsSecondaryLimitsWithRetryAfter() {
+        start(settings().secondaryLimitRate(1).secondaryLimitStatus(429).retryAfter(Duration.ofSeconds(7)).build());
+        
+        Response response = get("/repos/org-1/repo-1/code-scanning/alerts/1", null, null);
+        
+        assertThat(response.status()).isEqualTo(429);
+        assertThat(response.headers().get("Retry-After")).isEqualTo("7");
+        assertThat(simulator.stats()).containsEntry("429", 1L);
+    }
+    
+    @Test
+    void testDelaysResponsesBySampledLatency() {
+        start(settings().latency(LatencyDistribution.parse("fixed:200ms")).build());
+        
+        long start = System.nanoTime();
+        get("/repos/org-1/repo-1/code-scanning/alerts/1", null, null);
+        
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+    
+    private static SimulatorSettings.SimulatorSettingsBuilder settings() {
+        return SimulatorSettings.defaults().toBuilder()
+                .port(0)
+                .repositories(2)
+                .alerts(50)
+                .compress(false);
+    }
+    
+    private void start(SimulatorSettings settings) {
+        simulator = GitHubSimulator.start(settings);
+    }
+    
+    private Response get(String uri, String ifNoneMatch, String authorization) {
+        return client()
+                .headers(headers -> {
+                    if (ifNoneMatch != null) {
+                        headers.set("If-None-Match", ifNoneMatch);
+                    }
+                    if (authorization != null) {
+                        headers.set("Authorization", authorization);
+                    }
+                })
+                .get()
+                .uri(uri)
+                .responseSingle((response, body) -> body.asString(StandardCharsets.UTF_8)
+                        .defaultIfEmpty("")
+                        .map(text -> new Response(response.status().code(), response.responseHeaders(), text)))
+                .block(Duration.ofSeconds(10));
+    }
+    
+    private Response patch(String uri, String json) {
+        return client()
+                .headers(headers -> headers.set("Content-Type", "application/json"))
+                .patch()
+                .uri(uri)
+                .send(ByteBufFlux.fromString(Mono.just(json)))
+                .responseSingle((response, body) -> body.asString(StandardCharsets.UTF_8)
+                        .defaultIfEmpty("")
+                        .map(text -> new Response(response.status().code(), response.responseHeaders(), text)))
+                .block(Duration.ofSeconds(10));
+    }
+    
+    private HttpClient client() {
+        return HttpClient.create().baseUrl(simulator.baseUrl());
+    }
+    
+    private record Response(int status, HttpHeaders headers, String body) {
+    }
+}
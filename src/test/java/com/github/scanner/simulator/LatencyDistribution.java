@@ -0,0 +1,78 @@
+package com.github.scanner.simulator;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Delay the simulator adds before answering a request, parsed from a spec:
+ * <ul>
+ *   <li>{@code fixed:50ms} - always the same delay</li>
+ *   <li>{@code uniform:20ms..200ms} - evenly spread between two bounds</li>
+ *   <li>{@code exponential:80ms} - exponentially distributed around a mean</li>
+ *   <li>{@code lognormal:80ms,p99=1s} - log-normal with the given median and 99th percentile, the usual
+ *   shape of a remote API's latency with a long tail</li>
+ * </ul>
+ * A bare duration such as {@code 100ms} is read as {@code fixed}.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    
+    /**
+     * 99th percentile of the standard normal distribution.
+     */
+    double Z_99 = 2.3263478740408408;
+    
+    LatencyDistribution NONE = random -> Duration.ZERO;
+    
+    Duration sample(RandomGenerator random);
+    
+    static LatencyDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        String kind = colon < 0 ? "fixed" : trimmed.substring(0, colon).trim();
+        String arguments = colon < 0 ? trimmed : trimmed.substring(colon + 1).trim();
+        
+        switch (kind) {
+            case "fixed" -> {
+                Duration delay = duration(arguments);
+                return delay.isZero() ? NONE : random -> delay;
+            }
+            case "uniform" -> {
+                String[] bounds = arguments.split("\\.\\.");
+                if (bounds.length != 2) {
+                    throw new IllegalArgumentException("Expected uniform:<min>..<max> but got " + spec);
+                }
+                long min = duration(bounds[0]).toNanos();
+                long max = duration(bounds[1]).toNanos();
+                if (max < min) {
+                    throw new IllegalArgumentException("Upper bound below lower bound in " + spec);
+                }
+                return random -> Duration.ofNanos(max == min ? min : random.nextLong(min, max + 1));
+            }
+            case "exponential" -> {
+                double mean = duration(arguments).toNanos();
+                return random -> Duration.ofNanos((long) (random.nextExponential() * mean));
+            }
+            case "lognormal" -> {
+                String[] parts = arguments.split(",");
+                if (parts.length != 2 || !parts[1].trim().startsWith("p99=")) {
+                    throw new IllegalArgumentException("Expected lognormal:<median>,p99=<p99> but got " + spec);
+                }
+                double median = duration(parts[0]).toNanos();
+                double p99 = duration(parts[1].trim().substring("p99=".length())).toNanos();
+                if (median <= 0 || p99 < median) {
+                    throw new IllegalArgumentException("Expected 0 < median <= p99 in " + spec);
+                }
+                double sigma = Math.log(p99 / median) / Z_99;
+                return random -> Duration.ofNanos((long) (median * Math.exp(sigma * random.nextGaussian())));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution '" + kind + "' in " + spec);
+        }
+    }
+    
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value.trim());
+    }
+}
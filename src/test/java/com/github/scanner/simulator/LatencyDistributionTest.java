@@ -0,0 +1,62 @@
+package com.github.scanner.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyDistributionTest {
+    
+    private final SplittableRandom random = new SplittableRandom(7);
+    
+    @Test
+    void testFixed() {
+        assertThat(LatencyDistribution.parse("fixed:50ms").sample(random)).isEqualTo(Duration.ofMillis(50));
+        assertThat(LatencyDistribution.parse("120ms").sample(random)).isEqualTo(Duration.ofMillis(120));
+        assertThat(LatencyDistribution.parse("0ms")).isSameAs(LatencyDistribution.NONE);
+    }
+    
+    @Test
+    void testUniformStaysWithinBounds() {
+        long[] samples = samples(LatencyDistribution.parse("uniform:20ms..40ms"));
+        
+        assertThat(samples[0]).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(samples[samples.length - 1]).isLessThanOrEqualTo(Duration.ofMillis(40).toNanos());
+    }
+    
+    @Test
+    void testExponentialHasGivenMean() {
+        double mean = Arrays.stream(samples(LatencyDistribution.parse("exponential:100ms"))).average().orElseThrow();
+        
+        assertThat(mean / 1_000_000).isCloseTo(100, within(5.0));
+    }
+    
+    @Test
+    void testLognormalHasGivenMedianAndP99() {
+        long[] samples = samples(LatencyDistribution.parse("lognormal:80ms,p99=1s"));
+        
+        assertThat(samples[samples.length / 2] / 1_000_000.0).isCloseTo(80, within(4.0));
+        assertThat(samples[samples.length * 99 / 100] / 1_000_000.0).isCloseTo(1000, within(80.0));
+    }
+    
+    @Test
+    void testRejectsMalformedSpecs() {
+        assertThatThrownBy(() -> LatencyDistribution.parse("pareto:1s")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyDistribution.parse("uniform:40ms")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyDistribution.parse("lognormal:1s,p99=100ms")).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private long[] samples(LatencyDistribution distribution) {
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sample(random).toNanos();
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+}
@@ -0,0 +1,329 @@
+package com.github.scanner.simulator;
+
+import lombok.Builder;
+import org.springframework.boot.convert.DurationStyle;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a weighted mix of requests to this application's alert endpoints and reports throughput and
+ * latency percentiles per endpoint.
+ * <p>
+ * The application is expected to be backed by a {@link GitHubSimulator}; requests are spread at random
+ * over the simulator's organizations, repositories and alert numbers. By default the driver runs a closed
+ * loop of {@code concurrency} clients that each send their next request as soon as the last one completes.
+ * With a {@code rate} it runs an open loop instead, starting requests at that rate whatever the response
+ * times, and measures each latency from the request's scheduled start so a slow server is not hidden by
+ * clients that stop sending (requests that find {@code concurrency} already in flight are counted as
+ * dropped).
+ * <p>
+ * Standalone runs from {@link #main} read system properties: {@code loadtest.target}
+ * ({@code http://localhost:8080/api}), {@code loadtest.endpoints} (a weighted mix, {@code
+ * alert:4,repo-alerts:4,alert-instances:1,org-alerts:1}; also {@code org-summary}), {@code
+ * loadtest.concurrency} ({@code 50}), {@code loadtest.rate} (requests per second, {@code 0} for a closed
+ * loop), {@code loadtest.warmup} ({@code 10s}), {@code loadtest.duration} ({@code 30s}) and {@code
+ * loadtest.simulator} (the simulator's URL, to print its response counts), plus the simulator's {@code
+ * simulator.organizations}, {@code simulator.repositories} and {@code simulator.alerts} to know which
+ * names exist.
+ */
+public final class LoadTestDriver {
+    
+    /**
+     * Prefix of the driver's event-loop threads, for telling its CPU time apart from the application's.
+     */
+    public static final String THREADS = "load-driver";
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    /**
+     * The application endpoints the driver can call.
+     */
+    public enum Endpoint {
+        ALERT("alert"),
+        ALERT_INSTANCES("alert-instances"),
+        REPO_ALERTS("repo-alerts"),
+        ORG_ALERTS("org-alerts"),
+        ORG_SUMMARY("org-summary");
+        
+        private final String label;
+        
+        Endpoint(String label) {
+            this.label = label;
+        }
+        
+        public String label() {
+            return label;
+        }
+        
+        static Endpoint of(String label) {
+            return Arrays.stream(values())
+                    .filter(endpoint -> endpoint.label.equals(label))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + label + "', expected one of "
+                            + Arrays.stream(values()).map(Endpoint::label).collect(Collectors.joining(", "))));
+        }
+        
+        String uri(SimulatorSettings simulator, ThreadLocalRandom random) {
+            String org = "org-" + random.nextInt(1, simulator.organizations() + 1);
+            String repository = "/repos/" + org + "/repo-" + random.nextInt(1, simulator.repositories() + 1) + "/code-scanning/alerts";
+            long number = random.nextLong(1, Math.max(1, simulator.alerts()) + 1);
+            return switch (this) {
+                case ALERT -> repository + "/" + number;
+                case ALERT_INSTANCES -> repository + "/" + number + "/instances";
+                case REPO_ALERTS -> repository + "?state=OPEN";
+                case ORG_ALERTS -> "/orgs/" + org + "/code-scanning/alerts?state=OPEN";
+                case ORG_SUMMARY -> "/orgs/" + org + "/code-scanning/alerts/summary?state=OPEN";
+            };
+        }
+    }
+    
+    /**
+     * How to drive the load.
+     *
+     * @param target      base URL of the application's API
+     * @param endpoints   endpoints to call with their relative weights
+     * @param concurrency clients of the closed loop, or the most requests in flight in the open loop
+     * @param rate        requests per second of the open loop; {@code 0} runs the closed loop
+     * @param warmup      time spent sending requests before measuring
+     * @param duration    measurement window
+     */
+    @Builder(toBuilder = true)
+    public record Settings(String target, Map<Endpoint, Integer> endpoints, int concurrency, double rate,
+                           Duration warmup, Duration duration) {
+        
+        public static Settings fromSystemProperties() {
+            return Settings.builder()
+                    .target(System.getProperty("loadtest.target", "http://localhost:8080/api"))
+                    .endpoints(parseEndpoints(System.getProperty("loadtest.endpoints", "alert:4,repo-alerts:4,alert-instances:1,org-alerts:1")))
+                    .concurrency(Integer.parseInt(System.getProperty("loadtest.concurrency", "50")))
+                    .rate(Double.parseDouble(System.getProperty("loadtest.rate", "0")))
+                    .warmup(DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s")))
+                    .duration(DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s")))
+                    .build();
+        }
+        
+        /**
+         * Parses {@code alert:4,repo-alerts:1}; an endpoint without a weight counts once.
+         */
+        public static Map<Endpoint, Integer> parseEndpoints(String spec) {
+            Map<Endpoint, Integer> endpoints = new LinkedHashMap<>();
+            for (String entry : spec.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                String[] parts = entry.trim().split(":");
+                endpoints.merge(Endpoint.of(parts[0].trim()), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1, Integer::sum);
+            }
+            if (endpoints.isEmpty()) {
+                throw new IllegalArgumentException("No endpoints in '" + spec + "'");
+            }
+            return endpoints;
+        }
+    }
+    
+    /**
+     * What one endpoint did during the measurement window.
+     *
+     * @param completed responses with a 2xx status
+     * @param errors    other responses by status, and {@code IO} for requests that failed or timed out
+     */
+    public record Result(Endpoint endpoint, long completed, Map<String, Long> errors, double throughput,
+                         double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+        
+        public long failed() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+    
+    /**
+     * @param dropped open-loop requests not sent because {@code concurrency} were already in flight
+     */
+    public record Report(List<Result> results, Result total, long dropped, Duration elapsed) {
+        
+        public String format() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%-16s %9s %9s %9s %9s %9s %9s  %s",
+                    "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors"));
+            for (Result result : results) {
+                lines.add(line(result.endpoint().label(), result));
+            }
+            lines.add(line("total", total));
+            if (dropped > 0) {
+                lines.add(dropped + " request(s) dropped with the in-flight limit reached");
+            }
+            return String.join(System.lineSeparator(), lines);
+        }
+        
+        private static String line(String label, Result result) {
+            String errors = result.errors().entrySet().stream()
+                    .map(entry -> entry.getKey() + " x" + entry.getValue())
+                    .collect(Collectors.joining(", "));
+            return String.format(Locale.ROOT, "%-16s %9d %9.1f %9.1f %9.1f %9.1f %9.1f  %s",
+                    label, result.completed() + result.failed(), result.throughput(), result.p50Millis(),
+                    result.p90Millis(), result.p99Millis(), result.maxMillis(), errors.isEmpty() ? "-" : errors);
+        }
+    }
+    
+    private LoadTestDriver() {
+    }
+    
+    public static void main(String[] args) {
+        Settings settings = Settings.fromSystemProperties();
+        System.out.printf("Driving %s for %s after a %s warmup, %s%n", settings.target(), settings.duration(), settings.warmup(),
+                settings.rate() > 0 ? "open loop at " + settings.rate() + " req/s" : "closed loop of " + settings.concurrency() + " clients");
+        System.out.println(run(settings, SimulatorSettings.fromSystemProperties()).format());
+        
+        String simulatorUrl = System.getProperty("loadtest.simulator");
+        if (simulatorUrl != null && !simulatorUrl.isBlank()) {
+            String stats = HttpClient.create()
+                    .get()
+                    .uri(simulatorUrl + GitHubSimulator.STATS_PATH)
+                    .responseContent()
+                    .aggregate()
+                    .asString(StandardCharsets.UTF_8)
+                    .block(REQUEST_TIMEOUT);
+            System.out.println("Simulator responses by status: " + stats);
+        }
+    }
+    
+    /**
+     * Warms up, then measures for the configured duration.
+     */
+    public static Report run(Settings settings, SimulatorSettings simulator) {
+        LoopResources loops = LoopResources.create(THREADS, 2, true);
+        ConnectionProvider connections = ConnectionProvider.builder(THREADS)
+                .maxConnections(settings.concurrency())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections)
+                .runOn(loops)
+                .baseUrl(settings.target())
+                .compress(true)
+                .responseTimeout(REQUEST_TIMEOUT);
+        try {
+            List<Endpoint> mix = new ArrayList<>();
+            settings.endpoints().forEach((endpoint, weight) -> mix.addAll(Collections.nCopies(weight, endpoint)));
+            
+            drive(client, settings, settings.warmup(), mix, simulator, new Recorder());
+            Recorder recorder = new Recorder();
+            long start = System.nanoTime();
+            drive(client, settings, settings.duration(), mix, simulator, recorder);
+            return recorder.report(settings.endpoints().keySet(), Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            connections.disposeLater().block();
+            loops.disposeLater().block();
+        }
+    }
+    
+    private static void drive(HttpClient client, Settings settings, Duration duration, List<Endpoint> mix,
+                              SimulatorSettings simulator, Recorder recorder) {
+        if (duration.isZero()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Duration wait = duration.plus(REQUEST_TIMEOUT).plusSeconds(10);
+        if (settings.rate() > 0) {
+            long interval = (long) (1_000_000_000L / settings.rate());
+            Flux.interval(Duration.ofNanos(interval))
+                    .takeWhile(tick -> System.nanoTime() < deadline)
+                    .onBackpressureDrop(tick -> recorder.dropped.incrementAndGet())
+                    .flatMap(tick -> request(client, mix, simulator, recorder, start + (tick + 1) * interval), settings.concurrency())
+                    .blockLast(wait);
+        } else {
+            Flux.range(0, settings.concurrency())
+                    .flatMap(user -> Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextLong(100)))
+                            .then(Mono.defer(() -> request(client, mix, simulator, recorder, System.nanoTime()))
+                                    .repeat(() -> System.nanoTime() < deadline)
+                                    .then()), settings.concurrency())
+                    .blockLast(wait);
+        }
+    }
+    
+    private static Mono<Void> request(HttpClient client, List<Endpoint> mix, SimulatorSettings simulator,
+                                      Recorder recorder, long scheduledAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint endpoint = mix.get(random.nextInt(mix.size()));
+        return client.get()
+                .uri(endpoint.uri(simulator, random))
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> response.status().code()))
+                .doOnNext(status -> recorder.record(endpoint, status, System.nanoTime() - scheduledAt))
+                .onErrorResume(e -> {
+                    recorder.record(endpoint, -1, System.nanoTime() - scheduledAt);
+                    return Mono.empty();
+                })
+                .then();
+    }
+    
+    private static final class Recorder {
+        
+        private final Map<Endpoint, Queue<Long>> latencies = new ConcurrentHashMap<>();
+        
+        private final Map<Endpoint, Map<String, LongAdder>> errors = new ConcurrentHashMap<>();
+        
+        private final AtomicLong dropped = new AtomicLong();
+        
+        void record(Endpoint endpoint, int status, long nanos) {
+            if (status >= 200 && status < 300) {
+                latencies.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+            } else {
+                errors.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(status < 0 ? "IO" : String.valueOf(status), key -> new LongAdder())
+                        .increment();
+            }
+        }
+        
+        Report report(Iterable<Endpoint> endpoints, Duration elapsed) {
+            List<Result> results = new ArrayList<>();
+            List<Long> all = new ArrayList<>();
+            Map<String, Long> allErrors = new TreeMap<>();
+            for (Endpoint endpoint : endpoints) {
+                Queue<Long> samples = latencies.getOrDefault(endpoint, new ConcurrentLinkedQueue<>());
+                all.addAll(samples);
+                Map<String, Long> endpointErrors = new TreeMap<>();
+                errors.getOrDefault(endpoint, Map.of()).forEach((status, count) -> endpointErrors.put(status, count.sum()));
+                endpointErrors.forEach((status, count) -> allErrors.merge(status, count, Long::sum));
+                results.add(result(endpoint, samples, endpointErrors, elapsed));
+            }
+            return new Report(results, result(null, all, allErrors, elapsed), dropped.get(), elapsed);
+        }
+        
+        private static Result result(Endpoint endpoint, Iterable<Long> samples, Map<String, Long> errors, Duration elapsed) {
+            List<Long> list = new ArrayList<>();
+            samples.forEach(list::add);
+            long[] sorted = list.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(endpoint, sorted.length, errors, sorted.length * 1_000_000_000.0 / elapsed.toNanos(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.scanner.simulator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GitHub's primary rate limit, kept per credential: every counted request uses one of {@code limit}
+ * requests in a window that starts with the credential's first request and lasts {@code window}.
+ */
+final class RateLimiter {
+    
+    /**
+     * The state of a credential's window after a request, as reported in the {@code X-RateLimit-*} headers.
+     *
+     * @param granted whether the request fit in the window; {@code false} once it is used up
+     */
+    record Quota(boolean granted, int limit, int remaining, int used, long resetEpochSecond) {
+    }
+    
+    private final int limit;
+    
+    private final Duration window;
+    
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    
+    RateLimiter(int limit, Duration window) {
+        this.limit = limit;
+        this.window = window;
+    }
+    
+    /**
+     * Counts a request against the credential's window, unless the window is used up.
+     */
+    Quota acquire(String credential, Instant now) {
+        return windows.computeIfAbsent(credential, key -> new Window()).acquire(now);
+    }
+    
+    /**
+     * Hands back a request that turned out not to count, such as one answered with {@code 304 Not Modified}.
+     */
+    Quota release(String credential, Instant now) {
+        return windows.computeIfAbsent(credential, key -> new Window()).release(now);
+    }
+    
+    private final class Window {
+        
+        private Instant resetAt = Instant.MIN;
+        
+        private int used;
+        
+        synchronized Quota acquire(Instant now) {
+            if (!now.isBefore(resetAt)) {
+                resetAt = now.plus(window);
+                used = 0;
+            }
+            boolean granted = used < limit;
+            if (granted) {
+                used++;
+            }
+            return quota(granted);
+        }
+        
+        synchronized Quota release(Instant now) {
+            if (now.isBefore(resetAt) && used > 0) {
+                used--;
+            }
+            return quota(true);
+        }
+        
+        private Quota quota(boolean granted) {
+            return new Quota(granted, limit, limit - used, used, resetAt.getEpochSecond());
+        }
+    }
+}
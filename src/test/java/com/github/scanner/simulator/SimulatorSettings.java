@@ -0,0 +1,94 @@
+package com.github.scanner.simulator;
+
+import lombok.Builder;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * What the {@link GitHubSimulator} serves and how it behaves.
+ * <p>
+ * Standalone runs read the settings from system properties, named after the components below with a
+ * {@code simulator.} prefix: {@code simulator.port} ({@code 9090}), {@code simulator.organizations}
+ * ({@code 1}), {@code simulator.repositories} per organization ({@code 20}), {@code simulator.alerts} per
+ * repository ({@code 500}), {@code simulator.seed} ({@code 42}), {@code simulator.latency} (a
+ * {@link LatencyDistribution} spec, {@code 0ms}), {@code simulator.rate-limit} requests per window
+ * ({@code 5000}), {@code simulator.rate-limit-window} ({@code 1h}), {@code simulator.rate-limit-status}
+ * ({@code 403}), {@code simulator.secondary-limit-rate} (share of requests answered with a secondary
+ * limit, {@code 0}), {@code simulator.secondary-limit-status} ({@code 429}), {@code simulator.retry-after}
+ * ({@code 1s}) and {@code simulator.compress} ({@code true}).
+ *
+ * @param port                 port to listen on, {@code 0} for any free port
+ * @param organizations        number of synthetic organizations, named {@code org-1}, {@code org-2}, ...
+ * @param repositories         repositories per organization, named {@code repo-1}, {@code repo-2}, ...
+ * @param alerts               alerts per repository, numbered from 1
+ * @param seed                 seed the synthetic alerts are derived from; the same seed serves the same data
+ * @param latency              delay added before every response
+ * @param rateLimit            requests each credential may make per window
+ * @param rateLimitWindow      length of a rate-limit window, starting with a credential's first request
+ * @param rateLimitStatus      status answered once a window is used up, {@code 403} or {@code 429} as GitHub does
+ * @param secondaryLimitRate   share of requests, between 0 and 1, rejected as if a secondary limit was hit
+ * @param secondaryLimitStatus status of those rejections
+ * @param retryAfter           {@code Retry-After} sent with secondary-limit rejections
+ * @param compress             whether responses are gzipped for clients that accept it
+ */
+@Builder(toBuilder = true)
+public record SimulatorSettings(int port,
+                                int organizations,
+                                int repositories,
+                                int alerts,
+                                long seed,
+                                LatencyDistribution latency,
+                                int rateLimit,
+                                Duration rateLimitWindow,
+                                int rateLimitStatus,
+                                double secondaryLimitRate,
+                                int secondaryLimitStatus,
+                                Duration retryAfter,
+                                boolean compress) {
+    
+    public SimulatorSettings {
+        if (organizations < 1 || repositories < 1 || alerts < 0) {
+            throw new IllegalArgumentException("Need at least one organization and repository and no negative alert count");
+        }
+        if (secondaryLimitRate < 0 || secondaryLimitRate > 1) {
+            throw new IllegalArgumentException("secondaryLimitRate must be between 0 and 1");
+        }
+    }
+    
+    /**
+     * The defaults: one organization of 20 repositories with 500 alerts each, no added latency and GitHub's
+     * authenticated rate limit.
+     */
+    public static SimulatorSettings defaults() {
+        return from(key -> null);
+    }
+    
+    public static SimulatorSettings fromSystemProperties() {
+        return from(key -> System.getProperty("simulator." + key));
+    }
+    
+    private static SimulatorSettings from(UnaryOperator<String> properties) {
+        return SimulatorSettings.builder()
+                .port(Integer.parseInt(value(properties, "port", "9090")))
+                .organizations(Integer.parseInt(value(properties, "organizations", "1")))
+                .repositories(Integer.parseInt(value(properties, "repositories", "20")))
+                .alerts(Integer.parseInt(value(properties, "alerts", "500")))
+                .seed(Long.parseLong(value(properties, "seed", "42")))
+                .latency(LatencyDistribution.parse(value(properties, "latency", "0ms")))
+                .rateLimit(Integer.parseInt(value(properties, "rate-limit", "5000")))
+                .rateLimitWindow(DurationStyle.detectAndParse(value(properties, "rate-limit-window", "1h")))
+                .rateLimitStatus(Integer.parseInt(value(properties, "rate-limit-status", "403")))
+                .secondaryLimitRate(Double.parseDouble(value(properties, "secondary-limit-rate", "0")))
+                .secondaryLimitStatus(Integer.parseInt(value(properties, "secondary-limit-status", "429")))
+                .retryAfter(DurationStyle.detectAndParse(value(properties, "retry-after", "1s")))
+                .compress(Boolean.parseBoolean(value(properties, "compress", "true")))
+                .build();
+    }
+    
+    private static String value(UnaryOperator<String> properties, String key, String defaultValue) {
+        String value = properties.apply(key);
+        return value != null && !value.isBlank() ? value.trim() : defaultValue;
+    }
+}
@@ -0,0 +1,366 @@
+package com.github.scanner.simulator;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The organizations, repositories and code scanning alerts served by the {@link GitHubSimulator}.
+ * <p>
+ * Only each alert's rule and state are kept in memory, so an organization of thousands of repositories
+ * with thousands of alerts each costs a few bytes per alert. Everything else about an alert is derived
+ * again from the seed whenever it is rendered, so the same seed always serves the same bodies (and the
+ * same ETags) until an alert is updated.
+ */
+final class SyntheticAlerts {
+    
+    static final String OPEN = "open";
+    
+    static final String DISMISSED = "dismissed";
+    
+    static final String FIXED = "fixed";
+    
+    private static final List<String> STATES = List.of(OPEN, DISMISSED, FIXED);
+    
+    private static final Instant FIRST_ALERT = Instant.parse("2024-01-01T00:00:00Z");
+    
+    private static final List<String> DISMISSED_REASONS = List.of("false positive", "won't fix", "used in tests");
+    
+    private static final List<String> FILE_NAMES = List.of(
+            "users", "orders", "search", "billing", "session", "upload", "reports", "admin", "settings", "auth");
+    
+    private static final List<Rule> RULES = List.of(
+            new Rule("js/sql-injection", "Database query built from user-controlled sources", "error", "high",
+                    List.of("security", "external/cwe/cwe-089"), "javascript", "src/db/", ".js",
+                    "This query string depends on a user-provided value."),
+            new Rule("js/reflected-xss", "Reflected cross-site scripting", "error", "medium",
+                    List.of("security", "external/cwe/cwe-079", "external/cwe/cwe-116"), "javascript", "src/views/", ".js",
+                    "Cross-site scripting vulnerability due to a user-provided value."),
+            new Rule("js/missing-rate-limiting", "Missing rate limiting", "warning", "high",
+                    List.of("security", "external/cwe/cwe-770"), "javascript", "src/routes/", ".js",
+                    "This route handler performs a database access, but is not rate-limited."),
+            new Rule("java/path-injection", "Uncontrolled data used in path expression", "error", "high",
+                    List.of("security", "external/cwe/cwe-022", "external/cwe/cwe-073"), "java",
+                    "src/main/java/com/example/files/", ".java",
+                    "This path depends on a user-provided value."),
+            new Rule("java/ssrf", "Server-side request forgery", "error", "critical",
+                    List.of("security", "external/cwe/cwe-918"), "java", "src/main/java/com/example/http/", ".java",
+                    "Potential server-side request forgery due to a user-provided value."),
+            new Rule("java/unused-parameter", "Useless parameter", "note", null,
+                    List.of("maintainability", "useless-code"), "java", "src/main/java/com/example/", ".java",
+                    "The parameter 'context' is never used."),
+            new Rule("py/clear-text-logging-sensitive-data", "Clear-text logging of sensitive information", "error", "high",
+                    List.of("security", "external/cwe/cwe-312", "external/cwe/cwe-359"), "python", "app/", ".py",
+                    "This expression logs sensitive data (password) as clear text."),
+            new Rule("go/incomplete-hostname-regexp", "Incomplete regular expression for hostnames", "warning", "medium",
+                    List.of("security", "external/cwe/cwe-020"), "go", "internal/", ".go",
+                    "This regular expression has an unescaped '.' before 'example.com', so it might match more hosts than expected."));
+    
+    private final long seed;
+    
+    private final Map<String, List<Repo>> organizations = new LinkedHashMap<>();
+    
+    private final Map<String, Repo> repositories = new LinkedHashMap<>();
+    
+    private final Map<Long, Update> updates = new ConcurrentHashMap<>();
+    
+    private final AtomicLong version = new AtomicLong();
+    
+    SyntheticAlerts(SimulatorSettings settings) {
+        this.seed = settings.seed();
+        for (int o = 1; o <= settings.organizations(); o++) {
+            String org = "org-" + o;
+            List<Repo> repos = new ArrayList<>(settings.repositories());
+            for (int r = 1; r <= settings.repositories(); r++) {
+                Repo repo = new Repo(org, 9000L + o, "repo-" + r, 1_000_000L * o + r, settings.alerts());
+                SplittableRandom random = new SplittableRandom(seed ^ repo.id * 0x9E3779B97F4A7C15L);
+                for (int i = 0; i < settings.alerts(); i++) {
+                    repo.rules[i] = (byte) random.nextInt(RULES.size());
+                    int roll = random.nextInt(100);
+                    repo.states[i] = (byte) (roll < 60 ? 0 : roll < 75 ? 1 : 2);
+                }
+                repos.add(repo);
+                repositories.put(org + "/" + repo.name, repo);
+            }
+            organizations.put(org, Collections.unmodifiableList(repos));
+        }
+    }
+    
+    Repo repository(String owner, String name) {
+        return repositories.get(owner + "/" + name);
+    }
+    
+    /**
+     * Repositories of an organization, or {@code null} for an unknown organization.
+     */
+    List<Repo> organization(String org) {
+        return organizations.get(org);
+    }
+    
+    List<Repo> all() {
+        return List.copyOf(repositories.values());
+    }
+    
+    boolean exists(Repo repo, long number) {
+        return number >= 1 && number <= repo.alertCount();
+    }
+    
+    String state(Repo repo, long number) {
+        return STATES.get(repo.states[(int) number - 1]);
+    }
+    
+    boolean matches(Repo repo, long number, Filter filter) {
+        Rule rule = RULES.get(repo.rules[(int) number - 1]);
+        return (filter.states() == null || filter.states().contains(state(repo, number)))
+                && (filter.severity() == null
+                    || filter.severity().equals(rule.severity()) || filter.severity().equals(rule.securitySeverityLevel()))
+                && (filter.toolName() == null || filter.toolName().equalsIgnoreCase("CodeQL"));
+    }
+    
+    /**
+     * Counts the updates made so far, so that what was derived from the alerts' states can tell it is outdated.
+     */
+    long version() {
+        return version.get();
+    }
+    
+    /**
+     * Sets an alert's state the way {@code PATCH .../alerts/{alert_number}} does; returns {@code false} for
+     * a state an alert cannot be set to.
+     */
+    boolean update(Repo repo, long number, String state, String dismissedReason, String dismissedComment) {
+        if (!OPEN.equals(state) && !DISMISSED.equals(state)) {
+            return false;
+        }
+        repo.states[(int) number - 1] = (byte) STATES.indexOf(state);
+        updates.put(key(repo, number), new Update(Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                DISMISSED.equals(state) ? dismissedReason : null, DISMISSED.equals(state) ? dismissedComment : null));
+        version.incrementAndGet();
+        return true;
+    }
+    
+    /**
+     * Renders an alert as GitHub returns it; organization and enterprise listings include the repository.
+     */
+    ObjectNode alert(Repo repo, long number, String apiUrl, boolean withRepository) {
+        SplittableRandom random = random(repo, number);
+        Rule rule = RULES.get(repo.rules[(int) number - 1]);
+        String state = state(repo, number);
+        String alertUrl = apiUrl + "/repos/" + repo.fullName() + "/code-scanning/alerts/" + number;
+        Instant createdAt = FIRST_ALERT.plus(Duration.ofMinutes(number * 360 + random.nextInt(360)));
+        Instant updatedAt = createdAt.plus(Duration.ofMinutes(random.nextInt(30 * 24 * 60)));
+        // Draw every value whatever the state, so an update leaves the rest of the alert as it was.
+        int reviewer = random.nextInt(50) + 1;
+        String dismissedReason = DISMISSED_REASONS.get(random.nextInt(DISMISSED_REASONS.size()));
+        String dismissedComment = null;
+        Update update = updates.get(key(repo, number));
+        if (update != null) {
+            updatedAt = update.at();
+            dismissedReason = update.dismissedReason();
+            dismissedComment = update.dismissedComment();
+        }
+        
+        ObjectNode alert = JsonNodeFactory.instance.objectNode();
+        alert.put("number", number);
+        alert.put("created_at", createdAt.toString());
+        alert.put("updated_at", updatedAt.toString());
+        alert.put("url", alertUrl);
+        alert.put("html_url", "https://github.com/" + repo.fullName() + "/security/code-scanning/" + number);
+        alert.put("state", state);
+        alert.put("fixed_at", FIXED.equals(state) ? updatedAt.toString() : null);
+        if (DISMISSED.equals(state)) {
+            alert.set("dismissed_by", user(reviewer));
+            alert.put("dismissed_at", updatedAt.toString());
+            alert.put("dismissed_reason", dismissedReason);
+            alert.put("dismissed_comment", dismissedComment);
+        } else {
+            alert.putNull("dismissed_by");
+            alert.putNull("dismissed_at");
+            alert.putNull("dismissed_reason");
+            alert.putNull("dismissed_comment");
+        }
+        
+        ObjectNode ruleNode = alert.putObject("rule");
+        ruleNode.put("id", rule.id());
+        ruleNode.put("severity", rule.severity());
+        ruleNode.put("description", rule.description());
+        ruleNode.put("name", rule.id());
+        ArrayNode tags = ruleNode.putArray("tags");
+        rule.tags().forEach(tags::add);
+        ruleNode.put("security_severity_level", rule.securitySeverityLevel());
+        
+        ObjectNode tool = alert.putObject("tool");
+        tool.put("name", "CodeQL");
+        tool.putNull("guid");
+        tool.put("version", "2.16.3");
+        
+        alert.set("most_recent_instance", instance(repo, number, "refs/heads/main", random));
+        alert.put("instances_url", alertUrl + "/instances");
+        if (withRepository) {
+            alert.set("repository", repository(repo, apiUrl));
+        }
+        return alert;
+    }
+    
+    /**
+     * The alert's instances: the default branch, and for some open alerts a feature branch as well.
+     */
+    ArrayNode instances(Repo repo, long number) {
+        SplittableRandom random = random(repo, number);
+        ArrayNode instances = JsonNodeFactory.instance.arrayNode();
+        instances.add(instance(repo, number, "refs/heads/main", random));
+        if (OPEN.equals(state(repo, number)) && number % 3 == 0) {
+            instances.add(instance(repo, number, "refs/heads/feature-" + number, random(repo, -number)));
+        }
+        return instances;
+    }
+    
+    private ObjectNode instance(Repo repo, long number, String ref, SplittableRandom random) {
+        Rule rule = RULES.get(repo.rules[(int) number - 1]);
+        String state = state(repo, number);
+        int line = random.nextInt(1, 400);
+        int column = random.nextInt(1, 40);
+        
+        ObjectNode instance = JsonNodeFactory.instance.objectNode();
+        instance.put("ref", ref);
+        instance.put("analysis_key", ".github/workflows/codeql.yml:analyze");
+        instance.put("environment", "{\"language\":\"" + rule.language() + "\"}");
+        instance.put("category", ".github/workflows/codeql.yml:analyze/language:" + rule.language());
+        instance.put("state", state);
+        instance.put("commit_sha", HexFormat.of().formatHex(bytes(random, 20)));
+        instance.putObject("message").put("text", rule.message());
+        ObjectNode location = instance.putObject("location");
+        location.put("path", rule.directory() + FILE_NAMES.get(random.nextInt(FILE_NAMES.size())) + rule.extension());
+        location.put("start_line", line);
+        location.put("end_line", line + random.nextInt(3));
+        location.put("start_column", column);
+        location.put("end_column", column + random.nextInt(5, 60));
+        instance.putArray("classifications");
+        return instance;
+    }
+    
+    private static ObjectNode repository(Repo repo, String apiUrl) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("id", repo.id);
+        node.put("node_id", "R_sim" + repo.id);
+        node.put("name", repo.name);
+        node.put("full_name", repo.fullName());
+        node.put("private", true);
+        ObjectNode owner = node.putObject("owner");
+        owner.put("login", repo.org);
+        owner.put("id", repo.orgId);
+        owner.put("url", apiUrl + "/users/" + repo.org);
+        owner.put("html_url", "https://github.com/" + repo.org);
+        owner.put("type", "Organization");
+        owner.put("site_admin", false);
+        node.put("html_url", "https://github.com/" + repo.fullName());
+        node.putNull("description");
+        node.put("fork", false);
+        node.put("url", apiUrl + "/repos/" + repo.fullName());
+        return node;
+    }
+    
+    private static ObjectNode user(int index) {
+        ObjectNode user = JsonNodeFactory.instance.objectNode();
+        user.put("login", "security-reviewer-" + index);
+        user.put("id", 500_000L + index);
+        user.put("type", "User");
+        user.put("site_admin", false);
+        return user;
+    }
+    
+    private SplittableRandom random(Repo repo, long number) {
+        return new SplittableRandom(seed ^ repo.id * 0x9E3779B97F4A7C15L ^ number * 0xC2B2AE3D27D4EB4FL);
+    }
+    
+    private static long key(Repo repo, long number) {
+        return repo.id * 1_000_000_000L + number;
+    }
+    
+    private static byte[] bytes(SplittableRandom random, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) random.nextInt(256);
+        }
+        return bytes;
+    }
+    
+    /**
+     * One synthetic repository, holding the rule and state of each of its alerts.
+     */
+    static final class Repo {
+        
+        final String org;
+        
+        final long orgId;
+        
+        final String name;
+        
+        final long id;
+        
+        private final byte[] rules;
+        
+        private final byte[] states;
+        
+        private Repo(String org, long orgId, String name, long id, int alerts) {
+            this.org = org;
+            this.orgId = orgId;
+            this.name = name;
+            this.id = id;
+            this.rules = new byte[alerts];
+            this.states = new byte[alerts];
+        }
+        
+        String fullName() {
+            return org + "/" + name;
+        }
+        
+        int alertCount() {
+            return states.length;
+        }
+    }
+    
+    /**
+     * The list filters GitHub supports that the simulator honors; {@code null} matches everything.
+     *
+     * @param states   accepted states; {@code closed} is read as dismissed or fixed
+     * @param severity a rule severity ({@code error}, {@code warning}, {@code note}) or security severity level
+     */
+    record Filter(Set<String> states, String severity, String toolName) {
+        
+        static Filter of(String state, String severity, String toolName) {
+            Set<String> states = null;
+            if (state != null) {
+                String normalized = state.toLowerCase(Locale.ROOT);
+                states = "closed".equals(normalized) ? Set.of(DISMISSED, FIXED) : Set.of(normalized);
+            }
+            return new Filter(states, severity != null ? severity.toLowerCase(Locale.ROOT) : null, toolName);
+        }
+        
+        boolean matchesAll() {
+            return states == null && severity == null && toolName == null;
+        }
+    }
+    
+    private record Rule(String id, String description, String severity, String securitySeverityLevel,
+                        List<String> tags, String language, String directory, String extension, String message) {
+    }
+    
+    private record Update(Instant at, String dismissedReason, String dismissedComment) {
+    }
+}